@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { X, PlusCircle, Coins, BadgeInfo } from 'lucide-react';
 import api from '../api/client';
 
@@ -9,6 +9,7 @@ const AssetInputModal = ({ isOpen, onClose, onAssetAdded, accountId }) => {
         name: '',
         quantity: '',
         averagePurchasePrice: '',
+        currency: '',
         purchaseDate: new Date().toISOString().split('T')[0]
     });
 
@@ -28,21 +29,69 @@ const AssetInputModal = ({ isOpen, onClose, onAssetAdded, accountId }) => {
         { value: 'DEPOSIT_SAVINGS', label: '예적금' }
     ];
 
+    // 비워 두면 자산 유형으로 판단 (해외 주식/채권은 USD, 나머지는 KRW)
+    const currencies = [
+        { value: '', label: '유형 기본' },
+        { value: 'KRW', label: 'KRW (원)' },
+        { value: 'USD', label: 'USD (달러)' },
+        { value: 'JPY', label: 'JPY (엔)' },
+        { value: 'EUR', label: 'EUR (유로)' }
+    ];
+
+    const [suggestions, setSuggestions] = useState([]);
+    const selectedCode = useRef(null);
+
+    // 종목 마스터에서 자동완성할 수 있는 유형 (KRX 상장 종목, 업비트 KRW 마켓)
+    const searchableTypes = ['STOCK_KR', 'ETF_KR', 'REITS', 'CRYPTO'];
+
     useEffect(() => {
         if (isOpen) {
+            setSuggestions([]);
+            selectedCode.current = null;
             setFormData({
                 type: 'STOCK_KR',
                 code: '',
                 name: '',
                 quantity: '',
                 averagePurchasePrice: '',
+                currency: '',
                 purchaseDate: new Date().toISOString().split('T')[0]
             });
         }
     }, [isOpen]);
 
+    // 입력이 잠시 멈추면 코드/종목명 접두사로 검색 (목록에서 고른 직후에는 다시 검색하지 않음)
+    useEffect(() => {
+        const query = formData.code.trim();
+        if (!isOpen || !searchableTypes.includes(formData.type) || !query || query === selectedCode.current) {
+            setSuggestions([]);
+            return;
+        }
+        let cancelled = false;
+        const timer = setTimeout(async () => {
+            try {
+                const response = await api.get('/instruments/search', { params: { q: query, limit: 8 } });
+                if (!cancelled) setSuggestions(response.data);
+            } catch (error) {
+                console.error('Error searching instruments:', error);
+            }
+        }, 150);
+        return () => {
+            cancelled = true;
+            clearTimeout(timer);
+        };
+    }, [isOpen, formData.code, formData.type]);
+
     if (!isOpen) return null;
 
+    const handleSelectInstrument = (instrument) => {
+        selectedCode.current = instrument.code;
+        // 리츠는 주식 시세 목록에 함께 올라오므로 사용자가 고른 리츠 유형을 유지
+        const type = formData.type === 'REITS' && instrument.type === 'STOCK_KR' ? 'REITS' : instrument.type;
+        setFormData({ ...formData, type, code: instrument.code, name: instrument.name });
+        setSuggestions([]);
+    };
+
     const isCodeRequired = ['STOCK_KR', 'STOCK_US', 'ETF_KR', 'REITS', 'COMMODITY', 'BOND_KR', 'BOND_US', 'GOLD_SPOT', 'CRYPTO'].includes(formData.type);
 
     const handleSubmit = async (e) => {
@@ -51,7 +100,8 @@ const AssetInputModal = ({ isOpen, onClose, onAssetAdded, accountId }) => {
             const assetData = {
                 ...formData,
                 quantity: parseFloat(formData.quantity),
-                averagePurchasePrice: parseFloat(formData.averagePurchasePrice)
+                averagePurchasePrice: parseFloat(formData.averagePurchasePrice),
+                currency: formData.currency || null
             };
             const response = await api.post(`/accounts/${accountId}/assets`, assetData);
             onAssetAdded(response.data);
@@ -103,17 +153,39 @@ const AssetInputModal = ({ isOpen, onClose, onAssetAdded, accountId }) => {
 
                     <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr', gap: '16px', marginBottom: '20px' }}>
                         {isCodeRequired ? (
-                            <div>
+                            <div style={{ position: 'relative' }}>
                                 <label style={{ display: 'block', marginBottom: '8px', color: 'var(--text-muted)', fontSize: '0.85rem', fontWeight: '600' }}>종목코드</label>
                                 <input
                                     type="text"
                                     value={formData.code}
                                     onChange={(e) => setFormData({ ...formData, code: e.target.value })}
-                                    placeholder="예: 005930 / TSLA"
+                                    onBlur={() => setTimeout(() => setSuggestions([]), 150)}
+                                    placeholder={searchableTypes.includes(formData.type) ? '코드 또는 종목명' : '예: 005930 / TSLA'}
+                                    autoComplete="off"
                                     required
                                     className="inline-input"
                                     style={{ height: '48px', borderRadius: '12px' }}
                                 />
+                                {suggestions.length > 0 && (
+                                    <div className="glass-card animate-fade-in" style={{
+                                        position: 'absolute', top: '100%', left: 0, width: '300px', marginTop: '4px',
+                                        padding: '6px', zIndex: 10, maxHeight: '280px', overflowY: 'auto',
+                                        boxShadow: '0 10px 25px -5px rgba(0, 0, 0, 0.3)'
+                                    }}>
+                                        {suggestions.map(instrument => (
+                                            <div key={instrument.id}
+                                                onMouseDown={(e) => { e.preventDefault(); handleSelectInstrument(instrument); }}
+                                                className="hover-highlight"
+                                                style={{
+                                                    display: 'flex', justifyContent: 'space-between', alignItems: 'center', gap: '8px',
+                                                    padding: '8px 10px', borderRadius: '8px', cursor: 'pointer', fontSize: '0.85rem'
+                                                }}>
+                                                <span style={{ fontWeight: '600', overflow: 'hidden', textOverflow: 'ellipsis', whiteSpace: 'nowrap' }}>{instrument.name}</span>
+                                                <span style={{ color: 'var(--text-muted)', fontSize: '0.75rem', flexShrink: 0 }}>{instrument.code} · {instrument.market}</span>
+                                            </div>
+                                        ))}
+                                    </div>
+                                )}
                             </div>
                         ) : (
                             <div>
@@ -142,7 +214,7 @@ const AssetInputModal = ({ isOpen, onClose, onAssetAdded, accountId }) => {
                         </div>
                     </div>
 
-                    <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr', gap: '16px', marginBottom: '28px' }}>
+                    <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr 1fr', gap: '16px', marginBottom: '28px' }}>
                         <div>
                             <label style={{ display: 'block', marginBottom: '8px', color: 'var(--text-muted)', fontSize: '0.85rem', fontWeight: '600' }}>보유량 (수량)</label>
                             <input
@@ -169,6 +241,19 @@ const AssetInputModal = ({ isOpen, onClose, onAssetAdded, accountId }) => {
                                 style={{ height: '48px', borderRadius: '12px', textAlign: 'right' }}
                             />
                         </div>
+                        <div>
+                            <label style={{ display: 'block', marginBottom: '8px', color: 'var(--text-muted)', fontSize: '0.85rem', fontWeight: '600' }}>통화</label>
+                            <select
+                                value={formData.currency}
+                                onChange={(e) => setFormData({ ...formData, currency: e.target.value })}
+                                className="inline-input"
+                                style={{ height: '48px', borderRadius: '12px' }}
+                            >
+                                {currencies.map(currency => (
+                                    <option key={currency.value} value={currency.value}>{currency.label}</option>
+                                ))}
+                            </select>
+                        </div>
                     </div>
 
                     <button type="submit"
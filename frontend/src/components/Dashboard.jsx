@@ -68,59 +68,15 @@ const Dashboard = () => {
         }
     };
 
-    const handleRefreshAllPrices = async (accountId) => {
-        if (!accountId || !summary?.assets) return;
-
-        const assetsToRefresh = summary.assets.filter(a => a.code?.startsWith('KRX:'));
-        if (assetsToRefresh.length === 0) return;
+    // 현재 계좌의 보유 종목만 서버에서 일괄 조회 (버튼은 캐시를 무시, 자동 조회는 캐시 사용)
+    const handleRefreshAllPrices = async (accountId, force = false) => {
+        if (!accountId) return;
 
         try {
             setRefreshingAll(true);
+            await api.post(`/accounts/${accountId}/refresh-prices${force ? '?force=true' : ''}`);
 
-            // 모든 요청을 동시에 시작
-            const refreshPromises = assetsToRefresh.map(async (asset) => {
-                try {
-                    setRefreshingAssetIds(prev => [...prev, asset.id]);
-                    const response = await api.post(`/accounts/${accountId}/assets/${asset.id}/refresh-price?force=true`);
-                    const { newPrice } = response.data;
-
-                    if (newPrice !== undefined) {
-                        // 로컬 상태 즉시 업데이트
-                        setSummary(prevSummary => {
-                            if (!prevSummary) return null;
-                            const updatedAssets = prevSummary.assets.map(a => {
-                                if (a.id === asset.id) {
-                                    const quantity = a.quantity || 0;
-                                    const purchasePrice = a.averagePurchasePrice || 0;
-                                    const purchaseAmount = quantity * purchasePrice;
-                                    const currentValue = quantity * newPrice;
-                                    const profitLoss = currentValue - purchaseAmount;
-                                    const returnRate = purchaseAmount === 0 ? 0 : parseFloat(((profitLoss / purchaseAmount) * 100).toFixed(2));
-
-                                    return {
-                                        ...a,
-                                        currentPrice: newPrice,
-                                        currentValue: currentValue,
-                                        profitLoss: profitLoss,
-                                        returnRate: returnRate,
-                                        lastPriceUpdate: new Date().toISOString()
-                                    };
-                                }
-                                return a;
-                            });
-                            return { ...prevSummary, assets: updatedAssets };
-                        });
-                    }
-                } catch (err) {
-                    console.warn(`Failed to refresh price for asset ${asset.id}:`, err);
-                } finally {
-                    setRefreshingAssetIds(prev => prev.filter(id => id !== asset.id));
-                }
-            });
-
-            await Promise.all(refreshPromises);
-
-            // 모든 조회가 끝난 후 최종 요약 정보 재동기화 (서버측 계산 결과 합계 등 반영)
+            // 서버측 계산 결과 합계 등 반영
             await fetchSummary();
             showToast('모든 자산 시세가 업데이트되었습니다.');
         } catch (error) {
@@ -131,6 +87,23 @@ const Dashboard = () => {
         }
     };
 
+    // 전체 계좌의 보유 종목을 서버에서 중복 없이 한 번씩 조회해 모든 계좌에 반영 (호출 한도 안에서 오래된 종목부터)
+    const handleRefreshPortfolioPrices = async () => {
+        try {
+            setRefreshingAll(true);
+            const response = await api.post('/accounts/refresh-prices');
+            const { updatedAssets, deferred } = response.data;
+
+            await fetchSummary();
+            showToast(`전체 계좌 시세가 업데이트되었습니다. (${updatedAssets ?? 0}건${deferred ? `, ${deferred}건은 다음에 조회` : ''})`);
+        } catch (error) {
+            console.error('Error refreshing portfolio prices:', error);
+            showToast('일부 시세 업데이트 중 오류가 발생했습니다.', 'error');
+        } finally {
+            setRefreshingAll(false);
+        }
+    };
+
     const handleRefreshAssetPrice = async (accountId, assetId) => {
         if (!accountId || !assetId) return;
         try {
@@ -618,7 +591,7 @@ const Dashboard = () => {
                                 {/* Secondary Group: 데이터 연동 */}
                                 <div style={{ display: 'flex', gap: '8px', padding: '4px', background: 'rgba(255,255,255,0.03)', borderRadius: '12px', border: '1px solid var(--border)' }}>
                                     <button
-                                        onClick={() => handleRefreshAllPrices(currentAccountId)}
+                                        onClick={() => handleRefreshAllPrices(currentAccountId, true)}
                                         disabled={refreshingAll}
                                         className="hover-lift"
                                         style={{
@@ -631,6 +604,21 @@ const Dashboard = () => {
                                         <RotateCw size={16} className={refreshingAll ? 'animate-spin' : ''} />
                                         <span>시세 조회</span>
                                     </button>
+                                    <button
+                                        onClick={handleRefreshPortfolioPrices}
+                                        disabled={refreshingAll}
+                                        className="hover-lift"
+                                        style={{
+                                            display: 'flex', alignItems: 'center', gap: '8px', padding: '8px 14px',
+                                            borderRadius: '8px', background: 'transparent', border: 'none',
+                                            color: 'var(--primary)', fontSize: '0.85rem', fontWeight: '700', cursor: 'pointer',
+                                            transition: 'all 0.2s ease', opacity: refreshingAll ? 0.6 : 1
+                                        }}
+                                        title="전체 계좌 시세 조회"
+                                    >
+                                        <RefreshCw size={16} className={refreshingAll ? 'animate-spin' : ''} />
+                                        <span>전체 계좌</span>
+                                    </button>
                                     <div style={{ width: '1px', height: '16px', background: 'var(--border)', alignSelf: 'center' }} />
                                     <button
                                         onClick={handleExport}
@@ -8,17 +8,20 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import com.example.assetmanager.service.GoogleSheetsService;
+import com.example.assetmanager.support.InstrumentedExecutor;
 
 @Configuration
 @RequiredArgsConstructor
 public class DataLoader {
 
     private final GoogleSheetsService googleSheetsService;
+    // 시작 시 동기화는 구글 시트 블로킹 호출이므로 공용 ForkJoinPool 대신 블로킹 I/O 실행기에서 수행
+    private final InstrumentedExecutor blockingIoExecutor;
 
     @Bean
     CommandLineRunner initData(AssetService assetService) {
         return args -> {
-            java.util.concurrent.CompletableFuture.runAsync(() -> {
+            blockingIoExecutor.runAsync(() -> {
                 try {
                     assetService.setInitialSyncing(true);
                     System.out.println("Starting initial Google Sheets sync...");
@@ -0,0 +1,63 @@
+package com.example.assetmanager.config;
+
+import com.example.assetmanager.support.InstrumentedExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 블로킹 외부 호출(시세, 뉴스, 구글 시트)을 실행할 스레드 모드 설정.
+ * spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행하면 Spring Boot가 Tomcat 요청 처리를
+ * 가상 스레드로 전환하며, 여기서 만드는 blockingIoExecutor도 가상 스레드를 사용합니다.
+ * 그 외에는 크기가 고정된 플랫폼 스레드 풀을 사용합니다.
+ * 외부 의존성별 격벽(Bulkheads)도 동시 실행 수만 세고 작업은 이 실행기에서 실행합니다.
+ */
+@Slf4j
+@Configuration
+public class ExecutionConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    // 플랫폼 스레드 모드에서 블로킹 작업에 쓰는 스레드 수
+    @Value("${app.execution.blocking-io.pool-size:32}")
+    private int platformPoolSize;
+
+    @Bean
+    public InstrumentedExecutor blockingIoExecutor() {
+        if (isVirtualThreadMode()) {
+            log.info("Blocking I/O executor: virtual threads");
+            return new InstrumentedExecutor("virtual", new VirtualThreadTaskExecutor("blocking-io-"));
+        }
+        log.info("Blocking I/O executor: platform threads (pool size {})", platformPoolSize);
+        return new InstrumentedExecutor("platform",
+                Executors.newFixedThreadPool(Math.max(1, platformPoolSize),
+                        new CustomizableThreadFactory("blocking-io-")));
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(ExecutionMetrics executionMetrics) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(
+                new RequestMetricsFilter(executionMetrics.getRequests()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    boolean isVirtualThreadMode() {
+        if (!virtualThreadsEnabled) {
+            return false;
+        }
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled=true but running on Java {}; using platform threads",
+                    Runtime.version().feature());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.assetmanager.config;
+
+import com.example.assetmanager.support.InstrumentedExecutor;
+import com.example.assetmanager.support.ThroughputMeter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 실행 모드(가상/플랫폼 스레드)별 비교 지표.
+ * 요청 처리량과 블로킹 작업 처리량, 그리고 실제 OS 스레드(플랫폼/캐리어 스레드) 사용량을 함께 보여줍니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExecutionMetrics {
+
+    private final InstrumentedExecutor blockingIoExecutor;
+    private final ThroughputMeter requests = new ThroughputMeter();
+
+    public ThroughputMeter getRequests() {
+        return requests;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", blockingIoExecutor.getMode());
+        stats.put("javaVersion", Runtime.version().feature());
+        stats.put("threads", threadUsage());
+        stats.put("requests", requests.stats());
+        stats.put("blockingIo", blockingIoExecutor.stats());
+        return stats;
+    }
+
+    // ThreadMXBean은 플랫폼 스레드만 집계하므로 가상 스레드 모드에서는 캐리어 스레드 사용량이 그대로 드러남
+    private Map<String, Object> threadUsage() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        int carriers = 0;
+        int tomcatWorkers = 0;
+        for (ThreadInfo info : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds())) {
+            if (info == null) {
+                continue;
+            }
+            String name = info.getThreadName();
+            if (name.matches("ForkJoinPool-\\d+-worker-\\d+")) {
+                carriers++;
+            } else if (name.startsWith("http-nio-") && name.contains("-exec-")) {
+                tomcatWorkers++;
+            }
+        }
+
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("live", threadMXBean.getThreadCount());
+        usage.put("peak", threadMXBean.getPeakThreadCount());
+        usage.put("daemon", threadMXBean.getDaemonThreadCount());
+        usage.put("carriers", carriers);
+        usage.put("tomcatWorkers", tomcatWorkers);
+        return usage;
+    }
+}
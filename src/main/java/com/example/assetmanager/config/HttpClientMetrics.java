@@ -0,0 +1,99 @@
+package com.example.assetmanager.config;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 공유 WebClient의 호스트별 연결 풀 지표. 풀 크기(사용 중/유휴/대기)는 reactor-netty가 풀을 만들 때 등록하는
+ * ConnectionPoolMetrics에서 읽고, 연결 획득 시간(요청 시작부터 연결을 받아 요청을 쓰기 직전까지)은 WebClient 필터로 잽니다.
+ */
+public class HttpClientMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+    private final Map<String, AcquireTimer> acquireTimers = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+            ConnectionPoolMetrics metrics) {
+        pools.put(host(remoteAddress), metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(host(remoteAddress));
+    }
+
+    /**
+     * 연결을 받아 실제 요청을 쓰기 직전에 호출되는 httpRequest 콜백으로 연결 획득 시간을 기록합니다.
+     */
+    public ExchangeFilterFunction acquireTimer() {
+        return (request, next) -> Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            AcquireTimer timer = acquireTimers.computeIfAbsent(request.url().getHost(), host -> new AcquireTimer());
+            ClientRequest timed = ClientRequest.from(request)
+                    .httpRequest(httpRequest -> timer.record(System.nanoTime() - startedAt))
+                    .build();
+            return next.exchange(timed);
+        });
+    }
+
+    private static String host(SocketAddress address) {
+        return address instanceof InetSocketAddress inet ? inet.getHostString() : String.valueOf(address);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new TreeMap<>();
+        pools.forEach((host, pool) -> {
+            Map<String, Object> hostStats = new LinkedHashMap<>();
+            hostStats.put("active", pool.acquiredSize());
+            hostStats.put("idle", pool.idleSize());
+            hostStats.put("allocated", pool.allocatedSize());
+            hostStats.put("pending", pool.pendingAcquireSize());
+            hostStats.put("maxConnections", pool.maxAllocatedSize());
+            hostStats.put("maxPending", pool.maxPendingAcquireSize());
+            stats.put(host, hostStats);
+        });
+        acquireTimers.forEach((host, timer) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> hostStats = (Map<String, Object>) stats.computeIfAbsent(host,
+                    key -> new LinkedHashMap<>());
+            hostStats.put("acquire", timer.stats());
+        });
+        return stats;
+    }
+
+    static class AcquireTimer {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Map<String, Object> stats() {
+            long recorded = count.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", recorded);
+            stats.put("avgMillis", recorded == 0 ? 0.0
+                    : TimeUnit.NANOSECONDS.toMicros(totalNanos.get()) / 1000.0 / recorded);
+            stats.put("maxMillis", TimeUnit.NANOSECONDS.toMicros(maxNanos.get()) / 1000.0);
+            return stats;
+        }
+    }
+}
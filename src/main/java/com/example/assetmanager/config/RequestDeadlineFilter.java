@@ -0,0 +1,34 @@
+package com.example.assetmanager.config;
+
+import com.example.assetmanager.support.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * API 요청마다 마감 시각을 정해 요청 스레드에 걸어 둡니다. 이 요청에서 나가는 외부 호출은 남은 시간만큼만 기다립니다.
+ * 비동기(Mono 반환) 요청은 구독 시점에 Context로 옮겨지므로 요청 스레드가 풀린 뒤에도 유지됩니다.
+ * WebClientConfig에서 등록합니다.
+ */
+@RequiredArgsConstructor
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final Duration timeout;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDeadline.set(RequestDeadline.after(timeout));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.assetmanager.config;
+
+import com.example.assetmanager.support.ThroughputMeter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * API 요청의 처리량과 동시 처리 수를 집계합니다. 비동기(Mono 반환) 요청은 응답이 완료될 때 집계합니다.
+ * ExecutionConfig에서 등록합니다.
+ */
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final ThroughputMeter meter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = meter.start();
+        boolean stopped = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        meter.stop(start, response.getStatus() < 500);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                meter.stop(start, response.getStatus() < 500);
+            }
+            stopped = true;
+        } finally {
+            if (!stopped) {
+                meter.stop(start, false);
+            }
+        }
+    }
+}
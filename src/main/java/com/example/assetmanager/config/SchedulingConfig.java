@@ -0,0 +1,12 @@
+package com.example.assetmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 백그라운드 시세 갱신(PriceRefreshScheduler) 등 @Scheduled 작업 활성화.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
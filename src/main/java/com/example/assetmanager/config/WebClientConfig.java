@@ -1,13 +1,143 @@
 package com.example.assetmanager.config;
 
+import com.example.assetmanager.support.RequestDeadline;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 외부 API 호출이 공유하는 WebClient.
+ * 호스트별 연결 풀(최대 연결 수, 대기 수/시간, keep-alive 유휴 시간)과 연결/응답/읽기/쓰기 제한 시간을 두어
+ * 어떤 요청도 외부 호스트를 무기한 기다리지 않게 하고, API 요청의 마감 시각(RequestDeadline)을 넘기지 않게 합니다.
+ */
 @Configuration
 public class WebClientConfig {
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private int connectTimeoutMillis = 3000;
+
+    // 요청을 보낸 뒤 응답 헤더를 받을 때까지
+    @Value("${http.client.response-timeout-ms:10000}")
+    private long responseTimeoutMillis = 10000;
+
+    // 응답 본문을 받는 중 데이터가 끊긴 채 기다리는 시간
+    @Value("${http.client.read-timeout-ms:10000}")
+    private long readTimeoutMillis = 10000;
+
+    @Value("${http.client.write-timeout-ms:5000}")
+    private long writeTimeoutMillis = 5000;
+
+    @Value("${http.client.max-connections:50}")
+    private int maxConnections = 50;
+
+    @Value("${http.client.pending-acquire-max-count:200}")
+    private int pendingAcquireMaxCount = 200;
+
+    // 풀의 연결이 모두 사용 중일 때 연결을 기다리는 최대 시간
+    @Value("${http.client.pending-acquire-timeout-ms:2000}")
+    private long pendingAcquireTimeoutMillis = 2000;
+
+    // 서버가 먼저 끊기 전에 유휴 연결을 정리하도록 서버 keep-alive 시간보다 짧게 유지
+    @Value("${http.client.max-idle-seconds:30}")
+    private long maxIdleSeconds = 30;
+
+    @Value("${http.client.max-life-seconds:300}")
+    private long maxLifeSeconds = 300;
+
+    @Value("${http.client.hosts.public-data.max-connections:16}")
+    private int publicDataMaxConnections = 16;
+
+    @Value("${http.client.hosts.upbit.max-connections:8}")
+    private int upbitMaxConnections = 8;
+
+    @Value("${http.client.hosts.google-news.max-connections:4}")
+    private int googleNewsMaxConnections = 4;
+
+    // API 요청 하나가 외부 호출에 쓸 수 있는 전체 시간
+    @Value("${http.request.deadline-ms:20000}")
+    private long requestDeadlineMillis = 20000;
+
+    @Bean
+    public HttpClientMetrics httpClientMetrics() {
+        return new HttpClientMetrics();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(HttpClientMetrics httpClientMetrics) {
+        ConnectionProvider.Builder builder = pool(ConnectionProvider.builder("upstream"), maxConnections,
+                httpClientMetrics);
+        // 풀은 호스트마다 따로 만들어지며, 아래 호스트는 최대 연결 수를 따로 둠 (HttpClient는 주소를 해석하기 전 호스트명으로 풀을 찾음)
+        Map.of("apis.data.go.kr", publicDataMaxConnections,
+                "api.upbit.com", upbitMaxConnections,
+                "news.google.com", googleNewsMaxConnections)
+                .forEach((host, hostMaxConnections) -> builder.forRemoteHost(
+                        InetSocketAddress.createUnresolved(host, 443),
+                        spec -> pool(spec, hostMaxConnections, httpClientMetrics)));
+        return builder.build();
+    }
+
+    private <S extends ConnectionProvider.ConnectionPoolSpec<S>> S pool(S spec, int hostMaxConnections,
+            HttpClientMetrics httpClientMetrics) {
+        return spec.maxConnections(hostMaxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeSeconds))
+                .evictInBackground(Duration.ofSeconds(maxIdleSeconds))
+                .metrics(true, () -> httpClientMetrics);
+    }
+
+    @Bean
+    public WebClient webClient(ConnectionProvider connectionProvider, HttpClientMetrics httpClientMetrics) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis))
+                // 요청 단위로 추가한 핸들러는 연결이 풀로 돌아갈 때 제거되므로 유휴 연결을 닫지 않음
+                .doOnRequest((request, connection) -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeoutMillis, TimeUnit.MILLISECONDS)));
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(deadlineFilter())
+                .filter(httpClientMetrics.acquireTimer())
+                .build();
+    }
+
+    /**
+     * 호출한 API 요청의 마감 시각이 있으면 남은 시간 안에 응답이 오지 않을 때 기다리기를 멈춥니다.
+     * 이미 지났으면 요청을 보내지 않습니다.
+     */
+    static ExchangeFilterFunction deadlineFilter() {
+        return (request, next) -> Mono.deferContextual(context -> RequestDeadline.from(context)
+                .map(deadline -> deadline.isExpired()
+                        ? Mono.<ClientResponse>error(new RequestDeadline.ExceededException(request.url().getHost()))
+                        : next.exchange(request).timeout(deadline.remaining(),
+                                Mono.error(() -> new RequestDeadline.ExceededException(request.url().getHost()))))
+                .orElseGet(() -> next.exchange(request)));
+    }
+
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter() {
+        FilterRegistrationBean<RequestDeadlineFilter> registration = new FilterRegistrationBean<>(
+                new RequestDeadlineFilter(Duration.ofMillis(requestDeadlineMillis)));
+        registration.addUrlPatterns("/api/*");
+        return registration;
     }
 }
@@ -3,14 +3,23 @@ package com.example.assetmanager.controller;
 import com.example.assetmanager.domain.Asset;
 import com.example.assetmanager.domain.Account;
 import com.example.assetmanager.domain.AccountType;
+import com.example.assetmanager.dto.AccountSummary;
 import com.example.assetmanager.service.AssetService;
+import com.example.assetmanager.service.Bulkheads;
+import com.example.assetmanager.support.RequestDeadline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Mono;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -19,10 +28,11 @@ import java.util.Map;
 public class AssetController {
 
     private final AssetService assetService;
+    private final Bulkheads bulkheads;
 
     @GetMapping
-    public List<Account> getAllAccounts() {
-        return assetService.getAllAccounts();
+    public ResponseEntity<List<Account>> getAllAccounts(WebRequest request) {
+        return conditional(request, assetService.getAccountsVersion(), assetService::getAllAccounts);
     }
 
     @GetMapping("/sync-status")
@@ -76,53 +86,90 @@ public class AssetController {
     }
 
     @GetMapping("/{accountId}/summary")
-    public Map<String, Object> getAccountSummary(@PathVariable Long accountId) {
-        return assetService.getAccountSummary(accountId);
+    public ResponseEntity<AccountSummary> getAccountSummary(@PathVariable Long accountId, WebRequest request) {
+        return conditional(request, assetService.getAccountSummaryVersion(accountId),
+                () -> assetService.getAccountSummary(accountId));
     }
 
     @GetMapping("/summary")
-    public List<Map<String, Object>> getAllAccountSummaries() {
-        return assetService.getAllAccountSummaries();
+    public ResponseEntity<List<AccountSummary>> getAllAccountSummaries(WebRequest request) {
+        return conditional(request, assetService.getAccountsVersion(), assetService::getAllAccountSummaries);
     }
 
+    @GetMapping("/summary/portfolio")
+    public ResponseEntity<Map<String, Object>> getPortfolioSummary(WebRequest request) {
+        return conditional(request, assetService.getAccountsVersion(), assetService::getPortfolioSummary);
+    }
+
+    // 데이터 버전을 강한 ETag로 씀. If-None-Match가 같으면 본문을 만들지 않고 304 (null 반환 시 Spring이 응답 처리)
+    // no-cache로 브라우저가 매번 ETag로 재검증하게 함
+    private static <T> ResponseEntity<T> conditional(WebRequest request, String version, Supplier<T> body) {
+        if (request.checkNotModified(version)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body.get());
+    }
+
+    // 구글 시트 호출은 시트 전용 bulkhead에서 수행해 느려져도 다른 API 요청의 스레드를 붙잡지 않음
     @GetMapping("/sheet-names")
-    public List<String> getSheetNames() throws Exception {
-        return assetService.getSheetNames();
+    public CompletableFuture<List<String>> getSheetNames() {
+        return bulkheads.sheets().submit(assetService::getSheetNames);
     }
 
     @PostMapping("/{accountId}/sync")
-    public Map<String, String> syncAccount(@PathVariable Long accountId) {
-        try {
-            assetService.syncWithGoogleSheets(accountId);
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Synced with Google Sheets");
-            return response;
-        } catch (Exception e) {
-            log.error("Error during sync for account {}: {}", accountId, e.getMessage(), e);
-            throw new RuntimeException("Sync failed: " + e.getMessage());
-        }
+    public CompletableFuture<Map<String, String>> syncAccount(@PathVariable Long accountId) {
+        return bulkheads.sheets().submit(() -> {
+            try {
+                assetService.syncWithGoogleSheets(accountId);
+                Map<String, String> response = new HashMap<>();
+                response.put("status", "success");
+                response.put("message", "Synced with Google Sheets");
+                return response;
+            } catch (Exception e) {
+                log.error("Error during sync for account {}: {}", accountId, e.getMessage(), e);
+                throw new RuntimeException("Sync failed: " + e.getMessage());
+            }
+        });
     }
 
     @PostMapping("/{accountId}/export")
-    public Map<String, String> exportAccount(@PathVariable Long accountId) {
-        try {
-            assetService.exportToGoogleSheets(accountId);
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Exported to Google Sheets");
-            return response;
-        } catch (Exception e) {
-            log.error("Error during export for account {}: {}", accountId, e.getMessage(), e);
-            throw new RuntimeException("Export failed: " + e.getMessage());
-        }
+    public CompletableFuture<Map<String, String>> exportAccount(@PathVariable Long accountId) {
+        return bulkheads.sheets().submit(() -> {
+            try {
+                assetService.exportToGoogleSheets(accountId);
+                Map<String, String> response = new HashMap<>();
+                response.put("status", "success");
+                response.put("message", "Exported to Google Sheets");
+                return response;
+            } catch (Exception e) {
+                log.error("Error during export for account {}: {}", accountId, e.getMessage(), e);
+                throw new RuntimeException("Export failed: " + e.getMessage());
+            }
+        });
+    }
+
+    @PostMapping("/refresh-prices")
+    public Mono<Map<String, Object>> refreshPortfolioPrices(
+            @RequestParam(required = false, defaultValue = "false") boolean force) {
+        // 전체 계좌의 보유 종목을 중복 없이 한 번씩 조회해 모든 자산에 반영
+        return assetService.refreshPortfolioPricesAsync(force)
+                .map(result -> {
+                    Map<String, Object> response = new HashMap<>(result);
+                    response.put("status", "success");
+                    response.put("forced", force);
+                    return response;
+                })
+                .contextWrite(RequestDeadline.propagate());
     }
 
     @PostMapping("/{accountId}/refresh-prices")
-    public Map<String, String> refreshAllPrices(@PathVariable Long accountId,
+    public Mono<Map<String, String>> refreshAllPrices(@PathVariable Long accountId,
             @RequestParam(required = false, defaultValue = "false") boolean force) {
-        assetService.refreshAllPrices(accountId, force);
-        return Map.of("status", "success", "message", "All asset prices refreshed" + (force ? " (forced)" : ""));
+        // 갱신이 끝날 때까지 요청 스레드를 붙잡지 않도록 비동기로 응답
+        return assetService.refreshAllPricesAsync(accountId, force)
+                .thenReturn(Map.of("status", "success", "message",
+                        "All asset prices refreshed" + (force ? " (forced)" : "")))
+                .contextWrite(RequestDeadline.propagate());
     }
 
     @PostMapping("/{accountId}/assets/{assetId}/refresh-price")
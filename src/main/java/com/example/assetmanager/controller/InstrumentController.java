@@ -0,0 +1,27 @@
+package com.example.assetmanager.controller;
+
+import com.example.assetmanager.dto.Instrument;
+import com.example.assetmanager.service.InstrumentMaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/instruments")
+@RequiredArgsConstructor
+public class InstrumentController {
+
+    private final InstrumentMaster instrumentMaster;
+
+    // 메모리 색인만 조회하므로 bulkhead를 거치지 않고 요청 스레드에서 바로 응답
+    @GetMapping("/search")
+    public List<Instrument> searchInstruments(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return instrumentMaster.search(q, limit);
+    }
+}
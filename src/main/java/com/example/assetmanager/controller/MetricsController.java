@@ -0,0 +1,114 @@
+package com.example.assetmanager.controller;
+
+import com.example.assetmanager.config.ExecutionMetrics;
+import com.example.assetmanager.config.HttpClientMetrics;
+import com.example.assetmanager.service.AccountSummaryStore;
+import com.example.assetmanager.service.AssetService;
+import com.example.assetmanager.service.Bulkheads;
+import com.example.assetmanager.service.FxRateService;
+import com.example.assetmanager.service.InstrumentMaster;
+import com.example.assetmanager.service.KisTokenManager;
+import com.example.assetmanager.service.PriceCache;
+import com.example.assetmanager.service.PriceProviderRegistry;
+import com.example.assetmanager.service.PriceRefreshQueue;
+import com.example.assetmanager.service.PriceRefreshScheduler;
+import com.example.assetmanager.service.UpbitTickerStream;
+import com.example.assetmanager.service.UpstreamGuards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final PriceCache priceCache;
+    private final AssetService assetService;
+    private final ExecutionMetrics executionMetrics;
+    private final PriceProviderRegistry priceProviderRegistry;
+    private final UpbitTickerStream upbitTickerStream;
+    private final PriceRefreshScheduler priceRefreshScheduler;
+    private final PriceRefreshQueue priceRefreshQueue;
+    private final UpstreamGuards upstreamGuards;
+    private final HttpClientMetrics httpClientMetrics;
+    private final Bulkheads bulkheads;
+    private final KisTokenManager kisTokenManager;
+    private final FxRateService fxRateService;
+    private final InstrumentMaster instrumentMaster;
+    private final AccountSummaryStore accountSummaryStore;
+
+    @GetMapping("/price-cache")
+    public Map<String, Object> getPriceCacheStats() {
+        return priceCache.stats();
+    }
+
+    @GetMapping("/account-summaries")
+    public Map<String, Object> getAccountSummaryStats() {
+        return accountSummaryStore.stats();
+    }
+
+    @GetMapping("/price-refresh")
+    public Map<String, Object> getPriceRefreshStats() {
+        return assetService.getRefreshStats();
+    }
+
+    @GetMapping("/price-routes")
+    public Map<String, List<String>> getPriceRoutes() {
+        return priceProviderRegistry.describe();
+    }
+
+    @GetMapping("/price-stream")
+    public Map<String, Object> getPriceStreamStats() {
+        return upbitTickerStream.stats();
+    }
+
+    @GetMapping("/price-scheduler")
+    public Map<String, Object> getPriceSchedulerStats() {
+        return priceRefreshScheduler.stats();
+    }
+
+    @GetMapping("/price-queue")
+    public Map<String, Object> getPriceQueueStats() {
+        return priceRefreshQueue.stats();
+    }
+
+    @GetMapping("/upstreams")
+    public Map<String, Object> getUpstreamStats() {
+        return upstreamGuards.stats();
+    }
+
+    @GetMapping("/http-client")
+    public Map<String, Object> getHttpClientStats() {
+        return httpClientMetrics.stats();
+    }
+
+    @GetMapping("/bulkheads")
+    public Map<String, Object> getBulkheadStats() {
+        return bulkheads.stats();
+    }
+
+    @GetMapping("/kis-token")
+    public Map<String, Object> getKisTokenStats() {
+        return kisTokenManager.stats();
+    }
+
+    @GetMapping("/fx-rates")
+    public Map<String, Object> getFxRateStats() {
+        return fxRateService.stats();
+    }
+
+    @GetMapping("/execution")
+    public Map<String, Object> getExecutionStats() {
+        return executionMetrics.stats();
+    }
+
+    @GetMapping("/instruments")
+    public Map<String, Object> getInstrumentStats() {
+        return instrumentMaster.stats();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.assetmanager.controller;
 
 import com.example.assetmanager.dto.NewsItem;
+import com.example.assetmanager.service.Bulkheads;
 import com.example.assetmanager.service.NewsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/news")
@@ -16,15 +18,17 @@ import java.util.List;
 public class NewsController {
 
     private final NewsService newsService;
+    private final Bulkheads bulkheads;
 
+    // 뉴스 검색은 뉴스 전용 bulkhead에서 수행해 RSS 응답이 느려도 계좌 요약 등 다른 요청의 스레드를 붙잡지 않음
     @GetMapping("/search")
-    public List<NewsItem> searchNews(
+    public CompletableFuture<List<NewsItem>> searchNews(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) List<String> keywords,
             @RequestParam(defaultValue = "false") boolean force) {
         if (keywords != null && !keywords.isEmpty()) {
-            return newsService.searchNewsForAssets(keywords, force);
+            return bulkheads.news().submit(() -> newsService.searchNewsForAssets(keywords, force));
         }
-        return newsService.searchNews(query);
+        return bulkheads.news().submit(() -> newsService.searchNews(query));
     }
 }
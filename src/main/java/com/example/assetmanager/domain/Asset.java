@@ -31,6 +31,8 @@ public class Asset {
     private String code; // 종목코드 (예: 005930) or 코인 심볼 (예: BTC)
     private String name;
 
+    private String currency; // 통화 (KRW, USD 등). 비어 있으면 자산 유형으로 판단 (해외 주식/채권은 USD)
+
     private BigDecimal quantity;
     private BigDecimal averagePurchasePrice;
     private BigDecimal currentPrice;
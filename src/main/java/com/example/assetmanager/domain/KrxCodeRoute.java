@@ -0,0 +1,31 @@
+package com.example.assetmanager.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 단축코드별로 시세를 찾은 공공데이터 API(주식/ETF)를 기억합니다.
+ * NONE은 두 API 모두에서 찾지 못한 코드이며 checkedAt 기준으로 만료됩니다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "krx_code_route")
+public class KrxCodeRoute {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true)
+    private String code;
+
+    @Enumerated(EnumType.STRING)
+    private KrxEndpoint endpoint;
+
+    private LocalDateTime checkedAt;
+}
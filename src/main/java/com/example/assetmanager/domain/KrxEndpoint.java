@@ -0,0 +1,14 @@
+package com.example.assetmanager.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum KrxEndpoint {
+    STOCK("주식시세"),
+    ETF("ETF시세"),
+    NONE("미존재");
+
+    private final String description;
+}
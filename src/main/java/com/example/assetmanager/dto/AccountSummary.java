@@ -0,0 +1,85 @@
+package com.example.assetmanager.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 계좌 요약 (합계는 원화 환산). 보관해 두고 여러 요청이 함께 읽으므로 자산 목록도 바뀌지 않는 목록입니다.
+ * 환율을 아직 받지 못한 통화의 자산은 합계에서 빠지며, 그 통화를 unconvertedCurrencies에 담습니다.
+ */
+@JsonSerialize(using = AccountSummary.Serializer.class)
+public record AccountSummary(Long accountId, String accountName, String owner, String accountType,
+        String financialInstitution, String accountNumber, BigDecimal totalPurchaseAmount,
+        BigDecimal totalCurrentValue, BigDecimal totalProfitLoss, BigDecimal totalReturnRate,
+        BigDecimal totalExpectedDividend, List<AssetSummary> assets, Instant fxRatesAsOf,
+        List<String> unconvertedCurrencies) {
+
+    public AccountSummary {
+        assets = List.copyOf(assets);
+        unconvertedCurrencies = List.copyOf(unconvertedCurrencies);
+    }
+
+    public static final class Serializer extends StdSerializer<AccountSummary> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final SerializedString ACCOUNT_ID = new SerializedString("accountId");
+        private static final SerializedString ACCOUNT_NAME = new SerializedString("accountName");
+        private static final SerializedString OWNER = new SerializedString("owner");
+        private static final SerializedString ACCOUNT_TYPE = new SerializedString("accountType");
+        private static final SerializedString FINANCIAL_INSTITUTION = new SerializedString("financialInstitution");
+        private static final SerializedString ACCOUNT_NUMBER = new SerializedString("accountNumber");
+        private static final SerializedString TOTAL_PURCHASE_AMOUNT = new SerializedString("totalPurchaseAmount");
+        private static final SerializedString TOTAL_CURRENT_VALUE = new SerializedString("totalCurrentValue");
+        private static final SerializedString TOTAL_PROFIT_LOSS = new SerializedString("totalProfitLoss");
+        private static final SerializedString TOTAL_RETURN_RATE = new SerializedString("totalReturnRate");
+        private static final SerializedString TOTAL_EXPECTED_DIVIDEND = new SerializedString("totalExpectedDividend");
+        private static final SerializedString ASSETS = new SerializedString("assets");
+        private static final SerializedString FX_RATES_AS_OF = new SerializedString("fxRatesAsOf");
+        private static final SerializedString UNCONVERTED_CURRENCIES = new SerializedString("unconvertedCurrencies");
+
+        public Serializer() {
+            super(AccountSummary.class);
+        }
+
+        @Override
+        public void serialize(AccountSummary summary, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(summary);
+            SummaryJson.number(gen, ACCOUNT_ID, summary.accountId());
+            SummaryJson.string(gen, ACCOUNT_NAME, summary.accountName());
+            SummaryJson.string(gen, OWNER, summary.owner());
+            SummaryJson.string(gen, ACCOUNT_TYPE, summary.accountType());
+            SummaryJson.string(gen, FINANCIAL_INSTITUTION, summary.financialInstitution());
+            SummaryJson.string(gen, ACCOUNT_NUMBER, summary.accountNumber());
+            SummaryJson.number(gen, TOTAL_PURCHASE_AMOUNT, summary.totalPurchaseAmount());
+            SummaryJson.number(gen, TOTAL_CURRENT_VALUE, summary.totalCurrentValue());
+            SummaryJson.number(gen, TOTAL_PROFIT_LOSS, summary.totalProfitLoss());
+            SummaryJson.number(gen, TOTAL_RETURN_RATE, summary.totalReturnRate());
+            SummaryJson.number(gen, TOTAL_EXPECTED_DIVIDEND, summary.totalExpectedDividend());
+            // 자산 직렬화기는 조회 없이 바로 호출
+            gen.writeFieldName(ASSETS);
+            gen.writeStartArray(summary.assets(), summary.assets().size());
+            for (AssetSummary asset : summary.assets()) {
+                AssetSummary.Serializer.INSTANCE.serialize(asset, gen, provider);
+            }
+            gen.writeEndArray();
+            SummaryJson.value(gen, provider, FX_RATES_AS_OF, summary.fxRatesAsOf());
+            gen.writeFieldName(UNCONVERTED_CURRENCIES);
+            gen.writeStartArray(summary.unconvertedCurrencies(), summary.unconvertedCurrencies().size());
+            for (String currency : summary.unconvertedCurrencies()) {
+                gen.writeString(currency);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.assetmanager.dto;
+
+import com.example.assetmanager.domain.AssetType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌 요약의 자산별 상세. 평가금액과 손익은 원화 환산값이고, 평균 매입가와 현재가는 자산 통화 그대로입니다.
+ */
+@JsonSerialize(using = AssetSummary.Serializer.class)
+public record AssetSummary(Long id, AssetType type, String code, String name, String currency, BigDecimal fxRate,
+        BigDecimal quantity, BigDecimal averagePurchasePrice, BigDecimal currentPrice,
+        LocalDateTime lastPriceUpdate, BigDecimal currentValue, BigDecimal profitLoss, BigDecimal returnRate) {
+
+    public static final class Serializer extends StdSerializer<AssetSummary> {
+
+        private static final long serialVersionUID = 1L;
+
+        static final Serializer INSTANCE = new Serializer();
+
+        private static final SerializedString ID = new SerializedString("id");
+        private static final SerializedString TYPE = new SerializedString("type");
+        private static final SerializedString CODE = new SerializedString("code");
+        private static final SerializedString NAME = new SerializedString("name");
+        private static final SerializedString CURRENCY = new SerializedString("currency");
+        private static final SerializedString FX_RATE = new SerializedString("fxRate");
+        private static final SerializedString QUANTITY = new SerializedString("quantity");
+        private static final SerializedString AVERAGE_PURCHASE_PRICE = new SerializedString("averagePurchasePrice");
+        private static final SerializedString CURRENT_PRICE = new SerializedString("currentPrice");
+        private static final SerializedString LAST_PRICE_UPDATE = new SerializedString("lastPriceUpdate");
+        private static final SerializedString CURRENT_VALUE = new SerializedString("currentValue");
+        private static final SerializedString PROFIT_LOSS = new SerializedString("profitLoss");
+        private static final SerializedString RETURN_RATE = new SerializedString("returnRate");
+
+        public Serializer() {
+            super(AssetSummary.class);
+        }
+
+        @Override
+        public void serialize(AssetSummary asset, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(asset);
+            SummaryJson.number(gen, ID, asset.id());
+            SummaryJson.string(gen, TYPE, asset.type() != null ? asset.type().name() : null);
+            SummaryJson.string(gen, CODE, asset.code());
+            SummaryJson.string(gen, NAME, asset.name());
+            SummaryJson.string(gen, CURRENCY, asset.currency());
+            SummaryJson.number(gen, FX_RATE, asset.fxRate());
+            SummaryJson.number(gen, QUANTITY, asset.quantity());
+            SummaryJson.number(gen, AVERAGE_PURCHASE_PRICE, asset.averagePurchasePrice());
+            SummaryJson.number(gen, CURRENT_PRICE, asset.currentPrice());
+            SummaryJson.value(gen, provider, LAST_PRICE_UPDATE, asset.lastPriceUpdate());
+            SummaryJson.number(gen, CURRENT_VALUE, asset.currentValue());
+            SummaryJson.number(gen, PROFIT_LOSS, asset.profitLoss());
+            SummaryJson.number(gen, RETURN_RATE, asset.returnRate());
+            gen.writeEndObject();
+        }
+    }
+}
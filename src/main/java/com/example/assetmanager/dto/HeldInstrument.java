@@ -0,0 +1,17 @@
+package com.example.assetmanager.dto;
+
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.support.InstrumentCodes;
+
+/**
+ * 보유 종목 (자산 유형 + 종목 코드). 여러 계좌가 같은 종목을 보유해도 하나로 취급합니다.
+ */
+public record HeldInstrument(AssetType type, String code) {
+
+    /**
+     * 표기가 달라도 같은 종목이면 같은 값 ("KRX:005930"과 "005930"은 모두 "KRX:005930").
+     */
+    public String canonicalId() {
+        return InstrumentCodes.canonicalId(type, code);
+    }
+}
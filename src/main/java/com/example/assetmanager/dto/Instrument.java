@@ -0,0 +1,9 @@
+package com.example.assetmanager.dto;
+
+import com.example.assetmanager.domain.AssetType;
+
+/**
+ * 종목 마스터의 종목. id는 정규 종목 ID("KRX:005930", "UPBIT:KRW-BTC"), code는 자산 등록 시 쓰는 코드입니다.
+ */
+public record Instrument(String id, AssetType type, String code, String name, String market) {
+}
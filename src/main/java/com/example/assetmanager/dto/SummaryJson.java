@@ -0,0 +1,52 @@
+package com.example.assetmanager.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * 요약 DTO 직렬화 도우미. 필드 이름은 미리 인코딩된 {@link SerializableString}으로 쓰고,
+ * 날짜/시각처럼 ObjectMapper 설정을 따라야 하는 값만 Jackson에 맡깁니다.
+ */
+final class SummaryJson {
+
+    private SummaryJson() {
+    }
+
+    static void string(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void number(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    static void number(JsonGenerator gen, SerializableString name, BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    // 날짜/시각은 JavaTimeModule과 WRITE_DATES_AS_TIMESTAMPS 설정을 그대로 따름
+    static void value(JsonGenerator gen, SerializerProvider provider, SerializableString name, Object value)
+            throws IOException {
+        gen.writeFieldName(name);
+        provider.defaultSerializeValue(value, gen);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.assetmanager.exception;
 
+import com.example.assetmanager.support.Bulkhead;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,6 +14,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(e.getMessage());
     }
 
+    @ExceptionHandler(Bulkhead.RejectedException.class)
+    public ResponseEntity<String> handleBulkheadRejectedException(Bulkhead.RejectedException e) {
+        // 해당 외부 서비스 작업이 이미 가득 차 있으므로 잠시 후 다시 시도하도록 안내
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("요청이 많아 잠시 후 다시 시도해 주세요.");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception e) {
         return ResponseEntity.internalServerError().body("서버 내부 오류가 발생했습니다.");
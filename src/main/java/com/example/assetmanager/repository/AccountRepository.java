@@ -2,9 +2,21 @@ package com.example.assetmanager.repository;
 
 import com.example.assetmanager.domain.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     boolean existsBySheetName(String sheetName);
+
+    // 전체 계좌와 보유 자산을 조인 한 번으로 조회 (계좌 수와 관계없이 쿼리 1회)
+    @Query("select distinct a from Account a left join fetch a.assets s order by a.id, s.id")
+    List<Account> findAllWithAssets();
+
+    @Query("select distinct a from Account a left join fetch a.assets s where a.id in :ids order by a.id, s.id")
+    List<Account> findAllWithAssetsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,11 +1,39 @@
 package com.example.assetmanager.repository;
 
 import com.example.assetmanager.domain.Asset;
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.dto.HeldInstrument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
     List<Asset> findByAccountId(Long accountId);
+
+    // 전체 계좌에서 보유 중인 해당 유형의 종목 코드 (중복 제거)
+    @Query("select distinct a.code from Asset a where a.type = :type and a.code is not null")
+    List<String> findDistinctCodesByType(@Param("type") AssetType type);
+
+    // 전체 계좌에서 해당 유형 중 since 이후로 시세가 갱신되지 않은 자산
+    @Query("select a from Asset a where a.type in :types and (a.lastPriceUpdate is null or a.lastPriceUpdate < :since)")
+    List<Asset> findStaleByTypes(@Param("types") Collection<AssetType> types, @Param("since") LocalDateTime since);
+
+    // 전체 계좌에서 보유 중인 종목 (같은 유형/코드는 하나로)
+    @Query("select distinct new com.example.assetmanager.dto.HeldInstrument(a.type, a.code) from Asset a "
+            + "where a.code is not null and a.code <> ''")
+    List<HeldInstrument> findDistinctInstruments();
+
+    // 해당 유형/코드의 종목을 보유한 모든 자산의 현재가를 한 번에 갱신 (코드가 같아도 유형이 다르면 다른 시세 경로)
+    @Modifying
+    @Query("update Asset a set a.currentPrice = :price, a.lastPriceUpdate = :updatedAt "
+            + "where a.type = :type and a.code = :code")
+    int updatePriceByTypeAndCode(@Param("type") AssetType type, @Param("code") String code,
+            @Param("price") BigDecimal price, @Param("updatedAt") LocalDateTime updatedAt);
 }
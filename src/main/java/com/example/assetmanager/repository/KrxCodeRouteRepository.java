@@ -0,0 +1,9 @@
+package com.example.assetmanager.repository;
+
+import com.example.assetmanager.domain.KrxCodeRoute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Optional;
+
+public interface KrxCodeRouteRepository extends JpaRepository<KrxCodeRoute, Long> {
+    Optional<KrxCodeRoute> findByCode(String code);
+}
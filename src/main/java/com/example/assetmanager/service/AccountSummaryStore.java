@@ -0,0 +1,453 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.Account;
+import com.example.assetmanager.domain.Asset;
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.dto.AccountSummary;
+import com.example.assetmanager.dto.AssetSummary;
+import com.example.assetmanager.repository.AccountRepository;
+import com.example.assetmanager.repository.AssetRepository;
+import com.example.assetmanager.support.InstrumentCodes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 계좌별 요약(평가금액, 손익, 수익률, 예상 배당)과 전체 합계를 미리 계산해 보관합니다.
+ * 조회는 보관된 요약을 그대로 돌려주고, 자산 추가/수정/삭제, 시세 반영, 시트 동기화가 커밋되면
+ * 영향받은 계좌의 요약만 버려 다음 조회 때 그 계좌만 다시 계산합니다. 전체 합계는 계좌 요약이 바뀔 때 차이만큼 고칩니다.
+ * 환율표가 바뀌면 모든 요약을 다시 계산합니다.
+ * 변경마다 올라가는 버전을 함께 관리해, 요약을 계산하지 않고도 조건부 GET(ETag)에 답할 수 있게 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountSummaryStore {
+
+    private final AccountRepository accountRepository;
+    private final AssetRepository assetRepository;
+    private final FxRateService fxRateService;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // 전체 계좌 ID (처음 전체 조회 전에는 비어 있음)
+    private final Set<Long> accountIds = new ConcurrentSkipListSet<>();
+    // 계좌별 마지막 무효화 시점. 그보다 먼저 읽기 시작한 계산 결과는 보관하지 않음
+    private final Map<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong ratesGeneration = new AtomicLong();
+    // 마지막 시세 반영 시점. 보관되지 않은 계좌는 보유 종목을 모르므로 그동안 읽던 결과도 보관하지 않음
+    private volatile long repricedAt;
+    // 서버가 다시 뜨면 버전이 0부터 시작하므로 이전 프로세스의 ETag와 겹치지 않게 구분
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile boolean accountsLoaded;
+    private volatile Instant ratesAsOf;
+    private volatile Totals portfolio = Totals.ZERO;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong recomputes = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record Entry(AccountSummary summary, Totals totals, Set<String> codes) {
+    }
+
+    private record Totals(BigDecimal purchase, BigDecimal current, BigDecimal dividend) {
+        static final Totals ZERO = new Totals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        static Totals of(AccountSummary summary) {
+            return new Totals(summary.totalPurchaseAmount(), summary.totalCurrentValue(),
+                    summary.totalExpectedDividend());
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(purchase.add(other.purchase), current.add(other.current),
+                    dividend.add(other.dividend));
+        }
+
+        Totals minus(Totals other) {
+            return new Totals(purchase.subtract(other.purchase), current.subtract(other.current),
+                    dividend.subtract(other.dividend));
+        }
+    }
+
+    /**
+     * 계좌 요약. 보관된 요약이 있으면 DB를 읽지 않습니다.
+     */
+    public AccountSummary get(Long accountId) {
+        FxRateService.Rates rates = currentRates();
+        Entry entry = entries.get(accountId);
+        if (entry != null) {
+            hits.incrementAndGet();
+            return entry.summary();
+        }
+        long startedAt = generation.get();
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+        List<Asset> assets = assetRepository.findByAccountId(accountId);
+        return store(account, assets, calculate(account, assets, rates), rates, startedAt);
+    }
+
+    /**
+     * 전체 계좌 요약 (계좌 ID 순). 요약이 없는 계좌만 fetch join 한 번으로 읽어 계산합니다.
+     */
+    public List<AccountSummary> getAll() {
+        FxRateService.Rates rates = currentRates();
+        long startedAt = generation.get();
+        Map<Long, AccountSummary> loaded = new HashMap<>();
+        if (!accountsLoaded) {
+            List<Account> accounts = accountRepository.findAllWithAssets();
+            List<AccountSummary> summaries = calculateAll(accounts, rates);
+            for (int i = 0; i < accounts.size(); i++) {
+                Account account = accounts.get(i);
+                loaded.put(account.getId(), store(account, account.getAssets(), summaries.get(i), rates, startedAt));
+            }
+            if (generation.get() == startedAt) {
+                accountIds.addAll(loaded.keySet());
+                accountsLoaded = true;
+            }
+            return accounts.stream().map(account -> loaded.get(account.getId())).toList();
+        }
+
+        List<Long> missing = accountIds.stream().filter(id -> !entries.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            hits.incrementAndGet();
+        } else {
+            load(missing, rates, startedAt, loaded);
+        }
+        List<AccountSummary> summaries = new ArrayList<>();
+        List<Long> evicted = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            Entry entry = entries.get(accountId);
+            AccountSummary summary = entry != null ? entry.summary() : loaded.get(accountId);
+            if (summary != null) {
+                summaries.add(summary);
+            } else {
+                evicted.add(accountId);
+            }
+        }
+        if (!evicted.isEmpty()) {
+            // 읽는 도중 무효화된 계좌는 한 번 더 읽어 계좌 ID 순서대로 다시 모음
+            load(evicted, rates, generation.get(), loaded);
+            summaries = accountIds.stream()
+                    .map(accountId -> Optional.ofNullable(loaded.get(accountId))
+                            .or(() -> Optional.ofNullable(entries.get(accountId)).map(Entry::summary)))
+                    .flatMap(Optional::stream)
+                    .toList();
+        }
+        return summaries;
+    }
+
+    private void load(List<Long> accountIdsToLoad, FxRateService.Rates rates, long startedAt,
+            Map<Long, AccountSummary> loaded) {
+        Set<Long> notFound = new HashSet<>(accountIdsToLoad);
+        List<Account> accounts = accountRepository.findAllWithAssetsByIdIn(accountIdsToLoad);
+        List<AccountSummary> summaries = calculateAll(accounts, rates);
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            loaded.put(account.getId(), store(account, account.getAssets(), summaries.get(i), rates, startedAt));
+            notFound.remove(account.getId());
+        }
+        // 그 사이 삭제된 계좌는 목록에서 뺌
+        accountIds.removeAll(notFound);
+    }
+
+    /**
+     * 전체 계좌 합계. 모든 계좌 요약이 보관돼 있으면 합계만 바로 돌려줍니다.
+     */
+    public Map<String, Object> getPortfolio() {
+        List<AccountSummary> summaries = getAll();
+        Totals totals;
+        synchronized (this) {
+            totals = entries.size() == summaries.size() ? portfolio : null;
+        }
+        if (totals == null) {
+            // 계산 도중 다른 변경이 끼어들어 일부 요약을 보관하지 못했으면 이번 결과로 합계를 직접 구함
+            totals = summaries.stream().map(Totals::of).reduce(Totals.ZERO, Totals::plus);
+        }
+        BigDecimal profitLoss = totals.current().subtract(totals.purchase());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("accounts", summaries.size());
+        result.put("totalPurchaseAmount", totals.purchase());
+        result.put("totalCurrentValue", totals.current());
+        result.put("totalProfitLoss", profitLoss);
+        result.put("totalReturnRate", returnRate(profitLoss, totals.purchase()));
+        result.put("totalExpectedDividend", totals.dividend());
+        result.put("fxRatesAsOf", ratesAsOf);
+        result.put("unconvertedCurrencies", summaries.stream()
+                .flatMap(summary -> summary.unconvertedCurrencies().stream())
+                .collect(Collectors.toCollection(TreeSet::new)));
+        return result;
+    }
+
+    /**
+     * 전체 계좌/자산/시세 데이터 버전. 어떤 계좌든 바뀌면 달라집니다.
+     */
+    public String version() {
+        currentRates();
+        return epoch + "-" + generation.get();
+    }
+
+    /**
+     * 계좌 요약 버전. 이 계좌가 무효화되거나 환율표가 바뀌면 달라집니다.
+     * 보관된 요약은 무효화될 때만 버려지므로, 버전이 같으면 요약 내용도 같습니다.
+     */
+    public String version(Long accountId) {
+        currentRates();
+        return epoch + "-" + accountId + "-" + invalidatedAt.getOrDefault(accountId, 0L) + "-"
+                + ratesGeneration.get();
+    }
+
+    /**
+     * 계좌의 자산/메타데이터가 바뀌었을 때 호출합니다. 트랜잭션 안이면 커밋된 뒤에 요약을 버립니다.
+     */
+    public void invalidate(Long accountId) {
+        if (accountId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            accountIds.add(accountId);
+            evict(accountId);
+        });
+    }
+
+    public void remove(Long accountId) {
+        if (accountId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            accountIds.remove(accountId);
+            evict(accountId);
+        });
+    }
+
+    /**
+     * 시세가 반영된 종목을 보유한 계좌의 요약을 버립니다.
+     */
+    public void invalidateHolders(Collection<String> codes) {
+        if (codes.isEmpty()) {
+            return;
+        }
+        Set<String> changed = new HashSet<>(codes);
+        afterCommit(() -> {
+            // 요약이 보관되지 않은 계좌의 시세도 바뀌었으므로 전체 버전은 항상 올림
+            repricedAt = generation.incrementAndGet();
+            entries.forEach((accountId, entry) -> {
+                if (!Collections.disjoint(entry.codes(), changed)) {
+                    evict(accountId);
+                }
+            });
+        });
+    }
+
+    private void evict(Long accountId) {
+        invalidatedAt.put(accountId, generation.incrementAndGet());
+        invalidations.incrementAndGet();
+        synchronized (this) {
+            Entry removed = entries.remove(accountId);
+            if (removed != null) {
+                portfolio = portfolio.minus(removed.totals());
+            }
+        }
+    }
+
+    // 환율표가 바뀌었으면 보관된 요약을 모두 버림
+    private FxRateService.Rates currentRates() {
+        FxRateService.Rates rates = fxRateService.currentRates();
+        if (!Objects.equals(rates.asOf(), ratesAsOf)) {
+            synchronized (this) {
+                if (!Objects.equals(rates.asOf(), ratesAsOf)) {
+                    generation.incrementAndGet();
+                    ratesGeneration.incrementAndGet();
+                    entries.clear();
+                    portfolio = Totals.ZERO;
+                    ratesAsOf = rates.asOf();
+                }
+            }
+        }
+        return rates;
+    }
+
+    // 계산을 시작한 뒤 이 계좌가 무효화됐거나 시세/환율표가 바뀌었으면 결과를 보관하지 않고 돌려주기만 함.
+    // 시세 때문에 버릴 때는 계좌 버전도 올려, 읽기 전에 만든 ETag로 이 결과가 계속 재사용되지 않게 함
+    private AccountSummary store(Account account, List<Asset> assets, AccountSummary summary,
+            FxRateService.Rates rates, long startedAt) {
+        recomputes.incrementAndGet();
+        Set<String> codes = new HashSet<>();
+        for (Asset asset : assets) {
+            if (asset.getCode() != null) {
+                codes.add(asset.getCode());
+            }
+        }
+        Entry entry = new Entry(summary, Totals.of(summary), Set.copyOf(codes));
+        synchronized (this) {
+            if (invalidatedAt.getOrDefault(account.getId(), 0L) <= startedAt
+                    && Objects.equals(rates.asOf(), ratesAsOf)) {
+                if (repricedAt > startedAt) {
+                    evict(account.getId());
+                } else {
+                    Entry previous = entries.put(account.getId(), entry);
+                    portfolio = portfolio.plus(entry.totals())
+                            .minus(previous != null ? previous.totals() : Totals.ZERO);
+                }
+            }
+        }
+        return entry.summary();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static BigDecimal returnRate(BigDecimal profitLoss, BigDecimal purchaseAmount) {
+        return purchaseAmount.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO
+                : profitLoss.divide(purchaseAmount, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+    }
+
+    /**
+     * 외화 자산은 요청 시점에 한 번 읽은 환율표(rates)로 원화 환산합니다. 평가금액/손익/배당은 원화, 단가는 자산 통화 기준입니다.
+     * 금액은 자산별로 원 단위까지 정확히 계산합니다 ({@link AssetValuation}).
+     * 환율이 아직 없는 통화의 자산은 0원으로 평가해 합계에서 빼고, 그 통화를 unconvertedCurrencies로 알립니다.
+     */
+    static AccountSummary calculate(Account account, List<Asset> assets, FxRateService.Rates rates) {
+        return summarize(List.of(account), List.of(assets), rates).get(0);
+    }
+
+    /**
+     * 여러 계좌를 한 번에 계산합니다. 계좌의 자산은 {@link Account#getAssets()}에서 읽습니다.
+     */
+    static List<AccountSummary> calculateAll(List<Account> accounts, FxRateService.Rates rates) {
+        return summarize(accounts, accounts.stream().map(Account::getAssets).toList(), rates);
+    }
+
+    private static List<AccountSummary> summarize(List<Account> accounts, List<? extends List<Asset>> holdings,
+            FxRateService.Rates rates) {
+        try {
+            int rows = holdings.stream().mapToInt(List::size).sum();
+            AssetValuation valuation = new AssetValuation(rows);
+            String[] currencies = new String[rows];
+            BigDecimal[] fxRates = new BigDecimal[rows];
+            BigDecimal[] prices = new BigDecimal[rows];
+            // 계좌별로 환율이 없어 합계에서 뺀 통화
+            List<Set<String>> unconverted = new ArrayList<>(holdings.size());
+            int row = 0;
+            for (List<Asset> assets : holdings) {
+                Set<String> missingRates = new TreeSet<>();
+                unconverted.add(missingRates);
+                // 같은 코드의 자산이 여럿이면 마지막 자산의 현재가를 모두에 씀
+                Map<String, BigDecimal> allPrices = new HashMap<>();
+                for (Asset asset : assets) {
+                    allPrices.put(asset.getCode() != null ? asset.getCode() : "", effectivePrice(asset));
+                }
+                for (Asset asset : assets) {
+                    String currency = FxRateService.currencyOf(asset);
+                    Optional<BigDecimal> fxRate = rates.rate(currency);
+                    BigDecimal currentPrice = allPrices.get(asset.getCode() != null ? asset.getCode() : "");
+                    currencies[row] = currency;
+                    fxRates[row] = fxRate.orElse(null);
+                    prices[row] = currentPrice;
+                    // 아직 환율이 없는 통화는 외화 금액이 원화 합계에 섞이지 않도록 0원으로 평가 (fxRate null로 표시)
+                    if (fxRate.isEmpty()) {
+                        missingRates.add(currency);
+                    }
+                    valuation.add(orZero(asset.getQuantity()), orZero(asset.getAveragePurchasePrice()), currentPrice,
+                            fxRate.orElse(BigDecimal.ZERO), orZero(asset.getDividendPerShare()),
+                            asset.getDividendCycle());
+                    row++;
+                }
+                valuation.endGroup();
+            }
+            valuation.value();
+
+            List<AccountSummary> summaries = new ArrayList<>(accounts.size());
+            row = 0;
+            for (int group = 0; group < accounts.size(); group++) {
+                Account account = accounts.get(group);
+                List<Asset> assets = holdings.get(group);
+                List<AssetSummary> assetDetails = new ArrayList<>(assets.size());
+                for (Asset asset : assets) {
+                    long profitLoss = valuation.profitLoss(row);
+                    assetDetails.add(new AssetSummary(asset.getId(),
+                            asset.getType() != null ? asset.getType() : AssetType.STOCK,
+                            asset.getCode() != null ? asset.getCode() : "",
+                            asset.getName() != null ? asset.getName() : "Unknown Asset", currencies[row],
+                            fxRates[row], orZero(asset.getQuantity()), orZero(asset.getAveragePurchasePrice()),
+                            prices[row], asset.getLastPriceUpdate(), BigDecimal.valueOf(valuation.currentValue(row)),
+                            BigDecimal.valueOf(profitLoss),
+                            AssetValuation.returnRate(profitLoss, valuation.purchaseAmount(row))));
+                    row++;
+                }
+                long totalPurchase = valuation.groupPurchaseAmount(group);
+                long totalProfitLoss = valuation.groupProfitLoss(group);
+                summaries.add(new AccountSummary(account.getId(), account.getName(), account.getOwner(),
+                        account.getAccountType() != null ? account.getAccountType().name() : "SPECIAL",
+                        account.getFinancialInstitution(), account.getAccountNumber(), BigDecimal.valueOf(totalPurchase),
+                        BigDecimal.valueOf(valuation.groupCurrentValue(group)), BigDecimal.valueOf(totalProfitLoss),
+                        AssetValuation.returnRate(totalProfitLoss, totalPurchase),
+                        BigDecimal.valueOf(valuation.groupAnnualDividend(group)), assetDetails, rates.asOf(),
+                        List.copyOf(unconverted.get(group))));
+            }
+            return summaries;
+        } catch (Exception e) {
+            List<Long> accountIds = accounts.stream().map(Account::getId).toList();
+            log.error("Error calculating account summary for {}: {}", accountIds, e.getMessage(), e);
+            throw new RuntimeException("Summary calculation failed", e);
+        }
+    }
+
+    // 현재가가 없으면 현금과 KRX 외 자산(시세 조회 불가)은 평균 매입가로 평가
+    private static BigDecimal effectivePrice(Asset asset) {
+        BigDecimal currentPrice = asset.getCurrentPrice();
+        if (currentPrice != null && currentPrice.compareTo(BigDecimal.ZERO) != 0) {
+            return currentPrice;
+        }
+        if (asset.getType() == AssetType.CASH
+                || (asset.getCode() != null && !InstrumentCodes.isKrxListed(asset.getType(), asset.getCode()))) {
+            return orZero(asset.getAveragePurchasePrice());
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("accounts", accountIds.size());
+        stats.put("materialized", entries.size());
+        stats.put("hits", hits.get());
+        stats.put("recomputes", recomputes.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("fxRatesAsOf", ratesAsOf != null ? ratesAsOf.toString() : null);
+        return stats;
+    }
+}
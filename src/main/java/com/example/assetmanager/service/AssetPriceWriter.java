@@ -0,0 +1,45 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.dto.HeldInstrument;
+import com.example.assetmanager.repository.AssetRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종목(유형 + 코드)별 시세를 그 종목을 보유한 모든 자산 행에 반영합니다.
+ * 자산 엔티티를 읽어 하나씩 저장하지 않고 종목마다 UPDATE 한 번을 하나의 트랜잭션에서 실행하므로,
+ * 쿼리 수는 보유 건수가 아니라 종목 수에 비례합니다. 커밋되면 해당 종목을 보유한 계좌의 요약만 다시 계산되게 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AssetPriceWriter {
+
+    private final AssetRepository assetRepository;
+    private final AccountSummaryStore accountSummaries;
+
+    /**
+     * 시세를 반영하고 갱신된 자산 행 수를 반환합니다. 0 이하의 시세는 건너뜁니다.
+     */
+    @Transactional
+    public int writePrices(Map<HeldInstrument, BigDecimal> pricesByInstrument, LocalDateTime updatedAt) {
+        int updated = 0;
+        List<String> written = new ArrayList<>();
+        for (Map.Entry<HeldInstrument, BigDecimal> entry : pricesByInstrument.entrySet()) {
+            BigDecimal price = entry.getValue();
+            if (price != null && price.compareTo(BigDecimal.ZERO) > 0) {
+                HeldInstrument instrument = entry.getKey();
+                updated += assetRepository.updatePriceByTypeAndCode(instrument.type(), instrument.code(), price,
+                        updatedAt);
+                written.add(instrument.code());
+            }
+        }
+        accountSummaries.invalidateHolders(written);
+        return updated;
+    }
+}
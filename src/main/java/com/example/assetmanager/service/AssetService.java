@@ -4,16 +4,28 @@ import com.example.assetmanager.domain.Asset;
 import com.example.assetmanager.domain.AssetType;
 import com.example.assetmanager.domain.Account;
 import com.example.assetmanager.domain.AccountType;
+import com.example.assetmanager.dto.AccountSummary;
+import com.example.assetmanager.dto.HeldInstrument;
 import com.example.assetmanager.repository.AssetRepository;
 import com.example.assetmanager.repository.AccountRepository;
+import com.example.assetmanager.support.RequestDeadline;
+import com.example.assetmanager.support.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -25,8 +37,15 @@ public class AssetService {
 
     private final AccountRepository accountRepository;
     private final AssetRepository assetRepository;
-    private final List<PriceProvider> priceProviders;
+    private final PriceProviderRegistry priceProviderRegistry;
     private final GoogleSheetsService googleSheetsService;
+    private final AssetPriceWriter assetPriceWriter;
+    private final PriceRefreshQueue priceRefreshQueue;
+    private final AccountSummaryStore accountSummaries;
+    // 같은 계좌에 대한 겹치는 전체 갱신 요청을 하나로 합침
+    private final SingleFlight<Long, Boolean> accountRefreshes = new SingleFlight<>();
+    // 겹치는 전체 계좌(포트폴리오) 갱신 요청을 하나로 합침 (키: force 여부)
+    private final SingleFlight<Boolean, Map<String, Object>> portfolioRefreshes = new SingleFlight<>();
     private boolean isInitialSyncing = false;
 
     public boolean isInitialSyncing() {
@@ -75,6 +94,7 @@ public class AssetService {
             account.getAssets().add(asset);
         }
         accountRepository.save(account);
+        accountSummaries.invalidate(accountId);
     }
 
     @Transactional
@@ -83,8 +103,10 @@ public class AssetService {
         if (sheetName != null && !sheetName.isBlank() && accountRepository.existsBySheetName(sheetName)) {
             throw new IllegalArgumentException("이미 등록된 시트 탭입니다: " + sheetName);
         }
-        return accountRepository.save(
+        Account account = accountRepository.save(
                 new Account(name, description, sheetName, owner, accountType, financialInstitution, accountNumber));
+        accountSummaries.invalidate(account.getId());
+        return account;
     }
 
     @Transactional
@@ -106,7 +128,9 @@ public class AssetService {
         account.setFinancialInstitution(financialInstitution);
         account.setAccountNumber(accountNumber);
 
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        accountSummaries.invalidate(id);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -117,11 +141,15 @@ public class AssetService {
     @Transactional
     public void deleteAccount(Long accountId) {
         accountRepository.deleteById(accountId);
+        accountSummaries.remove(accountId);
     }
 
     @Transactional
     public void deleteAsset(Long assetId) {
-        assetRepository.deleteById(assetId);
+        assetRepository.findById(assetId).ifPresent(asset -> {
+            assetRepository.delete(asset);
+            accountSummaries.invalidate(asset.getAccount().getId());
+        });
     }
 
     @Transactional
@@ -129,7 +157,9 @@ public class AssetService {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found"));
         asset.setAccount(account);
-        return assetRepository.save(asset);
+        Asset saved = assetRepository.save(asset);
+        accountSummaries.invalidate(accountId);
+        return saved;
     }
 
     @Transactional
@@ -143,6 +173,8 @@ public class AssetService {
             asset.setCode(updatedAsset.getCode());
         if (updatedAsset.getName() != null)
             asset.setName(updatedAsset.getName());
+        if (updatedAsset.getCurrency() != null)
+            asset.setCurrency(updatedAsset.getCurrency());
         if (updatedAsset.getQuantity() != null)
             asset.setQuantity(updatedAsset.getQuantity());
         if (updatedAsset.getAveragePurchasePrice() != null)
@@ -152,172 +184,151 @@ public class AssetService {
         if (updatedAsset.getDividendPerShare() != null)
             asset.setDividendPerShare(updatedAsset.getDividendPerShare());
 
-        return assetRepository.save(asset);
+        Asset saved = assetRepository.save(asset);
+        accountSummaries.invalidate(asset.getAccount().getId());
+        return saved;
     }
 
-    public Map<String, Object> getAccountSummary(Long accountId) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
-        return calculateAccountSummary(account);
+    public AccountSummary getAccountSummary(Long accountId) {
+        return accountSummaries.get(accountId);
     }
 
-    private Map<String, Object> calculateAccountSummary(Account account) {
-        try {
-            List<Asset> assets = assetRepository.findByAccountId(account.getId());
-
-            BigDecimal totalPurchaseAmount = BigDecimal.ZERO;
-            BigDecimal totalCurrentValue = BigDecimal.ZERO;
-            BigDecimal totalExpectedDividend = BigDecimal.ZERO;
-
-            List<Map<String, Object>> assetDetails = new java.util.ArrayList<>();
-
-            Map<String, BigDecimal> allPrices = new HashMap<>();
-            for (Asset asset : assets) {
-                BigDecimal currentPrice = asset.getCurrentPrice();
-                if (currentPrice == null || currentPrice.compareTo(BigDecimal.ZERO) == 0) {
-                    if (asset.getType() == AssetType.CASH
-                            || (asset.getCode() != null && !asset.getCode().startsWith("KRX:"))) {
-                        currentPrice = asset.getAveragePurchasePrice() != null ? asset.getAveragePurchasePrice()
-                                : BigDecimal.ZERO;
-                    } else {
-                        currentPrice = BigDecimal.ZERO;
-                    }
-                }
-                allPrices.put(asset.getCode() != null ? asset.getCode() : "", currentPrice);
-            }
+    /**
+     * 계좌 요약 버전 (ETag용). 요약을 계산하지 않습니다.
+     */
+    public String getAccountSummaryVersion(Long accountId) {
+        return accountSummaries.version(accountId);
+    }
 
-            for (Asset asset : assets) {
-                Map<String, Object> detail = new HashMap<>();
-                detail.put("id", asset.getId());
-                AssetType type = asset.getType() != null ? asset.getType() : AssetType.STOCK;
-                detail.put("type", type);
-                detail.put("code", asset.getCode() != null ? asset.getCode() : "");
-                detail.put("name", asset.getName() != null ? asset.getName() : "Unknown Asset");
-
-                BigDecimal quantity = asset.getQuantity() != null ? asset.getQuantity() : BigDecimal.ZERO;
-                BigDecimal averagePrice = asset.getAveragePurchasePrice() != null ? asset.getAveragePurchasePrice()
-                        : BigDecimal.ZERO;
-
-                detail.put("quantity", quantity);
-                detail.put("averagePurchasePrice", averagePrice);
-
-                BigDecimal purchaseAmount = averagePrice.multiply(quantity);
-                totalPurchaseAmount = totalPurchaseAmount.add(purchaseAmount);
-
-                BigDecimal currentPrice = allPrices.getOrDefault(asset.getCode() != null ? asset.getCode() : "",
-                        BigDecimal.ZERO);
-
-                BigDecimal currentValue = currentPrice.multiply(quantity);
-                BigDecimal profitLoss = currentValue.subtract(purchaseAmount);
-                BigDecimal returnRate = (purchaseAmount.compareTo(BigDecimal.ZERO) == 0) ? BigDecimal.ZERO
-                        : profitLoss.divide(purchaseAmount, 4, RoundingMode.HALF_UP)
-                                .multiply(BigDecimal.valueOf(100));
-
-                detail.put("currentPrice", currentPrice);
-                detail.put("lastPriceUpdate", asset.getLastPriceUpdate());
-                detail.put("currentValue", currentValue);
-                detail.put("profitLoss", profitLoss);
-                detail.put("returnRate", returnRate);
-
-                totalCurrentValue = totalCurrentValue.add(currentValue);
-
-                BigDecimal dividendPerShare = asset.getDividendPerShare() != null ? asset.getDividendPerShare()
-                        : BigDecimal.ZERO;
-                String cycle = asset.getDividendCycle();
-                BigDecimal annualMultiplier = BigDecimal.ZERO;
-
-                if ("1개월".equals(cycle)) {
-                    annualMultiplier = new BigDecimal("12");
-                } else if ("3개월".equals(cycle)) {
-                    annualMultiplier = new BigDecimal("4");
-                } else if ("6개월".equals(cycle)) {
-                    annualMultiplier = new BigDecimal("2");
-                } else if ("12개월".equals(cycle)) {
-                    annualMultiplier = new BigDecimal("1");
-                }
+    /**
+     * 전체 계좌/자산/시세 버전 (ETag용). 계좌 목록과 전체 요약에 씁니다.
+     */
+    public String getAccountsVersion() {
+        return accountSummaries.version();
+    }
 
-                BigDecimal annualExpectedDividend = dividendPerShare.multiply(annualMultiplier).multiply(quantity);
-                totalExpectedDividend = totalExpectedDividend.add(annualExpectedDividend);
+    public List<AccountSummary> getAllAccountSummaries() {
+        return accountSummaries.getAll();
+    }
 
-                assetDetails.add(detail);
-            }
+    public Map<String, Object> getPortfolioSummary() {
+        return accountSummaries.getPortfolio();
+    }
 
-            BigDecimal totalProfitLoss = totalCurrentValue.subtract(totalPurchaseAmount);
-            BigDecimal totalReturnRate = (totalPurchaseAmount.compareTo(BigDecimal.ZERO) == 0) ? BigDecimal.ZERO
-                    : totalProfitLoss.divide(totalPurchaseAmount, 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100));
-
-            Map<String, Object> summary = new HashMap<>();
-            summary.put("accountId", account.getId());
-            summary.put("accountName", account.getName());
-            summary.put("owner", account.getOwner());
-            summary.put("accountType", account.getAccountType() != null ? account.getAccountType().name() : "SPECIAL");
-            summary.put("financialInstitution", account.getFinancialInstitution());
-            summary.put("accountNumber", account.getAccountNumber());
-            summary.put("totalPurchaseAmount", totalPurchaseAmount);
-            summary.put("totalCurrentValue", totalCurrentValue);
-            summary.put("totalProfitLoss", totalProfitLoss);
-            summary.put("totalReturnRate", totalReturnRate);
-            summary.put("totalExpectedDividend", totalExpectedDividend);
-            summary.put("assets", assetDetails);
-
-            return summary;
-        } catch (Exception e) {
-            log.error("Error calculating account summary for {}: {}", account.getId(), e.getMessage(), e);
-            throw new RuntimeException("Summary calculation failed", e);
-        }
+    /**
+     * 계좌의 전체 자산 시세를 갱신합니다 (블로킹 어댑터). 기존 호출자를 위해 refreshAllPricesAsync 완료까지 기다립니다.
+     */
+    public void refreshAllPrices(Long accountId, boolean force) {
+        refreshAllPricesAsync(accountId, force).contextWrite(RequestDeadline.propagate()).block();
     }
 
-    public List<Map<String, Object>> getAllAccountSummaries() {
-        List<Account> accounts = accountRepository.findAll();
-        return accounts.stream()
-                .map(this::calculateAccountSummary)
-                .toList();
+    /**
+     * 계좌의 전체 자산 시세를 갱신합니다. 같은 계좌에 대한 갱신이 이미 진행 중이면 새로 조회하지 않고
+     * 그 결과(저장 완료 시점)까지 기다립니다. 외부 API 조회는 요청 스레드를 점유하지 않고 유형별 일괄 조회를
+     * 동시에 진행하며, 블로킹인 DB 조회/저장만 boundedElastic에서 수행합니다.
+     */
+    public Mono<Void> refreshAllPricesAsync(Long accountId, boolean force) {
+        return accountRefreshes.executeAsync(accountId,
+                () -> doRefreshAllPrices(accountId, force).thenReturn(Boolean.TRUE))
+                .then();
     }
 
-    @Transactional
-    public void refreshAllPrices(Long accountId, boolean force) {
-        List<Asset> assets = assetRepository.findByAccountId(accountId);
-
-        // PublicDataPriceProvider 식별
-        PriceProvider publicDataProvider = priceProviders.stream()
-                .filter(p -> p instanceof PublicDataPriceProvider)
-                .findFirst()
-                .orElse(null);
-
-        // KRX: 접두사가 있는 자산들 필터링
-        java.time.LocalDateTime threeHoursAgo = java.time.LocalDateTime.now().minusHours(3);
-        List<Asset> krxAssetsToRefresh = assets.stream()
-                .filter(a -> a.getCode() != null && a.getCode().startsWith("KRX:"))
-                .filter(a -> force || a.getLastPriceUpdate() == null || a.getLastPriceUpdate().isBefore(threeHoursAgo))
-                .collect(Collectors.toList());
-
-        // KRX 자산들은 일괄 조회 (효율성 위해 getMultiplePrices 사용)
-        if (publicDataProvider != null && !krxAssetsToRefresh.isEmpty()) {
-            List<String> codes = krxAssetsToRefresh.stream()
-                    .map(Asset::getCode)
-                    .collect(Collectors.toList());
-
-            Map<String, BigDecimal> prices = publicDataProvider.getMultiplePrices(codes);
-
-            for (Asset asset : krxAssetsToRefresh) {
+    public Map<String, Object> getRefreshStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(accountRefreshes.stats());
+        stats.put("portfolio", portfolioRefreshes.stats());
+        return stats;
+    }
+
+    /**
+     * 모든 계좌의 시세를 한 번에 갱신합니다. 계좌와 무관하게 보유 종목을 중복 없이(표기가 달라도 같은 종목은 하나로) 모아
+     * 조회 경로별로 한 번씩 일괄 조회하고, 조회된 시세를 그 종목을 보유한 모든 자산에 (유형, 코드)별 UPDATE로 반영합니다.
+     * 외부 호출 수는 보유 건수가 아니라 종목 수에 비례합니다.
+     * force=true면 캐시를 무시하는 대신 평가금액 × 경과 시간이 큰 종목부터 Provider별 호출 한도 안에서만 조회합니다.
+     */
+    public Mono<Map<String, Object>> refreshPortfolioPricesAsync(boolean force) {
+        return portfolioRefreshes.executeAsync(force, () -> force
+                ? priceRefreshQueue.refreshAsync(EnumSet.allOf(AssetType.class), LocalDateTime.now(), true)
+                : doRefreshPortfolioPrices());
+    }
+
+    private Mono<Map<String, Object>> doRefreshPortfolioPrices() {
+        return Mono.fromCallable(assetRepository::findDistinctInstruments)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(instruments -> {
+                    RoutedInstruments routed = new RoutedInstruments();
+                    for (HeldInstrument instrument : instruments) {
+                        priceProviderRegistry.route(instrument.type(), instrument.code())
+                                .ifPresent(provider -> routed.add(provider, instrument));
+                    }
+                    return routed.fetch(CachingPriceProvider::fetchPrices)
+                            .flatMap(prices -> Mono.fromCallable(
+                                    () -> assetPriceWriter.writePrices(prices, LocalDateTime.now()))
+                                    .subscribeOn(Schedulers.boundedElastic())
+                                    .map(updatedAssets -> {
+                                        Map<String, Object> result = new LinkedHashMap<>();
+                                        result.put("instruments", instruments.size());
+                                        result.put("priced", prices.size());
+                                        result.put("updatedAssets", updatedAssets);
+                                        return result;
+                                    }));
+                });
+    }
+
+    private Mono<Void> doRefreshAllPrices(Long accountId, boolean force) {
+        return Mono.fromCallable(() -> assetRepository.findByAccountId(accountId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(assets -> fetchPrices(assets, force)
+                        .flatMap(prices -> Mono.<Void>fromRunnable(() -> {
+                            applyPrices(assets, prices);
+                            accountSummaries.invalidate(accountId);
+                        })
+                                .subscribeOn(Schedulers.boundedElastic())));
+    }
+
+    // 자산 유형별 조회 경로마다 일괄 조회를 동시에 진행하고, 모든 결과를 하나의 맵으로 모음 (공유 캐시에 있는 종목은 외부 호출 없음)
+    private Mono<Map<String, BigDecimal>> fetchPrices(List<Asset> assets, boolean force) {
+        return fetchByRoute(codesByRoute(assets), force);
+    }
+
+    private Mono<Map<String, BigDecimal>> fetchByRoute(Map<CachingPriceProvider, Set<String>> codesByRoute,
+            boolean force) {
+        return Flux.fromIterable(codesByRoute.entrySet())
+                .flatMap(entry -> {
+                    CachingPriceProvider provider = entry.getKey();
+                    if (force) {
+                        provider.invalidate(entry.getValue());
+                    }
+                    return provider.fetchPrices(entry.getValue());
+                })
+                .collectMap(Quote::code, Quote::price, HashMap::new);
+    }
+
+    private Map<CachingPriceProvider, Set<String>> codesByRoute(List<Asset> assets) {
+        Map<CachingPriceProvider, Set<String>> codesByRoute = new LinkedHashMap<>();
+        for (Asset asset : assets) {
+            priceProviderRegistry.route(asset.getType(), asset.getCode())
+                    .ifPresent(provider -> codesByRoute.computeIfAbsent(provider, p -> new LinkedHashSet<>())
+                            .add(asset.getCode()));
+        }
+        return codesByRoute;
+    }
+
+    private void applyPrices(List<Asset> assets, Map<String, BigDecimal> prices) {
+        for (Asset asset : assets) {
+            if (priceProviderRegistry.route(asset.getType(), asset.getCode()).isPresent()) {
                 BigDecimal newPrice = prices.get(asset.getCode());
                 if (newPrice != null && newPrice.compareTo(BigDecimal.ZERO) > 0) {
                     asset.setCurrentPrice(newPrice);
                     asset.setLastPriceUpdate(java.time.LocalDateTime.now());
                 }
+            } else {
+                // 시세 조회 경로가 없는 자산(현금, 코드 없는 자산 등)은 평균단가를 현재가로 설정 (Profit/Loss 0 처리)
+                asset.setCurrentPrice(
+                        asset.getAveragePurchasePrice() != null ? asset.getAveragePurchasePrice() : BigDecimal.ZERO);
+                asset.setLastPriceUpdate(java.time.LocalDateTime.now());
             }
         }
 
-        // KRX: 접두사가 없거나 코드가 없는 자산들은 평균단가를 현재가로 설정 (Profit/Loss 0 처리)
-        assets.stream()
-                .filter(a -> a.getCode() == null || !a.getCode().startsWith("KRX:"))
-                .forEach(a -> {
-                    a.setCurrentPrice(
-                            a.getAveragePurchasePrice() != null ? a.getAveragePurchasePrice() : BigDecimal.ZERO);
-                    a.setLastPriceUpdate(java.time.LocalDateTime.now());
-                });
-
         assetRepository.saveAll(assets);
     }
 
@@ -330,30 +341,21 @@ public class AssetService {
             throw new IllegalArgumentException("Asset does not belong to this account");
         }
 
-        // 3시간 이내에 업데이트된 가격이 있다면 재사용 (force=true인 경우 무시)
-        java.time.LocalDateTime threeHoursAgo = java.time.LocalDateTime.now().minusHours(3);
-        if (!force && asset.getLastPriceUpdate() != null && asset.getLastPriceUpdate().isAfter(threeHoursAgo)
-                && asset.getCurrentPrice() != null && asset.getCurrentPrice().compareTo(BigDecimal.ZERO) > 0) {
-            log.info("Reusing recent price for asset: {} (updated at {})", asset.getCode(), asset.getLastPriceUpdate());
-            return asset.getCurrentPrice();
-        }
-
         String code = asset.getCode();
-        // KRX: 접두사가 있는 경우에만 외부 API 조회 (유형 무관)
-        if (code != null && code.startsWith("KRX:")) {
-            PriceProvider provider = priceProviders.stream()
-                    .filter(p -> p instanceof PublicDataPriceProvider)
-                    .findFirst()
-                    .orElse(null);
-
-            if (provider != null) {
-                BigDecimal newPrice = provider.getCurrentPrice(code);
-                if (newPrice != null && newPrice.compareTo(BigDecimal.ZERO) > 0) {
-                    asset.setCurrentPrice(newPrice);
-                    asset.setLastPriceUpdate(java.time.LocalDateTime.now());
-                    assetRepository.save(asset);
-                    return newPrice;
-                }
+        Optional<CachingPriceProvider> route = priceProviderRegistry.route(asset.getType(), code);
+        if (route.isPresent()) {
+            // 공유 캐시의 만료 시간 안에 있는 시세는 재사용 (force=true인 경우 무시)
+            CachingPriceProvider provider = route.get();
+            if (force) {
+                provider.invalidate(List.of(code));
+            }
+            BigDecimal newPrice = provider.getCurrentPrice(code);
+            if (newPrice != null && newPrice.compareTo(BigDecimal.ZERO) > 0) {
+                asset.setCurrentPrice(newPrice);
+                asset.setLastPriceUpdate(java.time.LocalDateTime.now());
+                assetRepository.save(asset);
+                accountSummaries.invalidate(accountId);
+                return newPrice;
             }
         } else {
             // 그 외의 경우 (현금, 기타 자산 등) 평균단가를 현재가로 고정
@@ -362,6 +364,7 @@ public class AssetService {
             asset.setCurrentPrice(averagePrice);
             asset.setLastPriceUpdate(java.time.LocalDateTime.now());
             assetRepository.save(asset);
+            accountSummaries.invalidate(accountId);
             return averagePrice;
         }
         return asset.getCurrentPrice() != null ? asset.getCurrentPrice() : BigDecimal.ZERO;
@@ -0,0 +1,293 @@
+package com.example.assetmanager.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * 자산 평가 엔진. 수량, 단가, 환율, 주당 배당을 (스케일 없는 long, 소수 자릿수 byte) 열 배열로,
+ * 배당 주기는 연간 지급 횟수 byte로 담아 원 단위 long으로 평가합니다.
+ * 곱은 모두 정확히 계산한 뒤 원 단위에서 한 번만 반올림(HALF_UP)하므로 BigDecimal 계산과 결과가 같고,
+ * long에 담을 수 없는 행만 BigDecimal로 평가합니다. BigDecimal로는 API 응답을 만들 때만 바꿉니다.
+ * 여러 계좌의 자산을 그룹으로 나눠 한 번에 담으면 계좌 수와 관계없이 루프 하나로 평가합니다.
+ */
+final class AssetValuation {
+
+    private static final int MAX_SCALE = 18;
+    private static final long[] POW10 = new long[MAX_SCALE + 1];
+    // 수익률은 소수 넷째 자리까지 (0.0714 → 7.1400%)
+    private static final long RATE_UNIT = 10_000;
+    private static final BigDecimal RATE_PERCENT = BigDecimal.valueOf(100);
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final long[] quantity;
+    private final byte[] quantityScale;
+    private final long[] averagePrice;
+    private final byte[] averagePriceScale;
+    private final long[] price;
+    private final byte[] priceScale;
+    private final long[] fxRate;
+    private final byte[] fxRateScale;
+    private final long[] dividend;
+    private final byte[] dividendScale;
+    private final byte[] paymentsPerYear;
+    // false면 long으로 담지 못한 행. 원래 값으로 평가 (그런 행이 있을 때만 만듦)
+    private final boolean[] encoded;
+    private BigDecimal[][] exact;
+
+    private final long[] purchase;
+    private final long[] current;
+    private final long[] annualDividend;
+
+    private int[] groupEnds = new int[4];
+    private long[] groupPurchase;
+    private long[] groupCurrent;
+    private long[] groupDividend;
+    private int size;
+    private int groups;
+
+    AssetValuation(int capacity) {
+        quantity = new long[capacity];
+        quantityScale = new byte[capacity];
+        averagePrice = new long[capacity];
+        averagePriceScale = new byte[capacity];
+        price = new long[capacity];
+        priceScale = new byte[capacity];
+        fxRate = new long[capacity];
+        fxRateScale = new byte[capacity];
+        dividend = new long[capacity];
+        dividendScale = new byte[capacity];
+        paymentsPerYear = new byte[capacity];
+        encoded = new boolean[capacity];
+        purchase = new long[capacity];
+        current = new long[capacity];
+        annualDividend = new long[capacity];
+    }
+
+    /**
+     * 자산 한 행을 추가합니다. 단가와 주당 배당은 자산 통화, fxRate는 그 통화의 원화 환율(원화는 1)입니다.
+     */
+    AssetValuation add(BigDecimal quantityValue, BigDecimal averagePriceValue, BigDecimal priceValue,
+            BigDecimal fxRateValue, BigDecimal dividendValue, String dividendCycle) {
+        if (size == quantity.length) {
+            throw new IllegalStateException("Valuation capacity exceeded: " + size);
+        }
+        int i = size++;
+        paymentsPerYear[i] = paymentsPerYear(dividendCycle);
+        encoded[i] = encode(quantityValue, quantity, quantityScale, i)
+                && encode(averagePriceValue, averagePrice, averagePriceScale, i)
+                && encode(priceValue, price, priceScale, i)
+                && encode(fxRateValue, fxRate, fxRateScale, i)
+                && encode(dividendValue, dividend, dividendScale, i)
+                && quantityScale[i] + fxRateScale[i]
+                        + Math.max(averagePriceScale[i], Math.max(priceScale[i], dividendScale[i])) <= MAX_SCALE;
+        if (!encoded[i]) {
+            if (exact == null) {
+                exact = new BigDecimal[quantity.length][];
+            }
+            exact[i] = new BigDecimal[] { quantityValue, averagePriceValue, priceValue, fxRateValue, dividendValue };
+        }
+        return this;
+    }
+
+    /**
+     * 지금까지 추가한 행 중 아직 그룹에 속하지 않은 행을 그룹 하나(계좌 하나)로 묶습니다.
+     */
+    AssetValuation endGroup() {
+        if (groups == groupEnds.length) {
+            groupEnds = Arrays.copyOf(groupEnds, groups * 2);
+        }
+        groupEnds[groups++] = size;
+        return this;
+    }
+
+    /**
+     * 모든 행을 원 단위로 평가하고 그룹별 합계를 구합니다. 합계가 long 범위를 넘으면 {@link ArithmeticException}.
+     */
+    AssetValuation value() {
+        groupPurchase = new long[groups];
+        groupCurrent = new long[groups];
+        groupDividend = new long[groups];
+        int start = 0;
+        for (int group = 0; group < groups; group++) {
+            long purchaseSum = 0;
+            long currentSum = 0;
+            long dividendSum = 0;
+            int end = groupEnds[group];
+            for (int i = start; i < end; i++) {
+                if (!encoded[i] || !valuePrimitive(i)) {
+                    valueExact(i);
+                }
+                purchaseSum = Math.addExact(purchaseSum, purchase[i]);
+                currentSum = Math.addExact(currentSum, current[i]);
+                dividendSum = Math.addExact(dividendSum, annualDividend[i]);
+            }
+            groupPurchase[group] = purchaseSum;
+            groupCurrent[group] = currentSum;
+            groupDividend[group] = dividendSum;
+            start = end;
+        }
+        return this;
+    }
+
+    // 곱이 long 범위를 넘으면 false
+    private boolean valuePrimitive(int i) {
+        try {
+            long units = quantity[i];
+            long rate = fxRate[i];
+            int scale = quantityScale[i] + fxRateScale[i];
+            purchase[i] = roundToWon(Math.multiplyExact(Math.multiplyExact(averagePrice[i], units), rate),
+                    scale + averagePriceScale[i]);
+            current[i] = roundToWon(Math.multiplyExact(Math.multiplyExact(price[i], units), rate),
+                    scale + priceScale[i]);
+            annualDividend[i] = roundToWon(Math.multiplyExact(
+                    Math.multiplyExact(Math.multiplyExact(dividend[i], paymentsPerYear[i]), units), rate),
+                    scale + dividendScale[i]);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    private void valueExact(int i) {
+        BigDecimal[] row = encoded[i] ? decode(i) : exact[i];
+        BigDecimal units = row[0];
+        BigDecimal rate = row[3];
+        purchase[i] = row[1].multiply(units).multiply(rate).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        current[i] = row[2].multiply(units).multiply(rate).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        annualDividend[i] = row[4].multiply(BigDecimal.valueOf(paymentsPerYear[i])).multiply(units).multiply(rate)
+                .setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private BigDecimal[] decode(int i) {
+        return new BigDecimal[] {
+                BigDecimal.valueOf(quantity[i], quantityScale[i]),
+                BigDecimal.valueOf(averagePrice[i], averagePriceScale[i]),
+                BigDecimal.valueOf(price[i], priceScale[i]),
+                BigDecimal.valueOf(fxRate[i], fxRateScale[i]),
+                BigDecimal.valueOf(dividend[i], dividendScale[i]) };
+    }
+
+    int size() {
+        return size;
+    }
+
+    long purchaseAmount(int row) {
+        return purchase[row];
+    }
+
+    long currentValue(int row) {
+        return current[row];
+    }
+
+    long profitLoss(int row) {
+        return Math.subtractExact(current[row], purchase[row]);
+    }
+
+    long annualDividend(int row) {
+        return annualDividend[row];
+    }
+
+    long groupPurchaseAmount(int group) {
+        return groupPurchase[group];
+    }
+
+    long groupCurrentValue(int group) {
+        return groupCurrent[group];
+    }
+
+    long groupProfitLoss(int group) {
+        return Math.subtractExact(groupCurrent[group], groupPurchase[group]);
+    }
+
+    long groupAnnualDividend(int group) {
+        return groupDividend[group];
+    }
+
+    /**
+     * 수익률(%). 손익 ÷ 매입금액을 소수 넷째 자리에서 반올림(HALF_UP)한 뒤 100을 곱한 값으로,
+     * {@code profitLoss.divide(purchase, 4, HALF_UP).multiply(100)}과 같습니다. 매입금액이 0이면 0입니다.
+     */
+    static BigDecimal returnRate(long profitLoss, long purchaseAmount) {
+        if (purchaseAmount == 0) {
+            return BigDecimal.ZERO;
+        }
+        try {
+            long ratio = divideHalfUp(Math.multiplyExact(profitLoss, RATE_UNIT), purchaseAmount);
+            return BigDecimal.valueOf(Math.multiplyExact(ratio, 100L), 4);
+        } catch (ArithmeticException e) {
+            return BigDecimal.valueOf(profitLoss).divide(BigDecimal.valueOf(purchaseAmount), 4, RoundingMode.HALF_UP)
+                    .multiply(RATE_PERCENT);
+        }
+    }
+
+    /**
+     * 배당 주기 문자열("1개월", "3개월", "6개월", "12개월")의 연간 지급 횟수. 그 밖의 값은 0입니다.
+     */
+    static byte paymentsPerYear(String dividendCycle) {
+        if (dividendCycle == null) {
+            return 0;
+        }
+        return switch (dividendCycle) {
+            case "1개월" -> 12;
+            case "3개월" -> 4;
+            case "6개월" -> 2;
+            case "12개월" -> 1;
+            default -> 0;
+        };
+    }
+
+    // 뒤쪽 0을 떼고 (스케일 없는 값, 소수 자릿수)로 담음. 18자리를 넘으면 false
+    private static boolean encode(BigDecimal value, long[] unscaled, byte[] scales, int i) {
+        // 18자리 이하면 스케일 없는 값이 long에 담김 (unscaledValue()와 달리 BigInteger를 만들지 않음)
+        if (value.precision() > MAX_SCALE) {
+            return false;
+        }
+        int scale = value.scale();
+        long number = scale == 0 ? value.longValue() : value.scaleByPowerOfTen(scale).longValue();
+        if (number == 0) {
+            scale = 0;
+        }
+        while (scale > 0 && number % 10 == 0) {
+            number /= 10;
+            scale--;
+        }
+        if (scale < 0) {
+            if (-scale > MAX_SCALE) {
+                return false;
+            }
+            try {
+                number = Math.multiplyExact(number, POW10[-scale]);
+            } catch (ArithmeticException e) {
+                return false;
+            }
+            scale = 0;
+        }
+        if (scale > MAX_SCALE) {
+            return false;
+        }
+        unscaled[i] = number;
+        scales[i] = (byte) scale;
+        return true;
+    }
+
+    // 소수 scale자리 값을 원 단위로 반올림 (HALF_UP: 0.5는 0에서 먼 쪽으로)
+    private static long roundToWon(long value, int scale) {
+        return scale == 0 ? value : divideHalfUp(value, POW10[scale]);
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= Math.abs(divisor) - remainder) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+}
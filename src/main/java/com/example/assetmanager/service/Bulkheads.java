@@ -0,0 +1,102 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.support.Bulkhead;
+import com.example.assetmanager.support.InstrumentedExecutor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 외부 의존성(공공데이터 시세, 업비트, 구글 뉴스, 구글 시트)별 격벽.
+ * 뉴스 검색이나 시트 동기화가 느려져도 해당 격벽만 차고, 계좌 요약처럼 외부 호출이 없는 요청의 스레드는 비어 있게 둡니다.
+ * 작업은 공용 blockingIoExecutor에서 실행하므로 가상 스레드 모드에서는 가상 스레드에서 돕니다 (실행기 빈이 없으면 격벽별 전용 스레드).
+ */
+@Component
+public class Bulkheads {
+
+    private final Bulkhead publicData;
+    private final Bulkhead upbit;
+    private final Bulkhead news;
+    private final Bulkhead sheets;
+
+    public Bulkheads() {
+        this(8, 64, 2, 16, 4, 8, 2, 4);
+    }
+
+    public Bulkheads(int publicDataMaxConcurrent, int publicDataQueueCapacity, int upbitMaxConcurrent,
+            int upbitQueueCapacity, int newsMaxConcurrent, int newsQueueCapacity, int sheetsMaxConcurrent,
+            int sheetsQueueCapacity) {
+        this(publicDataMaxConcurrent, publicDataQueueCapacity, upbitMaxConcurrent, upbitQueueCapacity,
+                newsMaxConcurrent, newsQueueCapacity, sheetsMaxConcurrent, sheetsQueueCapacity, (Executor) null);
+    }
+
+    @Autowired
+    public Bulkheads(
+            @Value("${bulkhead.public-data.max-concurrent:8}") int publicDataMaxConcurrent,
+            @Value("${bulkhead.public-data.queue-capacity:64}") int publicDataQueueCapacity,
+            @Value("${bulkhead.upbit.max-concurrent:2}") int upbitMaxConcurrent,
+            @Value("${bulkhead.upbit.queue-capacity:16}") int upbitQueueCapacity,
+            @Value("${bulkhead.google-news.max-concurrent:4}") int newsMaxConcurrent,
+            @Value("${bulkhead.google-news.queue-capacity:8}") int newsQueueCapacity,
+            @Value("${bulkhead.google-sheets.max-concurrent:2}") int sheetsMaxConcurrent,
+            @Value("${bulkhead.google-sheets.queue-capacity:4}") int sheetsQueueCapacity,
+            ObjectProvider<InstrumentedExecutor> blockingIoExecutor) {
+        this(publicDataMaxConcurrent, publicDataQueueCapacity, upbitMaxConcurrent, upbitQueueCapacity,
+                newsMaxConcurrent, newsQueueCapacity, sheetsMaxConcurrent, sheetsQueueCapacity,
+                executor(blockingIoExecutor.getIfAvailable()));
+    }
+
+    private Bulkheads(int publicDataMaxConcurrent, int publicDataQueueCapacity, int upbitMaxConcurrent,
+            int upbitQueueCapacity, int newsMaxConcurrent, int newsQueueCapacity, int sheetsMaxConcurrent,
+            int sheetsQueueCapacity, Executor executor) {
+        this.publicData = new Bulkhead(PublicDataPriceProvider.UPSTREAM, publicDataMaxConcurrent,
+                publicDataQueueCapacity, executor);
+        this.upbit = new Bulkhead(UpbitPriceProvider.UPSTREAM, upbitMaxConcurrent, upbitQueueCapacity, executor);
+        this.news = new Bulkhead(NewsService.UPSTREAM, newsMaxConcurrent, newsQueueCapacity, executor);
+        this.sheets = new Bulkhead(GoogleSheetsService.UPSTREAM, sheetsMaxConcurrent, sheetsQueueCapacity,
+                executor);
+    }
+
+    private static Executor executor(InstrumentedExecutor blockingIoExecutor) {
+        return blockingIoExecutor != null ? blockingIoExecutor::execute : null;
+    }
+
+    // 시세 스냅샷 적재, 종목 경로 조회 등 공공데이터 시세 조회 전의 블로킹 작업
+    public Bulkhead publicData() {
+        return publicData;
+    }
+
+    // 업비트 시세 스트림의 보유 종목 조회 (REST 호출 자체는 논블로킹이라 연결 풀/동시 요청 한도로 격리)
+    public Bulkhead upbit() {
+        return upbit;
+    }
+
+    public Bulkhead news() {
+        return news;
+    }
+
+    public Bulkhead sheets() {
+        return sheets;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        all().forEach(Bulkhead::shutdown);
+    }
+
+    private List<Bulkhead> all() {
+        return List.of(publicData, upbit, news, sheets);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new TreeMap<>();
+        all().forEach(bulkhead -> stats.put(bulkhead.getName(), bulkhead.stats()));
+        return stats;
+    }
+}
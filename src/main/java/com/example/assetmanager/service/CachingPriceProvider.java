@@ -0,0 +1,132 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * PriceProvider 앞단의 캐시 데코레이터.
+ * 공유 PriceCache에서 먼저 찾고, 없는 종목만 원래 Provider로 조회한 뒤 캐시에 넣습니다.
+ * 같은 종목을 동시에 조회하는 요청들은 원래 Provider 호출 하나를 공유합니다.
+ * 캐시 만료 시간은 생성 시 지정한 자산 유형의 정책을 따릅니다.
+ * 리액티브 조회 시 원래 Provider가 블로킹 구현이면 ReactivePriceProvider.of로 감싸 실행합니다.
+ */
+public class CachingPriceProvider implements ReactivePriceProvider {
+
+    private final PriceProvider delegate;
+    private final ReactivePriceProvider reactiveDelegate;
+    private final PriceCache cache;
+    private final AssetType assetType;
+
+    public CachingPriceProvider(PriceProvider delegate, PriceCache cache, AssetType assetType) {
+        this.delegate = delegate;
+        this.reactiveDelegate = ReactivePriceProvider.of(delegate);
+        this.cache = cache;
+        this.assetType = assetType;
+    }
+
+    /**
+     * 외부 호출 없이 캐시에서 바로 반환할 수 있는 종목인지 확인합니다.
+     */
+    public boolean isCached(String code) {
+        return cache.contains(assetType, code);
+    }
+
+    public PriceProvider getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean supports(AssetType type) {
+        return delegate.supports(type);
+    }
+
+    @Override
+    public BigDecimal getCurrentPrice(String code) {
+        Optional<BigDecimal> cached = cache.get(assetType, code);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        return cache.load(assetType, code, () -> delegate.getCurrentPrice(code));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getMultiplePrices(Iterable<String> codes) {
+        Map<String, BigDecimal> prices = new LinkedHashMap<>();
+        Set<String> missed = new LinkedHashSet<>();
+        for (String code : codes) {
+            Optional<BigDecimal> cached = cache.get(assetType, code);
+            if (cached.isPresent()) {
+                prices.put(code, cached.get());
+            } else {
+                missed.add(code);
+            }
+        }
+        List<String> misses = List.copyOf(missed);
+
+        if (!misses.isEmpty()) {
+            prices.putAll(cache.loadAll(assetType, misses, delegate::getMultiplePrices));
+        }
+        return prices;
+    }
+
+    @Override
+    public Mono<BigDecimal> fetchCurrentPrice(String code) {
+        return Mono.defer(() -> {
+            Optional<BigDecimal> cached = cache.get(assetType, code);
+            if (cached.isPresent()) {
+                return Mono.just(cached.get());
+            }
+            return cache.loadAsync(assetType, code, () -> fetchFromDelegate(code));
+        });
+    }
+
+    @Override
+    public Flux<Quote> fetchPrices(Iterable<String> codes) {
+        return Flux.defer(() -> {
+            List<Quote> hits = new ArrayList<>();
+            Set<String> missed = new LinkedHashSet<>();
+            for (String code : codes) {
+                Optional<BigDecimal> cached = cache.get(assetType, code);
+                if (cached.isPresent()) {
+                    hits.add(new Quote(code, cached.get()));
+                } else {
+                    missed.add(code);
+                }
+            }
+            if (missed.isEmpty()) {
+                return Flux.fromIterable(hits);
+            }
+            return Flux.fromIterable(hits)
+                    .concatWith(cache.loadAllAsync(assetType, List.copyOf(missed), this::fetchAllFromDelegate)
+                            .flatMapIterable(Map::entrySet)
+                            .map(entry -> new Quote(entry.getKey(), entry.getValue())));
+        });
+    }
+
+    private Mono<BigDecimal> fetchFromDelegate(String code) {
+        return reactiveDelegate.fetchCurrentPrice(code);
+    }
+
+    private Mono<Map<String, BigDecimal>> fetchAllFromDelegate(List<String> codes) {
+        return reactiveDelegate.fetchPrices(codes).collectMap(Quote::code, Quote::price, HashMap::new);
+    }
+
+    /**
+     * 강제 갱신 시 캐시된 시세를 버립니다.
+     */
+    public void invalidate(Iterable<String> codes) {
+        for (String code : codes) {
+            cache.invalidate(assetType, code);
+        }
+    }
+}
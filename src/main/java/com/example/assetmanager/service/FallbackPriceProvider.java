@@ -0,0 +1,104 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 같은 자산 유형을 지원하는 Provider들을 우선순위대로 묶은 체인.
+ * 앞선 Provider가 시간 안에 시세를 주지 못하면(시간 초과, 오류, 결과 없음) 다음 Provider로 넘어가고,
+ * hedge-delay가 지나도 응답이 없으면 다음 Provider에도 함께 요청해 먼저 도착한 시세를 사용합니다.
+ * 일괄 조회는 hedge 없이 시세를 받지 못한 종목만 다음 Provider로 넘깁니다.
+ */
+@Slf4j
+public class FallbackPriceProvider implements ReactivePriceProvider {
+
+    private final List<ReactivePriceProvider> chain;
+    private final Duration timeout;
+    private final Duration batchTimeout;
+    private final Duration hedgeDelay;
+
+    public FallbackPriceProvider(List<ReactivePriceProvider> chain, Duration timeout, Duration batchTimeout,
+            Duration hedgeDelay) {
+        this.chain = List.copyOf(chain);
+        this.timeout = timeout;
+        this.batchTimeout = batchTimeout;
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    public List<ReactivePriceProvider> getChain() {
+        return chain;
+    }
+
+    @Override
+    public boolean supports(AssetType type) {
+        return chain.stream().anyMatch(provider -> provider.supports(type));
+    }
+
+    @Override
+    public Mono<BigDecimal> fetchCurrentPrice(String code) {
+        return fetchFrom(0, code);
+    }
+
+    private Mono<BigDecimal> fetchFrom(int index, String code) {
+        if (index >= chain.size()) {
+            return Mono.empty();
+        }
+        ReactivePriceProvider provider = chain.get(index);
+        Mono<BigDecimal> primary = Mono.defer(() -> provider.fetchCurrentPrice(code))
+                .filter(price -> price.compareTo(BigDecimal.ZERO) > 0)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.warn("Price lookup for {} failed on {}: {}", code, provider.getClass().getSimpleName(),
+                            e.toString());
+                    return Mono.empty();
+                });
+        if (index + 1 >= chain.size()) {
+            return primary;
+        }
+
+        // 다음 Provider 조회는 fallback/hedge 경로가 공유하여 한 번만 수행
+        Mono<BigDecimal> next = Mono.defer(() -> fetchFrom(index + 1, code)).cache();
+        if (hedgeDelay.isZero() || hedgeDelay.isNegative() || hedgeDelay.compareTo(timeout) >= 0) {
+            return primary.switchIfEmpty(next);
+        }
+        return Mono.firstWithValue(primary.switchIfEmpty(next), Mono.delay(hedgeDelay).then(next))
+                // 두 경로 모두 시세가 없으면 NoSuchElementException으로 끝나므로 빈 결과로 변환
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    @Override
+    public Flux<Quote> fetchPrices(Iterable<String> codes) {
+        List<String> requested = new ArrayList<>();
+        codes.forEach(requested::add);
+        return fetchAllFrom(0, requested);
+    }
+
+    private Flux<Quote> fetchAllFrom(int index, List<String> codes) {
+        if (index >= chain.size() || codes.isEmpty()) {
+            return Flux.empty();
+        }
+        ReactivePriceProvider provider = chain.get(index);
+        return Flux.defer(() -> provider.fetchPrices(codes))
+                .filter(quote -> quote.price() != null && quote.price().compareTo(BigDecimal.ZERO) > 0)
+                .take(batchTimeout)
+                .onErrorResume(e -> {
+                    log.warn("Batch price lookup failed on {}: {}", provider.getClass().getSimpleName(),
+                            e.toString());
+                    return Flux.empty();
+                })
+                .collectList()
+                .flatMapMany(found -> {
+                    Set<String> resolved = found.stream().map(Quote::code).collect(Collectors.toSet());
+                    List<String> missing = codes.stream().filter(code -> !resolved.contains(code)).toList();
+                    return Flux.fromIterable(found).concatWith(fetchAllFrom(index + 1, missing));
+                });
+    }
+}
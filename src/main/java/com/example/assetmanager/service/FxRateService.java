@@ -0,0 +1,142 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.Asset;
+import com.example.assetmanager.domain.AssetType;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 외화 → 원화 환율. 환율 API에서 주기적으로 받은 환율표를 메모리에 통째로 보관하고,
+ * 요청마다 그 시점의 환율표(Rates)를 한 번 읽어 모든 자산 평가에 같은 환율을 씁니다.
+ * 아직 환율을 받지 못한 통화는 환율 없음으로 두고, 그 통화의 자산은 원화 합계에 넣지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FxRateService {
+
+    static final String BASE_CURRENCY = "KRW";
+
+    private final WebClient webClient;
+
+    // 기준 통화 하나에 대한 전 통화 환율을 주는 API (응답: {"result":"success","rates":{"KRW":1350.2,...}})
+    @Value("${fx.api.url:https://open.er-api.com/v6/latest/USD}")
+    private String apiUrl = "https://open.er-api.com/v6/latest/USD";
+
+    @Value("${fx.refresh.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${fx.api.timeout-ms:5000}")
+    private long timeoutMillis = 5000;
+
+    private volatile Rates current = Rates.EMPTY;
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * 통화별 원화 환율표 (1 외화 = rate 원). 원화는 항상 1입니다.
+     */
+    public record Rates(Map<String, BigDecimal> toKrw, Instant asOf) {
+        static final Rates EMPTY = new Rates(Map.of(), null);
+
+        public Optional<BigDecimal> rate(String currency) {
+            if (BASE_CURRENCY.equals(currency)) {
+                return Optional.of(BigDecimal.ONE);
+            }
+            return Optional.ofNullable(toKrw.get(currency));
+        }
+    }
+
+    /**
+     * 자산의 통화. 지정하지 않았으면 해외 주식/채권은 USD, 나머지는 KRW로 봅니다.
+     */
+    public static String currencyOf(Asset asset) {
+        if (asset.getCurrency() != null && !asset.getCurrency().isBlank()) {
+            return asset.getCurrency().trim().toUpperCase();
+        }
+        AssetType type = asset.getType();
+        return type == AssetType.STOCK_US || type == AssetType.BOND_US ? "USD" : BASE_CURRENCY;
+    }
+
+    /**
+     * 현재 환율표. 요청 하나에서 한 번만 읽어 모든 자산에 같이 씁니다.
+     */
+    public Rates currentRates() {
+        return current;
+    }
+
+    @Scheduled(initialDelayString = "${fx.refresh.initial-delay-seconds:5}",
+            fixedDelayString = "${fx.refresh.interval-seconds:3600}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledRefresh() {
+        if (!enabled)
+            return;
+        refresh();
+    }
+
+    /**
+     * 환율표를 새로 받아 교체합니다. 실패하면 이전 환율표를 그대로 둡니다.
+     */
+    public void refresh() {
+        try {
+            JsonNode body = webClient.get()
+                    .uri(apiUrl)
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .block(Duration.ofMillis(timeoutMillis));
+            Map<String, BigDecimal> toKrw = parse(body);
+            if (toKrw.isEmpty()) {
+                throw new IllegalStateException("FX response without KRW rate");
+            }
+            current = new Rates(Collections.unmodifiableMap(toKrw), Instant.now());
+            refreshes.incrementAndGet();
+            log.info("Refreshed FX rates: {} currencies (USD/KRW {})", toKrw.size(), toKrw.get("USD"));
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.warn("Failed to refresh FX rates: {}", e.getMessage());
+        }
+    }
+
+    // 기준 통화가 무엇이든 KRW 환율로 나눠 "1 외화 = ? 원"으로 바꿈
+    static Map<String, BigDecimal> parse(JsonNode body) {
+        Map<String, BigDecimal> toKrw = new HashMap<>();
+        if (body == null || !body.path("rates").has(BASE_CURRENCY)) {
+            return toKrw;
+        }
+        JsonNode rates = body.path("rates");
+        BigDecimal krw = rates.get(BASE_CURRENCY).decimalValue();
+        rates.fields().forEachRemaining(entry -> {
+            BigDecimal rate = entry.getValue().decimalValue();
+            if (!entry.getKey().equals(BASE_CURRENCY) && rate.compareTo(BigDecimal.ZERO) > 0) {
+                toKrw.put(entry.getKey(), krw.divide(rate, 6, RoundingMode.HALF_UP));
+            }
+        });
+        return toKrw;
+    }
+
+    public Map<String, Object> stats() {
+        Rates rates = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("currencies", rates.toKrw().size());
+        stats.put("asOf", rates.asOf() != null ? rates.asOf().toString() : null);
+        stats.put("usdKrw", rates.toKrw().get("USD"));
+        stats.put("refreshes", refreshes.get());
+        stats.put("failures", failures.get());
+        return stats;
+    }
+}
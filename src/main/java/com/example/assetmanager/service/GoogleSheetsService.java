@@ -7,11 +7,13 @@ import com.example.assetmanager.domain.AssetType;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.SheetsRequest;
 import com.google.api.services.sheets.v4.SheetsScopes;
 import com.google.api.services.sheets.v4.model.*;
 import com.google.auth.http.HttpCredentialsAdapter;
 import com.google.auth.oauth2.GoogleCredentials;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
@@ -31,8 +33,13 @@ public class GoogleSheetsService {
     private static final GsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
     private static final String CREDENTIALS_FILE_PATH = "google-credentials.json";
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    static final String UPSTREAM = "google-sheets";
     private Sheets sheetsService;
 
+    // 시트 API 호출마다 회로 차단기/동시 요청 한도 적용 (테스트용 생성자로 만든 경우 기본 설정)
+    @Autowired
+    private UpstreamGuards upstreamGuards = new UpstreamGuards();
+
     public GoogleSheetsService() {
     }
 
@@ -44,6 +51,13 @@ public class GoogleSheetsService {
     @Value("${google.sheet.id}")
     private String spreadsheetId;
 
+    // 시트 API가 응답하지 않을 때 무기한 기다리지 않도록 연결/읽기 제한 시간 적용
+    @Value("${google.sheet.connect-timeout-ms:5000}")
+    private int connectTimeoutMillis = 5000;
+
+    @Value("${google.sheet.read-timeout-ms:30000}")
+    private int readTimeoutMillis = 30000;
+
     /**
      * 시트에서 계좌 정보와 포함된 자산 목록을 가져옵니다.
      */
@@ -53,8 +67,8 @@ public class GoogleSheetsService {
         String targetSheetName = sheetName;
 
         if (targetSheetName == null || targetSheetName.isBlank()) {
-            com.google.api.services.sheets.v4.model.Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId)
-                    .execute();
+            com.google.api.services.sheets.v4.model.Spreadsheet spreadsheet = execute(
+                    service.spreadsheets().get(spreadsheetId));
             targetSheetName = spreadsheet.getSheets().get(0).getProperties().getTitle();
         }
 
@@ -62,9 +76,8 @@ public class GoogleSheetsService {
         // A1:F2 범위 (계좌명, 소유자, 계좌종류, 금융기관, 계좌번호, 설명)
         String accountRange = "'" + targetSheetName + "'!A1:F2";
         log.info("Fetching account metadata from sheet: {}, range: {}", targetSheetName, accountRange);
-        ValueRange accountResponse = service.spreadsheets().values()
-                .get(spreadsheetId, accountRange)
-                .execute();
+        ValueRange accountResponse = execute(service.spreadsheets().values()
+                .get(spreadsheetId, accountRange));
         List<List<Object>> accountValues = accountResponse.getValues();
 
         Account account = new Account();
@@ -91,12 +104,11 @@ public class GoogleSheetsService {
         }
 
         // 2. 자산 목록 읽기 (4행부터)
-        // A:종목코드, B:종목명, C:수량, D:평균단가, E:유형, F:현재가, G:가격조회일자, H:배당주기, I:1회당배당금
-        String assetRange = "'" + targetSheetName + "'!A5:I"; // A5부터 데이터 (4행은 헤더)
+        // A:종목코드, B:종목명, C:수량, D:평균단가, E:유형, F:현재가, G:가격조회일자, H:배당주기, I:1회당배당금, J:통화
+        String assetRange = "'" + targetSheetName + "'!A5:J"; // A5부터 데이터 (4행은 헤더)
         log.info("Fetching asset list from sheet: {}, range: {}", targetSheetName, assetRange);
-        ValueRange assetResponse = service.spreadsheets().values()
-                .get(spreadsheetId, assetRange)
-                .execute();
+        ValueRange assetResponse = execute(service.spreadsheets().values()
+                .get(spreadsheetId, assetRange));
         List<List<Object>> assetValues = assetResponse.getValues();
 
         List<Asset> assets = new ArrayList<>();
@@ -160,8 +172,13 @@ public class GoogleSheetsService {
                         }
                     }
 
-                    assets.add(new Asset(account, type, code, name, quantity, averagePrice, currentPrice,
-                            lastPriceUpdate, LocalDate.now(), dividendCycle, dividendPerShare));
+                    Asset asset = new Asset(account, type, code, name, quantity, averagePrice, currentPrice,
+                            lastPriceUpdate, LocalDate.now(), dividendCycle, dividendPerShare);
+                    // 통화 열이 비어 있으면 자산 유형으로 판단 (동기화 때 PUT으로 지정한 통화가 지워지지 않도록 시트에도 씀)
+                    if (row.size() >= 10) {
+                        asset.setCurrency(parseCurrency(row.get(9).toString()));
+                    }
+                    assets.add(asset);
                 } catch (Exception e) {
                     log.error("Failed to parse asset row: {}. Error: {}", row, e.getMessage());
                 }
@@ -186,8 +203,8 @@ public class GoogleSheetsService {
         }
 
         // 시트 ID 가져오기
-        com.google.api.services.sheets.v4.model.Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId)
-                .execute();
+        com.google.api.services.sheets.v4.model.Spreadsheet spreadsheet = execute(
+                service.spreadsheets().get(spreadsheetId));
         Integer sheetId = spreadsheet.getSheets().stream()
                 .filter(s -> s.getProperties().getTitle().equals(targetSheetName))
                 .map(s -> s.getProperties().getSheetId())
@@ -208,7 +225,8 @@ public class GoogleSheetsService {
         rows.add(new RowData());
         // 4행: 자산 헤더
         rows.add(createHeaderRow(
-                Arrays.asList("종목코드", "종목명", "수량", "평균단가", "유형", "현재가", "가격조회일자", "배당주기", "1회당 배당금")));
+                Arrays.asList("종목코드", "종목명", "수량", "평균단가", "유형", "현재가", "가격조회일자", "배당주기", "1회당 배당금",
+                        "통화")));
 
         // 5행부터: 자산 데이터
         for (Asset asset : account.getAssets()) {
@@ -221,7 +239,8 @@ public class GoogleSheetsService {
                     asset.getCurrentPrice() != null ? asset.getCurrentPrice() : BigDecimal.ZERO, // Numeric
                     asset.getLastPriceUpdate() != null ? asset.getLastPriceUpdate().format(DATE_TIME_FORMATTER) : "",
                     asset.getDividendCycle() != null ? asset.getDividendCycle() : "없음",
-                    asset.getDividendPerShare() != null ? asset.getDividendPerShare() : BigDecimal.ZERO // Numeric
+                    asset.getDividendPerShare() != null ? asset.getDividendPerShare() : BigDecimal.ZERO, // Numeric
+                    asset.getCurrency() != null ? asset.getCurrency() : "" // 비어 있으면 자산 유형 기본 통화
             );
             rows.add(createMixedDataRow(values, Arrays.asList(2, 3, 5, 8))); // 2,3,5,8번 인덱스는 숫자
         }
@@ -301,7 +320,7 @@ public class GoogleSheetsService {
                         .setShowCustomUi(true))));
 
         BatchUpdateSpreadsheetRequest batchRequest = new BatchUpdateSpreadsheetRequest().setRequests(requests);
-        service.spreadsheets().batchUpdate(spreadsheetId, batchRequest).execute();
+        execute(service.spreadsheets().batchUpdate(spreadsheetId, batchRequest));
 
         log.info("Successfully updated Google Sheet with styles: {}, Sheet Name: {}", spreadsheetId, targetSheetName);
     }
@@ -363,8 +382,8 @@ public class GoogleSheetsService {
 
     public List<String> getSheetNames() throws IOException, GeneralSecurityException {
         Sheets service = getSheetsServiceInstance();
-        com.google.api.services.sheets.v4.model.Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId)
-                .execute();
+        com.google.api.services.sheets.v4.model.Spreadsheet spreadsheet = execute(
+                service.spreadsheets().get(spreadsheetId));
 
         return spreadsheet.getSheets().stream()
                 .map(sheet -> sheet.getProperties().getTitle())
@@ -451,6 +470,26 @@ public class GoogleSheetsService {
         return AssetType.STOCK;
     }
 
+    // 통화 코드 (USD, KRW 등 ISO 3자리). 비어 있거나 형식이 다르면 null (자산 유형 기본 통화)
+    private String parseCurrency(String value) {
+        if (value == null || value.isBlank())
+            return null;
+        String v = value.trim().toUpperCase();
+        if (v.equals("원") || v.equals("원화"))
+            return "KRW";
+        if (v.equals("달러") || v.equals("$"))
+            return "USD";
+        if (!v.matches("[A-Z]{3}")) {
+            log.warn("Ignoring unknown currency in sheet: {}", value);
+            return null;
+        }
+        return v;
+    }
+
+    private <T> T execute(SheetsRequest<T> request) throws IOException {
+        return upstreamGuards.get(UPSTREAM).call(request::execute);
+    }
+
     private synchronized Sheets getSheetsServiceInstance() throws IOException, GeneralSecurityException {
         if (this.sheetsService != null) {
             return this.sheetsService;
@@ -468,10 +507,15 @@ public class GoogleSheetsService {
         GoogleCredentials credentials = GoogleCredentials.fromStream(resource.getInputStream())
                 .createScoped(Collections.singleton(SheetsScopes.SPREADSHEETS));
 
+        HttpCredentialsAdapter credentialsAdapter = new HttpCredentialsAdapter(credentials);
         return new Sheets.Builder(
                 GoogleNetHttpTransport.newTrustedTransport(),
                 JSON_FACTORY,
-                new HttpCredentialsAdapter(credentials))
+                request -> {
+                    credentialsAdapter.initialize(request);
+                    request.setConnectTimeout(connectTimeoutMillis);
+                    request.setReadTimeout(readTimeoutMillis);
+                })
                 .setApplicationName(APPLICATION_NAME)
                 .build();
     }
@@ -0,0 +1,166 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.dto.Instrument;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 종목 마스터의 읽기 전용 색인. 검색 키(코드, 종목명, 종목명의 단어 등)를 정렬된 배열 하나에 담고
+ * 이진 탐색으로 접두사 구간의 시작을 찾습니다. 한 번 만들면 바뀌지 않으므로 잠금 없이 여러 스레드가 함께 읽습니다.
+ */
+final class InstrumentIndex {
+
+    static final InstrumentIndex EMPTY = new Builder().build();
+
+    // 접두사가 짧아 구간이 아주 넓어도 이 수만큼만 훑음
+    private static final int MAX_SCAN = 1000;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[\\s()\\[\\]/·,&]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Instrument[] instruments;
+    private final Map<String, Integer> refsById;
+    private final String[] keys;
+    private final int[] refs;
+
+    private InstrumentIndex(Instrument[] instruments, Map<String, Integer> refsById, String[] keys, int[] refs) {
+        this.instruments = instruments;
+        this.refsById = refsById;
+        this.keys = keys;
+        this.refs = refs;
+    }
+
+    int size() {
+        return instruments.length;
+    }
+
+    int keyCount() {
+        return keys.length;
+    }
+
+    Optional<Instrument> get(String id) {
+        Integer ref = refsById.get(id);
+        return ref == null ? Optional.empty() : Optional.of(instruments[ref]);
+    }
+
+    /**
+     * 검색어로 시작하는 키를 가진 종목. 키와 검색어가 정확히 같은 종목이 먼저 오고,
+     * 그다음은 키가 검색어에 가까운(짧은) 순, 같으면 적재 순서입니다.
+     */
+    List<Instrument> search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // 한 종목이 여러 키로 걸리면 가장 가까운 키의 점수만 남김
+        Map<Integer, Integer> scores = new HashMap<>();
+        int start = lowerBound(prefix);
+        int end = Math.min(keys.length, start + MAX_SCAN);
+        for (int i = start; i < end && keys[i].startsWith(prefix); i++) {
+            scores.merge(refs[i], keys[i].length() - prefix.length(), Math::min);
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> instruments[entry.getKey()])
+                .toList();
+    }
+
+    // prefix 이상인 첫 키의 위치 (같은 키가 여러 개여도 첫 번째)
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 검색 키 정규화: 소문자로 바꾸고 공백을 없앱니다 ("KODEX 200" → "kodex200").
+     */
+    static String normalize(String value) {
+        return value == null ? "" : WHITESPACE.matcher(value.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    static final class Builder {
+
+        private final List<Instrument> instruments = new ArrayList<>();
+        private final Map<String, Integer> refsById = new LinkedHashMap<>();
+        private final List<Key> keys = new ArrayList<>();
+
+        private record Key(String value, int ref) {
+        }
+
+        /**
+         * 종목을 추가합니다. id, 코드, 종목명(전체와 단어별)과 추가 검색어가 모두 검색 키가 됩니다.
+         * 이미 추가된 id는 무시합니다.
+         */
+        Builder add(Instrument instrument, String... terms) {
+            if (instrument.id() == null || refsById.containsKey(instrument.id())) {
+                return this;
+            }
+            int ref = instruments.size();
+            instruments.add(instrument);
+            refsById.put(instrument.id(), ref);
+            addKey(instrument.id(), ref);
+            addKey(instrument.code(), ref);
+            addTerm(instrument.name(), ref);
+            for (String term : terms) {
+                addTerm(term, ref);
+            }
+            return this;
+        }
+
+        private void addTerm(String term, int ref) {
+            if (term == null) {
+                return;
+            }
+            addKey(term, ref);
+            String[] words = WORD_SEPARATOR.split(term.trim());
+            if (words.length > 1) {
+                for (String word : words) {
+                    addKey(word, ref);
+                }
+            }
+        }
+
+        private void addKey(String value, int ref) {
+            String key = normalize(value);
+            if (!key.isEmpty()) {
+                keys.add(new Key(key, ref));
+            }
+        }
+
+        InstrumentIndex build() {
+            List<Key> sorted = new ArrayList<>(keys);
+            sorted.sort(Comparator.comparing(Key::value).thenComparingInt(Key::ref));
+            List<Key> distinct = new ArrayList<>(sorted.size());
+            for (Key key : sorted) {
+                if (distinct.isEmpty() || !distinct.get(distinct.size() - 1).equals(key)) {
+                    distinct.add(key);
+                }
+            }
+            String[] keyValues = new String[distinct.size()];
+            int[] keyRefs = new int[distinct.size()];
+            for (int i = 0; i < distinct.size(); i++) {
+                keyValues[i] = distinct.get(i).value();
+                keyRefs[i] = distinct.get(i).ref();
+            }
+            return new InstrumentIndex(instruments.toArray(Instrument[]::new), Map.copyOf(refsById), keyValues,
+                    keyRefs);
+        }
+    }
+}
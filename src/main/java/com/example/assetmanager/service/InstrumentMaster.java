@@ -0,0 +1,184 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.domain.KrxEndpoint;
+import com.example.assetmanager.dto.Instrument;
+import com.example.assetmanager.support.CallBudget;
+import com.example.assetmanager.support.InstrumentCodes;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 종목 마스터. KRX 상장 종목(공공데이터 전 종목 스냅샷)과 업비트 KRW 마켓 목록을 정규 종목 ID로 묶어
+ * 메모리 색인 하나로 보관하고, 코드/종목명 자동완성을 위한 접두사 검색을 제공합니다.
+ * 목록 적재에 실패하면 해당 거래소는 이전 목록을 그대로 씁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InstrumentMaster {
+
+    static final int MAX_LIMIT = 50;
+    private static final String UPBIT_KRW_MARKET = "KRW-";
+
+    private final WebClient webClient;
+    private final KrxPriceSnapshot krxSnapshot;
+    private final ProviderCallBudgets callBudgets;
+    private final UpstreamGuards upstreamGuards;
+
+    @Value("${instrument.master.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${instrument.master.upbit-markets-url:https://api.upbit.com/v1/market/all}")
+    private String upbitMarketsUrl = "https://api.upbit.com/v1/market/all";
+
+    @Value("${instrument.master.timeout-ms:5000}")
+    private long timeoutMillis = 5000;
+
+    private volatile InstrumentIndex index = InstrumentIndex.EMPTY;
+    private volatile List<Listed> krxListings = List.of();
+    private volatile List<Listed> upbitListings = List.of();
+    private volatile Instant loadedAt;
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong searchNanos = new AtomicLong();
+
+    // 색인에 넣을 종목과 종목명/코드 외의 추가 검색어 (영문명 등)
+    record Listed(Instrument instrument, String... terms) {
+    }
+
+    /**
+     * 코드나 종목명이 검색어로 시작하는 종목. 메모리 색인만 조회하며 네트워크 호출은 하지 않습니다.
+     */
+    public List<Instrument> search(String query, int limit) {
+        long startedAt = System.nanoTime();
+        List<Instrument> found = index.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        searches.incrementAndGet();
+        searchNanos.addAndGet(System.nanoTime() - startedAt);
+        return found;
+    }
+
+    /**
+     * 자산 유형과 자유 형식 코드("KRX:005930", "005930", "BTC")로 종목을 찾습니다.
+     */
+    public Optional<Instrument> resolve(AssetType type, String code) {
+        return index.get(InstrumentCodes.canonicalId(type, code));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Scheduled(initialDelayString = "${instrument.master.initial-delay-seconds:15}",
+            fixedDelayString = "${instrument.master.interval-seconds:3600}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledRefresh() {
+        if (!enabled)
+            return;
+        refresh();
+    }
+
+    /**
+     * 두 거래소 목록을 다시 읽어 색인을 새로 만들고 한 번에 교체합니다. 검색은 교체 전후 어느 한 색인만 봅니다.
+     */
+    public void refresh() {
+        krxListings = loadKrx();
+        upbitListings = loadUpbit();
+
+        InstrumentIndex.Builder builder = new InstrumentIndex.Builder();
+        for (Listed listed : krxListings) {
+            builder.add(listed.instrument(), listed.terms());
+        }
+        for (Listed listed : upbitListings) {
+            builder.add(listed.instrument(), listed.terms());
+        }
+        index = builder.build();
+        loadedAt = Instant.now();
+        refreshes.incrementAndGet();
+        log.info("Rebuilt instrument index: {} instruments, {} keys", index.size(), index.keyCount());
+    }
+
+    // 스냅샷이 아직 없거나 공공데이터 키가 없으면 이전 목록 유지
+    private List<Listed> loadKrx() {
+        try {
+            krxSnapshot.refreshIfStale();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.warn("Failed to refresh KRX listings: {}", e.getMessage());
+        }
+        List<Listed> listings = new ArrayList<>();
+        for (KrxPriceSnapshot.Listing listing : krxSnapshot.listings()) {
+            AssetType type = listing.endpoint() == KrxEndpoint.ETF ? AssetType.ETF_KR : AssetType.STOCK_KR;
+            listings.add(new Listed(new Instrument(InstrumentCodes.canonicalId(type, listing.srtnCd()), type,
+                    listing.srtnCd(), listing.name(), InstrumentCodes.KRX)));
+        }
+        return listings.isEmpty() ? krxListings : List.copyOf(listings);
+    }
+
+    // 자산은 원화로 평가하므로 KRW 마켓만 사용 (응답: [{"market":"KRW-BTC","korean_name":"비트코인",...}])
+    private List<Listed> loadUpbit() {
+        try {
+            JsonNode markets = upstreamGuards.get(UpbitPriceProvider.UPSTREAM)
+                    .protect(() -> callBudgets.get(UpbitPriceProvider.UPSTREAM).tryAcquire()
+                            ? webClient.get().uri(upbitMarketsUrl).retrieve().bodyToMono(JsonNode.class)
+                            : Mono.<JsonNode>error(new CallBudget.ExceededException(UpbitPriceProvider.UPSTREAM)))
+                    .block(Duration.ofMillis(timeoutMillis));
+            List<Listed> listings = parseUpbitMarkets(markets);
+            return listings.isEmpty() ? upbitListings : listings;
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.warn("Failed to load Upbit markets: {}", e.getMessage());
+            return upbitListings;
+        }
+    }
+
+    // "KRW-BTC"는 "BTC"와 영문명으로도 찾음
+    static List<Listed> parseUpbitMarkets(JsonNode markets) {
+        List<Listed> listings = new ArrayList<>();
+        if (markets == null || !markets.isArray()) {
+            return listings;
+        }
+        for (JsonNode market : markets) {
+            String code = market.path("market").asText("");
+            if (!code.startsWith(UPBIT_KRW_MARKET)) {
+                continue;
+            }
+            String englishName = market.path("english_name").asText(code);
+            String name = market.path("korean_name").asText(englishName);
+            listings.add(new Listed(new Instrument(InstrumentCodes.canonicalId(AssetType.CRYPTO, code),
+                    AssetType.CRYPTO, code, name, InstrumentCodes.UPBIT),
+                    code.substring(UPBIT_KRW_MARKET.length()), englishName));
+        }
+        return List.copyOf(listings);
+    }
+
+    public Map<String, Object> stats() {
+        long searchCount = searches.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("instruments", index.size());
+        stats.put("keys", index.keyCount());
+        stats.put("krx", krxListings.size());
+        stats.put("upbit", upbitListings.size());
+        stats.put("loadedAt", loadedAt != null ? loadedAt.toString() : null);
+        stats.put("refreshes", refreshes.get());
+        stats.put("failures", failures.get());
+        stats.put("searches", searchCount);
+        stats.put("avgSearchMicros", searchCount == 0 ? 0.0 : searchNanos.get() / 1000.0 / searchCount);
+        return stats;
+    }
+}
@@ -1,53 +1,267 @@
 package com.example.assetmanager.service;
 
 import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.support.CallBudget;
+import com.example.assetmanager.support.InstrumentCodes;
+import com.example.assetmanager.support.UpstreamGuard;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.HashMap;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Set;
 
+/**
+ * 한국투자증권(KIS) Open API 시세. 국내 종목은 여러 종목을 한 번에 조회하는 관심종목 시세 API로,
+ * 해외 주식(STOCK_US)은 종목별 현재가 API로 조회합니다. 접근 토큰은 {@link KisTokenManager}가 재사용/갱신합니다.
+ * kis.api.app-key/app-secret이 설정된 경우에만 시세 라우팅 체인에 들어갑니다 (국내는 공공데이터 다음 순서).
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Order(2)
-public class KisPriceProvider implements PriceProvider {
+public class KisPriceProvider implements ReactivePriceProvider {
 
-    private final Random random = new Random();
+    private final WebClient webClient;
+    private final KisTokenManager tokens;
+    private final ProviderCallBudgets callBudgets;
+    private final UpstreamGuards upstreamGuards;
+
+    static final String UPSTREAM = "kis";
+    static final String DOMESTIC_PRICE_PATH = "/uapi/domestic-stock/v1/quotations/inquire-price";
+    static final String DOMESTIC_MULTI_PRICE_PATH = "/uapi/domestic-stock/v1/quotations/intstock-multprice";
+    static final String OVERSEAS_PRICE_PATH = "/uapi/overseas-price/v1/quotations/price";
+    private static final String DOMESTIC_PRICE_TR_ID = "FHKST01010100";
+    private static final String DOMESTIC_MULTI_PRICE_TR_ID = "FHKST11300006";
+    private static final String OVERSEAS_PRICE_TR_ID = "HHDFS00000300";
+    // 만료된 토큰으로 호출했을 때의 응답 코드
+    private static final String TOKEN_EXPIRED_CODE = "EGW00123";
+    // 거래소 접두사가 없는 해외 종목은 나스닥 → 뉴욕 → 아멕스 순으로 찾음
+    private static final List<String> OVERSEAS_EXCHANGES = List.of("NAS", "NYS", "AMS");
+    private static final Map<String, String> EXCHANGE_CODES = Map.of(
+            "NASDAQ", "NAS", "NAS", "NAS",
+            "NYSE", "NYS", "NYS", "NYS",
+            "AMEX", "AMS", "AMS", "AMS", "NYSEARCA", "AMS");
+    private static final Set<String> DOMESTIC_PREFIXES = Set.of("KRX", "KOSPI", "KOSDAQ");
+
+    // 관심종목 시세 API 한 번에 넣을 수 있는 최대 종목 수
+    @Value("${kis.api.max-symbols-per-request:30}")
+    private int maxSymbolsPerRequest = 30;
+
+    // 동시에 보낼 최대 요청 수 (KIS 초당 요청 제한 이내)
+    @Value("${kis.api.max-concurrency:4}")
+    private int maxConcurrency = 4;
+
+    /**
+     * 국내 단축코드(symbol, exchange 없음) 또는 해외 티커(symbol, exchange는 알 때만).
+     */
+    record Symbol(String symbol, String exchange, boolean domestic) {
+    }
 
     @Override
     public boolean supports(AssetType type) {
         return type == AssetType.STOCK ||
                 type == AssetType.STOCK_KR ||
-                type == AssetType.STOCK_US ||
+                type == AssetType.ETF_KR ||
                 type == AssetType.REITS ||
-                type == AssetType.COMMODITY ||
-                type == AssetType.BOND_KR ||
-                type == AssetType.BOND_US ||
-                type == AssetType.GOLD_SPOT;
+                type == AssetType.STOCK_US;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return tokens.isConfigured();
+    }
+
+    @Override
+    public String upstream() {
+        return UPSTREAM;
     }
 
     @Override
-    public BigDecimal getCurrentPrice(String code) {
-        // 실제로는 KIS API 호출 (OAuth 토큰 필요)
-        // PoC를 위해 50,000 ~ 100,000 사이의 랜덤 가격 반환
-        return BigDecimal.valueOf(50000 + (random.nextDouble() * 50000)).setScale(0, RoundingMode.HALF_UP);
+    public Mono<BigDecimal> fetchCurrentPrice(String code) {
+        if (code == null || code.isBlank())
+            return Mono.just(BigDecimal.ZERO);
+        return fetchPrices(List.of(code))
+                .next()
+                .map(Quote::price)
+                .defaultIfEmpty(BigDecimal.ZERO);
     }
 
+    /**
+     * 국내 종목은 max-symbols-per-request개씩 묶어 한 번에, 해외 종목은 종목별로 조회합니다.
+     * 결과는 호출자가 넘긴 코드 그대로 발행하며, 조회하지 못한 종목은 빠집니다.
+     */
     @Override
-    public Map<String, BigDecimal> getMultiplePrices(Iterable<String> codes) {
-        Map<String, BigDecimal> prices = new HashMap<>();
+    public Flux<Quote> fetchPrices(Iterable<String> codes) {
+        Map<Symbol, List<String>> codesBySymbol = new LinkedHashMap<>();
         for (String code : codes) {
-            prices.put(code, getCurrentPrice(code));
+            if (code != null && !code.isBlank()) {
+                codesBySymbol.computeIfAbsent(parse(code), symbol -> new ArrayList<>()).add(code);
+            }
+        }
+        List<String> domestic = new ArrayList<>();
+        List<Symbol> overseas = new ArrayList<>();
+        codesBySymbol.keySet().forEach(symbol -> {
+            if (symbol.domestic()) {
+                domestic.add(symbol.symbol());
+            } else {
+                overseas.add(symbol);
+            }
+        });
+
+        Flux<Map.Entry<Symbol, BigDecimal>> domesticPrices = Flux.fromIterable(chunk(domestic))
+                .flatMap(this::fetchDomestic, Math.max(1, maxConcurrency))
+                .map(quote -> Map.entry(new Symbol(quote.code(), null, true), quote.price()));
+        Flux<Map.Entry<Symbol, BigDecimal>> overseasPrices = Flux.fromIterable(overseas)
+                .flatMap(symbol -> fetchOverseas(symbol).map(price -> Map.entry(symbol, price)),
+                        Math.max(1, maxConcurrency));
+        return Flux.merge(domesticPrices, overseasPrices)
+                .flatMapIterable(entry -> codesBySymbol.getOrDefault(entry.getKey(), List.of()).stream()
+                        .map(code -> new Quote(code, entry.getValue()))
+                        .toList());
+    }
+
+    /**
+     * "KRX:005930", "005930" → 국내, "NASDAQ:AAPL" → 해외(NAS), "AAPL" → 해외(거래소 미상).
+     * 국내 단축코드는 숫자로 시작하는 6자리입니다 (0082V0 등 영문이 섞인 코드 포함).
+     */
+    static Symbol parse(String code) {
+        String prefix = InstrumentCodes.prefix(code);
+        String value = InstrumentCodes.symbol(code);
+        if (prefix != null && EXCHANGE_CODES.containsKey(prefix)) {
+            return new Symbol(value, EXCHANGE_CODES.get(prefix), false);
+        }
+        if ((prefix != null && DOMESTIC_PREFIXES.contains(prefix)) || InstrumentCodes.isKrxShortCode(value)) {
+            return new Symbol(value, null, true);
+        }
+        return new Symbol(value, null, false);
+    }
+
+    List<List<String>> chunk(List<String> symbols) {
+        int size = Math.max(1, maxSymbolsPerRequest);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < symbols.size(); i += size) {
+            chunks.add(symbols.subList(i, Math.min(i + size, symbols.size())));
+        }
+        return chunks;
+    }
+
+    private Flux<Quote> fetchDomestic(List<String> symbols) {
+        Flux<Quote> quotes = symbols.size() == 1
+                ? fetchDomesticSingle(symbols.get(0)).flux()
+                : fetchDomesticMulti(symbols);
+        return quotes.onErrorResume(e -> {
+            logApiError("domestic", symbols, e);
+            return Flux.empty();
+        });
+    }
+
+    private Mono<Quote> fetchDomesticSingle(String symbol) {
+        URI uri = uri(DOMESTIC_PRICE_PATH)
+                .queryParam("FID_COND_MRKT_DIV_CODE", "J")
+                .queryParam("FID_INPUT_ISCD", symbol)
+                .build().toUri();
+        return call(uri, DOMESTIC_PRICE_TR_ID)
+                .mapNotNull(body -> price(body.path("output").path("stck_prpr")))
+                .map(price -> new Quote(symbol, price));
+    }
+
+    // 관심종목(멀티종목) 시세: FID_COND_MRKT_DIV_CODE_n/FID_INPUT_ISCD_n (n = 1..30)
+    private Flux<Quote> fetchDomesticMulti(List<String> symbols) {
+        UriComponentsBuilder builder = uri(DOMESTIC_MULTI_PRICE_PATH);
+        for (int i = 0; i < symbols.size(); i++) {
+            builder.queryParam("FID_COND_MRKT_DIV_CODE_" + (i + 1), "J")
+                    .queryParam("FID_INPUT_ISCD_" + (i + 1), symbols.get(i));
+        }
+        return call(builder.build().toUri(), DOMESTIC_MULTI_PRICE_TR_ID)
+                .flatMapIterable(body -> body.path("output"))
+                .filter(item -> !item.path("inter_shrn_iscd").asText("").isEmpty())
+                .flatMap(item -> Mono.justOrEmpty(price(item.path("inter2_prpr")))
+                        .map(price -> new Quote(item.path("inter_shrn_iscd").asText(), price)));
+    }
+
+    private Mono<BigDecimal> fetchOverseas(Symbol symbol) {
+        List<String> exchanges = symbol.exchange() != null ? List.of(symbol.exchange()) : OVERSEAS_EXCHANGES;
+        // 거래소가 맞지 않으면 정상 응답에 현재가가 비어 있으므로 다음 거래소를 조회
+        return Flux.fromIterable(exchanges)
+                .concatMap(exchange -> fetchOverseas(symbol.symbol(), exchange))
+                .next()
+                .onErrorResume(e -> {
+                    logApiError("overseas", List.of(symbol.symbol()), e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<BigDecimal> fetchOverseas(String symbol, String exchange) {
+        URI uri = uri(OVERSEAS_PRICE_PATH)
+                .queryParam("AUTH", "")
+                .queryParam("EXCD", exchange)
+                .queryParam("SYMB", symbol)
+                .build().toUri();
+        return call(uri, OVERSEAS_PRICE_TR_ID)
+                .mapNotNull(body -> price(body.path("output").path("last")));
+    }
+
+    private UriComponentsBuilder uri(String path) {
+        return UriComponentsBuilder.fromHttpUrl(tokens.getBaseUrl() + path);
+    }
+
+    private static BigDecimal price(JsonNode node) {
+        String text = node.asText("").trim();
+        if (text.isEmpty()) {
+            return null;
         }
-        return prices;
+        BigDecimal price = new BigDecimal(text);
+        return price.compareTo(BigDecimal.ZERO) > 0 ? price : null;
     }
 
-    // KIS API 특화: 배당 정보 조회 (상세 구현은 추후 확장)
-    public BigDecimal getExpectedDividend(String code) {
-        // PoC용: 주당 1,000 ~ 3,000원 사이 랜덤 배당금
-        return BigDecimal.valueOf(1000 + (random.nextDouble() * 2000)).setScale(0, RoundingMode.HALF_UP);
+    // 회로가 열려 있거나 호출 한도를 다 썼으면 호출하지 않고 에러 발행 (동시 요청 한도가 차 있으면 자리가 날 때까지 기다림)
+    private Mono<JsonNode> call(URI uri, String trId) {
+        return upstreamGuards.get(UPSTREAM).protectQueued(() -> callBudgets.get(UPSTREAM).tryAcquire()
+                ? tokens.accessToken().flatMap(token -> request(uri, trId, token))
+                : Mono.error(new CallBudget.ExceededException(UPSTREAM)));
+    }
+
+    private Mono<JsonNode> request(URI uri, String trId, String token) {
+        return webClient.get()
+                .uri(uri)
+                .header("authorization", "Bearer " + token)
+                .header("appkey", tokens.getAppKey())
+                .header("appsecret", tokens.getAppSecret())
+                .header("tr_id", trId)
+                .header("custtype", "P")
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .flatMap(body -> {
+                    if ("0".equals(body.path("rt_cd").asText())) {
+                        return Mono.just(body);
+                    }
+                    String messageCode = body.path("msg_cd").asText("");
+                    if (TOKEN_EXPIRED_CODE.equals(messageCode)) {
+                        // 다음 호출에서 새 토큰을 발급받도록 버림
+                        tokens.invalidate(token);
+                    }
+                    return Mono.error(new IllegalStateException("KIS " + trId + " failed: " + messageCode + " "
+                            + body.path("msg1").asText("")));
+                });
+    }
+
+    private void logApiError(String market, List<String> symbols, Throwable e) {
+        if (e instanceof CallBudget.ExceededException || e instanceof UpstreamGuard.RejectedException) {
+            log.debug("Skipping KIS {} lookup for {}: {}", market, symbols, e.getMessage());
+            return;
+        }
+        log.warn("KIS {} lookup failed for {}: {}", market, symbols, e.getMessage());
     }
 }
@@ -0,0 +1,161 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.support.SingleFlight;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 한국투자증권(KIS) Open API 접근 토큰. 발급받은 토큰을 만료 시각까지 재사용하고,
+ * 만료 refresh-ahead 전부터는 기존 토큰을 계속 쓰면서 백그라운드에서 한 번만 새로 발급받습니다.
+ * KIS는 토큰 발급을 분당 1회로 제한하므로 발급에 실패하면 retry-seconds 동안 다시 요청하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KisTokenManager {
+
+    static final String TOKEN_PATH = "/oauth2/tokenP";
+    private static final String TOKEN_KEY = "access-token";
+
+    private final WebClient webClient;
+
+    // 실전 투자: https://openapi.koreainvestment.com:9443, 모의 투자: https://openapivts.koreainvestment.com:29443
+    @Value("${kis.api.base-url:https://openapi.koreainvestment.com:9443}")
+    private String baseUrl = "https://openapi.koreainvestment.com:9443";
+
+    @Value("${kis.api.app-key:}")
+    private String appKey;
+
+    @Value("${kis.api.app-secret:}")
+    private String appSecret;
+
+    @Value("${kis.api.token.refresh-ahead-minutes:30}")
+    private long refreshAheadMinutes = 30;
+
+    @Value("${kis.api.token.retry-seconds:60}")
+    private long retrySeconds = 60;
+
+    private final SingleFlight<String, Token> issuer = new SingleFlight<>();
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile Token current;
+    private volatile Instant lastFailureAt;
+
+    record Token(String value, Instant expiresAt) {
+    }
+
+    public boolean isConfigured() {
+        return appKey != null && !appKey.isBlank() && appSecret != null && !appSecret.isBlank();
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getAppKey() {
+        return appKey;
+    }
+
+    public String getAppSecret() {
+        return appSecret;
+    }
+
+    /**
+     * 유효한 접근 토큰. 토큰이 없거나 만료됐으면 발급이 끝날 때까지 기다리며, 동시 요청은 한 번의 발급 결과를 함께 받습니다.
+     */
+    public Mono<String> accessToken() {
+        return Mono.defer(() -> {
+            Token token = current;
+            Instant now = Instant.now();
+            if (token != null && now.isBefore(token.expiresAt())) {
+                if (!isFresh(token, now)) {
+                    // 발급 실패는 issue()에서 기록하므로 여기서는 조용히 넘김 (기존 토큰은 만료 전까지 유효)
+                    refresh().subscribe(refreshed -> { },
+                            e -> log.debug("KIS token refresh skipped: {}", e.getMessage()));
+                }
+                return Mono.just(token.value());
+            }
+            return refresh().map(Token::value);
+        });
+    }
+
+    /**
+     * 만료됐다고 응답받은 토큰을 버립니다. 그 사이 이미 새 토큰으로 바뀌었으면 그대로 둡니다.
+     */
+    public void invalidate(String token) {
+        Token existing = current;
+        if (existing != null && existing.value().equals(token)) {
+            current = null;
+        }
+    }
+
+    private Mono<Token> refresh() {
+        return issuer.executeAsync(TOKEN_KEY, () -> {
+            // 직전에 끝난 발급이 이미 새 토큰을 남겼으면 다시 발급하지 않음
+            Token token = current;
+            if (token != null && isFresh(token, Instant.now())) {
+                return Mono.just(token);
+            }
+            Instant failedAt = lastFailureAt;
+            if (failedAt != null && Instant.now().isBefore(failedAt.plusSeconds(retrySeconds))) {
+                return Mono.error(new IllegalStateException("KIS token issuance failed recently; retrying after "
+                        + failedAt.plusSeconds(retrySeconds)));
+            }
+            // 기다리던 요청이 취소돼도 발급은 끝까지 진행해 결과를 남김
+            return Mono.fromFuture(issue().toFuture(), true);
+        }).switchIfEmpty(Mono.error(() -> new IllegalStateException("KIS access token unavailable")));
+    }
+
+    private boolean isFresh(Token token, Instant now) {
+        return now.isBefore(token.expiresAt().minus(Duration.ofMinutes(refreshAheadMinutes)));
+    }
+
+    private Mono<Token> issue() {
+        return webClient.post()
+                .uri(baseUrl + TOKEN_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("grant_type", "client_credentials", "appkey", appKey, "appsecret", appSecret))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(body -> {
+                    String value = body.path("access_token").asText("");
+                    if (value.isEmpty()) {
+                        throw new IllegalStateException("KIS token response without access_token: "
+                                + body.path("error_description").asText(""));
+                    }
+                    return new Token(value, Instant.now().plusSeconds(body.path("expires_in").asLong(86400)));
+                })
+                .doOnNext(token -> {
+                    current = token;
+                    lastFailureAt = null;
+                    issued.incrementAndGet();
+                    log.info("Issued KIS access token (expires at {})", token.expiresAt());
+                })
+                .doOnError(e -> {
+                    lastFailureAt = Instant.now();
+                    failures.incrementAndGet();
+                    log.error("Failed to issue KIS access token: {}", e.getMessage());
+                });
+    }
+
+    public Map<String, Object> stats() {
+        Token token = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("configured", isConfigured());
+        stats.put("issued", issued.get());
+        stats.put("failures", failures.get());
+        stats.put("expiresAt", token != null ? token.expiresAt().toString() : null);
+        return stats;
+    }
+}
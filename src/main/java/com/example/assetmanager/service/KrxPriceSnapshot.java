@@ -0,0 +1,208 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.KrxEndpoint;
+import com.example.assetmanager.support.CallBudget;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 공공데이터포털 주식/ETF 시세 API에서 기준일(basDt)의 전 종목 종가를 페이지 단위로 받아
+ * 단축코드(srtnCd) 기준 인메모리 테이블로 보관합니다. 같은 응답의 종목명도 함께 보관해 종목 마스터가 사용합니다.
+ * 시세는 하루 한 번만 게시되므로 종목별 likeSrtnCd 조회 대신 이 테이블을 먼저 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KrxPriceSnapshot {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter BAS_DT_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final WebClient webClient;
+    private final ProviderCallBudgets callBudgets;
+
+    @Value("${public-data.api.key}")
+    private String serviceKey;
+
+    @Value("${public-data.snapshot.enabled:true}")
+    private boolean enabled = true;
+
+    // 한 페이지에 받을 종목 수
+    @Value("${public-data.snapshot.page-size:1000}")
+    private int pageSize = 1000;
+
+    // 최신 기준일을 찾기 위해 거슬러 올라가는 최대 일수 (주말/공휴일 대비)
+    @Value("${public-data.snapshot.lookback-days:7}")
+    private int lookbackDays = 7;
+
+    // 더 최신 기준일이 게시되었는지 다시 확인하는 간격
+    @Value("${public-data.snapshot.recheck-minutes:60}")
+    private long recheckMinutes = 60;
+
+    // 페이지 응답 본문 최대 크기 (개별 시세 조회와 같은 설정 사용)
+    @Value("${public-data.api.max-response-bytes:8388608}")
+    private int maxResponseBytes = 8 * 1024 * 1024;
+
+    private Clock clock = Clock.system(KST);
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Snapshot current = Snapshot.EMPTY;
+
+    record Snapshot(LocalDate baseDate, Map<String, BigDecimal> prices, Map<String, Listing> listings,
+            Instant checkedAt) {
+        static final Snapshot EMPTY = new Snapshot(null, Map.of(), Map.of(), Instant.EPOCH);
+    }
+
+    /**
+     * 기준일에 시세가 게시된 상장 종목 (단축코드, 종목명, 조회한 API).
+     */
+    public record Listing(String srtnCd, String name, KrxEndpoint endpoint) {
+    }
+
+    /**
+     * 현재 테이블에서 단축코드의 종가를 찾습니다. 네트워크 호출은 하지 않습니다.
+     */
+    public Optional<BigDecimal> lookup(String srtnCd) {
+        return Optional.ofNullable(current.prices().get(srtnCd));
+    }
+
+    public Optional<LocalDate> getBaseDate() {
+        return Optional.ofNullable(current.baseDate());
+    }
+
+    public int size() {
+        return current.prices().size();
+    }
+
+    public Collection<Listing> listings() {
+        return current.listings().values();
+    }
+
+    /**
+     * 마지막 확인 후 재확인 간격이 지났다면 더 최신 기준일이 게시되었는지 확인하고 테이블을 교체합니다.
+     * 동시에 여러 요청이 들어와도 적재는 한 번만 수행됩니다.
+     */
+    public void refreshIfStale() {
+        if (!isActive() || !isStale()) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (isStale()) {
+                current = loadLatest();
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private boolean isActive() {
+        return enabled && PublicDataPriceProvider.hasServiceKey(serviceKey);
+    }
+
+    private boolean isStale() {
+        Snapshot snapshot = current;
+        // 오늘자 데이터는 더 이상 바뀌지 않음
+        if (LocalDate.now(clock).equals(snapshot.baseDate())) {
+            return false;
+        }
+        return snapshot.checkedAt().plus(Duration.ofMinutes(recheckMinutes)).isBefore(clock.instant());
+    }
+
+    private Snapshot loadLatest() {
+        Snapshot snapshot = current;
+        LocalDate today = LocalDate.now(clock);
+
+        for (int i = 0; i < lookbackDays; i++) {
+            LocalDate candidate = today.minusDays(i);
+            // 이미 가지고 있는 기준일 이전 데이터는 다시 받을 필요 없음
+            if (snapshot.baseDate() != null && !candidate.isAfter(snapshot.baseDate())) {
+                break;
+            }
+            try {
+                Map<String, BigDecimal> prices = new HashMap<>();
+                Map<String, Listing> listings = new HashMap<>();
+                loadDay(candidate, prices, listings);
+                if (!prices.isEmpty()) {
+                    log.info("Loaded KRX price snapshot for {}: {} codes", candidate, prices.size());
+                    return new Snapshot(candidate, Collections.unmodifiableMap(prices),
+                            Collections.unmodifiableMap(listings), clock.instant());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to load KRX price snapshot for {}: {}", candidate, e.getMessage());
+                break;
+            }
+        }
+        return new Snapshot(snapshot.baseDate(), snapshot.prices(), snapshot.listings(), clock.instant());
+    }
+
+    private void loadDay(LocalDate baseDate, Map<String, BigDecimal> prices, Map<String, Listing> listings) {
+        loadEndpoint(KrxEndpoint.STOCK, baseDate, prices, listings);
+        if (prices.isEmpty()) {
+            // 해당 일자 데이터가 아직 게시되지 않음 (주말, 공휴일, 당일 등)
+            return;
+        }
+        loadEndpoint(KrxEndpoint.ETF, baseDate, prices, listings);
+    }
+
+    private void loadEndpoint(KrxEndpoint endpoint, LocalDate baseDate, Map<String, BigDecimal> prices,
+            Map<String, Listing> listings) {
+        String path = endpoint == KrxEndpoint.ETF ? PublicDataPriceProvider.ETF_API_PATH
+                : PublicDataPriceProvider.STOCK_API_PATH;
+        int pageNo = 1;
+        long totalCount;
+        do {
+            PublicDataResponseParser.Page page = fetchPage(path, baseDate, pageNo);
+            totalCount = page.totalCount();
+
+            if (page.items().isEmpty()) {
+                break;
+            }
+            for (PublicDataResponseParser.Item item : page.items()) {
+                if (item.srtnCd() != null && item.price().compareTo(BigDecimal.ZERO) > 0) {
+                    prices.putIfAbsent(item.srtnCd(), item.price());
+                    listings.putIfAbsent(item.srtnCd(), new Listing(item.srtnCd(), item.name(), endpoint));
+                }
+            }
+            pageNo++;
+        } while ((long) (pageNo - 1) * pageSize < totalCount);
+    }
+
+    private PublicDataResponseParser.Page fetchPage(String path, LocalDate baseDate, int pageNo) {
+        // 공공데이터포털 일일 호출 한도를 개별 시세 조회와 함께 사용
+        if (!callBudgets.get(PublicDataPriceProvider.UPSTREAM).tryAcquire()) {
+            throw new CallBudget.ExceededException(PublicDataPriceProvider.UPSTREAM);
+        }
+        Flux<DataBuffer> body = webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .scheme("https")
+                        .host("apis.data.go.kr")
+                        .path(path)
+                        .queryParam("serviceKey", serviceKey)
+                        .queryParam("resultType", "json")
+                        .queryParam("basDt", baseDate.format(BAS_DT_FORMATTER))
+                        .queryParam("numOfRows", pageSize)
+                        .queryParam("pageNo", pageNo)
+                        .build())
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        return PublicDataResponseParser.parse(body, maxResponseBytes).block();
+    }
+}
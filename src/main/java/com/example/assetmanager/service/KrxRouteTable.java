@@ -0,0 +1,132 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.KrxCodeRoute;
+import com.example.assetmanager.domain.KrxEndpoint;
+import com.example.assetmanager.repository.KrxCodeRouteRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 단축코드 → 공공데이터 API(주식/ETF) 라우팅 테이블.
+ * 한 번 찾은 경로는 DB에 저장해 재시작 후에도 유지하고, 두 API 모두 모르는 코드는
+ * 만료 시간이 있는 네거티브 캐시(NONE)로 기록해 그 동안 네트워크 조회를 건너뜁니다.
+ * DB 쓰기는 전용 스레드 하나에서 차례로 하고, 쓸 때의 메모리 상태를 저장하므로 기록/삭제 순서가 뒤바뀌지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KrxRouteTable {
+
+    private final KrxCodeRouteRepository routeRepository;
+
+    // 미존재 코드를 다시 조회하기 전까지 기다리는 시간
+    @Value("${public-data.route.negative-ttl-hours:24}")
+    private long negativeTtlHours = 24;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+    // DB 반영을 기다리는 코드. 같은 코드의 변경이 몰리면 한 번만 씀
+    private final Set<String> pendingWrites = ConcurrentHashMap.newKeySet();
+    private final Scheduler writer = Schedulers.newSingle("krx-route-writer", true);
+
+    private record Route(KrxEndpoint endpoint, LocalDateTime checkedAt) {
+    }
+
+    /**
+     * 저장된 라우팅 정보를 최초 1회 메모리로 읽어옵니다.
+     */
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            try {
+                for (KrxCodeRoute route : routeRepository.findAll()) {
+                    routes.put(route.getCode(), new Route(route.getEndpoint(), route.getCheckedAt()));
+                }
+                log.info("Loaded {} KRX code routes", routes.size());
+            } catch (Exception e) {
+                log.warn("Failed to load KRX code routes: {}", e.getMessage());
+            }
+            loaded = true;
+        }
+    }
+
+    /**
+     * 코드의 조회 경로를 반환합니다. 만료되지 않은 미존재 코드는 NONE, 알 수 없는 코드는 empty입니다.
+     */
+    public Optional<KrxEndpoint> resolve(String code) {
+        Route route = routes.get(code);
+        if (route == null) {
+            return Optional.empty();
+        }
+        if (route.endpoint() == KrxEndpoint.NONE
+                && route.checkedAt().plusHours(negativeTtlHours).isBefore(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(route.endpoint());
+    }
+
+    public void record(String code, KrxEndpoint endpoint) {
+        Route previous = routes.get(code);
+        if (previous != null && previous.endpoint() == endpoint && endpoint != KrxEndpoint.NONE) {
+            return;
+        }
+        routes.put(code, new Route(endpoint, LocalDateTime.now()));
+        scheduleWrite(code);
+    }
+
+    public void recordMissing(String code) {
+        record(code, KrxEndpoint.NONE);
+    }
+
+    public void forget(String code) {
+        if (routes.remove(code) != null) {
+            scheduleWrite(code);
+        }
+    }
+
+    // WebClient 응답 스레드에서 호출되므로 DB 반영은 전용 스레드에서 수행
+    private void scheduleWrite(String code) {
+        if (pendingWrites.add(code)) {
+            writer.schedule(() -> write(code));
+        }
+    }
+
+    // 대기 표시를 먼저 지우고 현재 상태를 읽으므로, 그 뒤의 변경은 이번 쓰기에 반영되거나 다음 쓰기를 예약함
+    private void write(String code) {
+        pendingWrites.remove(code);
+        Route route = routes.get(code);
+        try {
+            Optional<KrxCodeRoute> stored = routeRepository.findByCode(code);
+            if (route == null) {
+                stored.ifPresent(routeRepository::delete);
+                return;
+            }
+            KrxCodeRoute entity = stored.orElse(KrxCodeRoute.builder().code(code).build());
+            entity.setEndpoint(route.endpoint());
+            entity.setCheckedAt(route.checkedAt());
+            routeRepository.save(entity);
+        } catch (Exception e) {
+            log.warn("Failed to write KRX code route for {}: {}", code, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.dispose();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.assetmanager.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * KRX 정규장 달력. 주말과 휴장일 파일(krx-holidays.txt)에 있는 날짜를 제외한 날의 정규장 시간(KST)을 판단합니다.
+ */
+@Slf4j
+@Component
+public class KrxTradingCalendar {
+
+    static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // 휴장일을 찾기 위해 거슬러 올라가는 최대 일수 (설/추석 연휴 + 주말 대비)
+    private static final int MAX_LOOKBACK_DAYS = 14;
+
+    @Value("${krx.calendar.holidays-file:classpath:krx-holidays.txt}")
+    private Resource holidaysFile = new ClassPathResource("krx-holidays.txt");
+
+    @Value("${krx.calendar.session-open:09:00}")
+    private String sessionOpen = "09:00";
+
+    @Value("${krx.calendar.session-close:15:30}")
+    private String sessionClose = "15:30";
+
+    private volatile Set<LocalDate> holidays = Set.of();
+
+    @PostConstruct
+    public void loadHolidays() {
+        try (InputStream in = holidaysFile.getInputStream()) {
+            holidays = parse(in);
+            log.info("Loaded {} KRX holidays from {}", holidays.size(), holidaysFile.getDescription());
+        } catch (IOException e) {
+            log.warn("Failed to load KRX holidays from {}: {}", holidaysFile.getDescription(), e.getMessage());
+        }
+    }
+
+    // 한 줄에 yyyy-MM-dd 하나, '#' 뒤는 주석
+    static Set<LocalDate> parse(InputStream in) throws IOException {
+        Set<LocalDate> dates = new HashSet<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int comment = line.indexOf('#');
+            String date = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (!date.isEmpty()) {
+                dates.add(LocalDate.parse(date));
+            }
+        }
+        return Set.copyOf(dates);
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date);
+    }
+
+    /**
+     * 정규장 시간 중인지 확인합니다.
+     */
+    public boolean isOpen(Instant now) {
+        ZonedDateTime time = now.atZone(KST);
+        LocalTime localTime = time.toLocalTime();
+        return isTradingDay(time.toLocalDate())
+                && !localTime.isBefore(LocalTime.parse(sessionOpen))
+                && localTime.isBefore(LocalTime.parse(sessionClose));
+    }
+
+    /**
+     * now 이전에 마감된 가장 최근 정규장의 마감 시각. 이 시각 이후로는 장이 다시 열릴 때까지 시세가 바뀌지 않습니다.
+     */
+    public Optional<Instant> lastSessionClose(Instant now) {
+        LocalDate date = now.atZone(KST).toLocalDate();
+        for (int i = 0; i <= MAX_LOOKBACK_DAYS; i++) {
+            LocalDate candidate = date.minusDays(i);
+            if (isTradingDay(candidate)) {
+                Instant close = candidate.atTime(LocalTime.parse(sessionClose)).atZone(KST).toInstant();
+                if (!close.isAfter(now)) {
+                    return Optional.of(close);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int holidayCount() {
+        return holidays.size();
+    }
+}
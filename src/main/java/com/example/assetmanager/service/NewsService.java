@@ -5,6 +5,8 @@ import com.example.assetmanager.domain.NewsLog;
 import com.example.assetmanager.dto.NewsItem;
 import com.example.assetmanager.repository.NewsFetchHistoryRepository;
 import com.example.assetmanager.repository.NewsLogRepository;
+import com.example.assetmanager.support.RequestDeadline;
+import com.example.assetmanager.support.UpstreamGuard;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import lombok.RequiredArgsConstructor;
@@ -28,10 +30,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NewsService {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
     private final XmlMapper xmlMapper = new XmlMapper();
     private final NewsLogRepository newsLogRepository;
     private final NewsFetchHistoryRepository newsFetchHistoryRepository;
+    private final UpstreamGuards upstreamGuards;
+
+    static final String UPSTREAM = "google-news";
 
     private static final DateTimeFormatter RFC_1123_FORMATTER = DateTimeFormatter.RFC_1123_DATE_TIME;
     private static final int CACHE_MINUTES = 10;
@@ -146,11 +151,10 @@ public class NewsService {
                 .toUriString();
 
         try {
-            String xml = webClientBuilder.build()
-                    .get()
+            String xml = upstreamGuards.get(UPSTREAM).protect(() -> webClient.get()
                     .uri(url)
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .bodyToMono(String.class))
                     .block();
 
             if (xml == null)
@@ -169,6 +173,9 @@ public class NewsService {
             }
 
             return newsItems;
+        } catch (UpstreamGuard.RejectedException | RequestDeadline.ExceededException e) {
+            log.warn("Skipping news search for query {}: {}", query, e.getMessage());
+            return List.of();
         } catch (Exception e) {
             log.error("Error searching news for query: {}", query, e);
             return List.of();
@@ -0,0 +1,218 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import com.example.assetmanager.support.InstrumentCodes;
+import com.example.assetmanager.support.SingleFlight;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 모든 계좌와 PriceProvider가 공유하는 시세 캐시.
+ * 정규화한 종목코드 하나당 시세 하나만 보관하며, 만료 시간은 자산 유형별 정책을 따르고
+ * 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거합니다.
+ */
+@Slf4j
+@Component
+public class PriceCache {
+
+    @Value("${price.cache.max-size:5000}")
+    private int maxSize = 5000;
+
+    // 가상화폐는 24시간 거래되므로 수 초 단위로만 재사용
+    @Value("${price.cache.ttl.crypto-seconds:10}")
+    private long cryptoTtlSeconds = 10;
+
+    // 국내 종목 시세(공공데이터)는 하루 한 번 갱신
+    @Value("${price.cache.ttl.krx-hours:24}")
+    private long krxTtlHours = 24;
+
+    @Value("${price.cache.ttl.overseas-minutes:15}")
+    private long overseasTtlMinutes = 15;
+
+    @Value("${price.cache.ttl.default-minutes:60}")
+    private long defaultTtlMinutes = 60;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // 캐시에 없는 같은 종목을 동시에 조회하면 외부 호출 하나로 합침
+    private final SingleFlight<String, BigDecimal> loads = new SingleFlight<>();
+
+    private record Entry(BigDecimal price, Instant expiresAt) {
+    }
+
+    // access-order LinkedHashMap으로 크기 제한 LRU 구성
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxSize) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public Duration ttlFor(AssetType type) {
+        if (type == null) {
+            return Duration.ofMinutes(defaultTtlMinutes);
+        }
+        return switch (type) {
+            case CRYPTO -> Duration.ofSeconds(cryptoTtlSeconds);
+            case STOCK, STOCK_KR, ETF_KR, REITS, BOND_KR -> Duration.ofHours(krxTtlHours);
+            case STOCK_US, BOND_US -> Duration.ofMinutes(overseasTtlMinutes);
+            default -> Duration.ofMinutes(defaultTtlMinutes);
+        };
+    }
+
+    public Optional<BigDecimal> get(AssetType type, String code) {
+        String key = normalize(type, code);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+                hits.incrementAndGet();
+                return Optional.of(entry.price());
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * 만료 전 시세가 있는지 확인합니다. 적중/미스 통계에는 반영하지 않습니다.
+     */
+    public boolean contains(AssetType type, String code) {
+        synchronized (entries) {
+            Entry entry = entries.get(normalize(type, code));
+            return entry != null && entry.expiresAt().isAfter(clock.instant());
+        }
+    }
+
+    public void put(AssetType type, String code, BigDecimal price) {
+        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+            return;
+        }
+        Entry entry = new Entry(price, clock.instant().plus(ttlFor(type)));
+        synchronized (entries) {
+            entries.put(normalize(type, code), entry);
+        }
+    }
+
+    /**
+     * 캐시에 없는 종목을 조회합니다. 같은 종목을 동시에 조회하는 요청들은 loader 호출 하나를 공유합니다.
+     */
+    public BigDecimal load(AssetType type, String code, Supplier<BigDecimal> loader) {
+        return loadAsync(type, code, () -> Mono.fromSupplier(loader)).block();
+    }
+
+    public Mono<BigDecimal> loadAsync(AssetType type, String code, Supplier<Mono<BigDecimal>> loader) {
+        return loads.executeAsync(normalize(type, code), () -> {
+            Optional<BigDecimal> loadedMeanwhile = peek(type, code);
+            if (loadedMeanwhile.isPresent()) {
+                return Mono.just(loadedMeanwhile.get());
+            }
+            return loader.get().doOnNext(price -> put(type, code, price));
+        });
+    }
+
+    /**
+     * 여러 종목을 한 번에 조회합니다. 다른 요청이 이미 조회 중인 종목은 그 결과를 기다리고,
+     * 나머지 종목만 원래 코드 그대로 loader에 넘깁니다. 결과는 호출자가 넘긴 코드 기준으로 반환합니다.
+     */
+    public Map<String, BigDecimal> loadAll(AssetType type, Collection<String> codes,
+            Function<List<String>, Map<String, BigDecimal>> loader) {
+        return loadAllAsync(type, codes, requestCodes -> Mono.fromSupplier(() -> loader.apply(requestCodes)))
+                .block();
+    }
+
+    public Mono<Map<String, BigDecimal>> loadAllAsync(AssetType type, Collection<String> codes,
+            Function<List<String>, Mono<Map<String, BigDecimal>>> loader) {
+        Map<String, List<String>> codesByKey = new LinkedHashMap<>();
+        for (String code : codes) {
+            codesByKey.computeIfAbsent(normalize(type, code), key -> new ArrayList<>()).add(code);
+        }
+
+        return loads.executeAllAsync(codesByKey.keySet(), keys -> {
+            List<String> requestCodes = keys.stream().map(key -> codesByKey.get(key).get(0)).toList();
+            return loader.apply(requestCodes).map(fetched -> {
+                Map<String, BigDecimal> loaded = new HashMap<>();
+                for (String key : keys) {
+                    BigDecimal price = fetched.get(codesByKey.get(key).get(0));
+                    if (price != null) {
+                        loaded.put(key, price);
+                        put(type, key, price);
+                    }
+                }
+                return loaded;
+            });
+        }).map(pricesByKey -> {
+            Map<String, BigDecimal> prices = new LinkedHashMap<>();
+            pricesByKey.forEach((key, price) -> codesByKey.get(key).forEach(code -> prices.put(code, price)));
+            return prices;
+        });
+    }
+
+    // 통계에 영향을 주지 않는 조회
+    private Optional<BigDecimal> peek(AssetType type, String code) {
+        synchronized (entries) {
+            Entry entry = entries.get(normalize(type, code));
+            if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+                return Optional.of(entry.price());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void invalidate(AssetType type, String code) {
+        synchronized (entries) {
+            entries.remove(normalize(type, code));
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("loads", loads.stats());
+        return stats;
+    }
+
+    /**
+     * 거래소 접두사(KRX: 등)를 떼고 대문자로 맞춥니다. 가상화폐는 KRW- 마켓으로 통일합니다.
+     */
+    static String normalize(AssetType type, String code) {
+        return type == AssetType.CRYPTO ? InstrumentCodes.upbitMarket(code) : InstrumentCodes.symbol(code);
+    }
+}
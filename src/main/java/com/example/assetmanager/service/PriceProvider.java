@@ -10,4 +10,25 @@ public interface PriceProvider {
     BigDecimal getCurrentPrice(String code);
 
     Map<String, BigDecimal> getMultiplePrices(Iterable<String> codes);
+
+    /**
+     * 실제 시세를 제공할 수 있는지 여부. false인 Provider는 시세 라우팅 체인에서 제외됩니다.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * 호출하는 외부 API 이름. 호출 한도 등 외부 API 단위 설정의 키로 사용합니다.
+     */
+    default String upstream() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * 종목 하나를 조회할 때 쓸 수 있는 최대 외부 호출 수 (호출 한도 계산용). 호출 없이 답할 수 있으면 0입니다.
+     */
+    default int maxCalls(String code) {
+        return 1;
+    }
 }
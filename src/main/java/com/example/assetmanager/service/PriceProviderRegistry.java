@@ -0,0 +1,108 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 자산 유형(및 종목코드 접두사)별 시세 조회 경로.
+ * 시작 시 한 번 supports()/isAvailable()로 유형별 Provider 체인을 만들어(@Order 순) EnumMap에 보관하고,
+ * 체인마다 공유 캐시 데코레이터를 씌워 둡니다. 조회 시에는 EnumMap 조회만 수행합니다.
+ */
+@Slf4j
+@Component
+public class PriceProviderRegistry {
+
+    static final String KRX_PREFIX = "KRX:";
+
+    private final Map<AssetType, List<PriceProvider>> chains = new EnumMap<>(AssetType.class);
+    private final Map<AssetType, CachingPriceProvider> routes = new EnumMap<>(AssetType.class);
+
+    public PriceProviderRegistry(List<PriceProvider> providers, PriceCache priceCache) {
+        this(providers, priceCache, 5000, 15000, 1500);
+    }
+
+    @Autowired
+    public PriceProviderRegistry(List<PriceProvider> providers, PriceCache priceCache,
+            @Value("${price.provider.timeout-ms:5000}") long timeoutMillis,
+            @Value("${price.provider.batch-timeout-ms:15000}") long batchTimeoutMillis,
+            @Value("${price.provider.hedge-delay-ms:1500}") long hedgeDelayMillis) {
+        for (AssetType type : AssetType.values()) {
+            List<PriceProvider> chain = providers.stream()
+                    .filter(provider -> provider.isAvailable() && provider.supports(type))
+                    .toList();
+            chains.put(type, chain);
+            if (!chain.isEmpty()) {
+                FallbackPriceProvider fallback = new FallbackPriceProvider(
+                        chain.stream().map(ReactivePriceProvider::of).toList(),
+                        Duration.ofMillis(timeoutMillis), Duration.ofMillis(batchTimeoutMillis),
+                        Duration.ofMillis(hedgeDelayMillis));
+                routes.put(type, new CachingPriceProvider(fallback, priceCache, type));
+            }
+        }
+        log.info("Price provider routes: {}", describe());
+    }
+
+    /**
+     * 보유 자산의 시세 조회 경로. 시세를 조회할 수 없는 자산(현금 등, 코드 없음)은 비어 있습니다.
+     */
+    public Optional<CachingPriceProvider> route(AssetType type, String code) {
+        AssetType routeType = routeType(type, code);
+        return routeType == null ? Optional.empty() : Optional.ofNullable(routes.get(routeType));
+    }
+
+    /**
+     * 유형이 없으면 KRX: 접두사로 국내 주식을 추정하고, KRX: 종목인데 해당 유형의 체인이 없으면
+     * 국내 주식 체인을 사용합니다 (KRX: 종목은 유형과 무관하게 국내 시세로 조회하던 기존 동작 유지).
+     */
+    AssetType routeType(AssetType type, String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        boolean krxListed = code.startsWith(KRX_PREFIX);
+        if (type == null) {
+            return krxListed ? AssetType.STOCK : null;
+        }
+        if (krxListed && !routes.containsKey(type)) {
+            return AssetType.STOCK;
+        }
+        return type;
+    }
+
+    /**
+     * 종목의 조회 경로에서 가장 먼저 호출하는 외부 API (호출 한도 확인용). 경로가 없으면 비어 있습니다.
+     */
+    public Optional<String> primaryUpstream(AssetType type, String code) {
+        AssetType routeType = routeType(type, code);
+        List<PriceProvider> chain = routeType == null ? List.of() : chain(routeType);
+        return chain.isEmpty() ? Optional.empty() : Optional.ofNullable(chain.get(0).upstream());
+    }
+
+    /**
+     * 종목을 조회할 때 가장 먼저 호출하는 외부 API에서 쓸 수 있는 최대 호출 수. 경로가 없으면 0입니다.
+     */
+    public int maxCalls(AssetType type, String code) {
+        AssetType routeType = routeType(type, code);
+        List<PriceProvider> chain = routeType == null ? List.of() : chain(routeType);
+        return chain.isEmpty() ? 0 : chain.get(0).maxCalls(code);
+    }
+
+    public List<PriceProvider> chain(AssetType type) {
+        return chains.getOrDefault(type, List.of());
+    }
+
+    public Map<String, List<String>> describe() {
+        Map<String, List<String>> description = new LinkedHashMap<>();
+        chains.forEach((type, chain) -> description.put(type.name(),
+                chain.stream().map(provider -> provider.getClass().getSimpleName()).toList()));
+        return description;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.Asset;
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.dto.HeldInstrument;
+import com.example.assetmanager.repository.AssetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시세가 오래된 보유 종목을 "원화 평가금액 × 경과 시간" 순으로 갱신합니다.
+ * 외부 API(upstream)마다 남은 호출 한도만큼만 우선순위가 높은 종목부터 고르고, 나머지는 다음 실행으로 미룹니다.
+ * 종목 하나는 Provider가 알려 주는 최대 호출 수로 계산합니다 ({@link PriceProvider#maxCalls}: 공공데이터에서 경로를
+ * 모르는 종목은 주식 → ETF 탐색으로 2회). 일괄 조회나 첫 API에서 찾은 경우는 그보다 적게 씁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceRefreshQueue {
+
+    // 갱신된 적 없는 자산의 경과 시간, 그리고 경과 시간 상한 (오래 방치된 소액 자산이 순서를 독점하지 않도록)
+    private static final Duration MAX_STALENESS = Duration.ofDays(7);
+
+    private final AssetRepository assetRepository;
+    private final PriceProviderRegistry priceProviderRegistry;
+    private final ProviderCallBudgets callBudgets;
+    private final AssetPriceWriter assetPriceWriter;
+    private final FxRateService fxRateService;
+
+    // 조회 경로마다 한 번에 조회할 종목 수와 묶음 사이 대기 시간
+    @Value("${price.refresh.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${price.refresh.batch-delay-ms:1000}")
+    private long batchDelayMillis = 1000;
+
+    private Clock clock = Clock.systemDefaultZone();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong refreshed = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+
+    // priority = 원화 평가금액 × 경과 초. 정렬 비교마다 곱하지 않도록 만들 때 한 번 계산
+    record Candidate(HeldInstrument instrument, BigDecimal marketValue, Duration staleness, BigDecimal priority) {
+        Candidate(HeldInstrument instrument, BigDecimal marketValue, Duration staleness) {
+            this(instrument, marketValue, staleness, marketValue.multiply(BigDecimal.valueOf(staleness.toSeconds())));
+        }
+    }
+
+    /**
+     * 주어진 유형 중 staleBefore 이전에 갱신된 자산을 우선순위대로 호출 한도 안에서 갱신합니다.
+     * force가 false면 공유 캐시에 있는 종목은 호출 없이 반영하고 한도도 쓰지 않습니다.
+     */
+    public Mono<Map<String, Object>> refreshAsync(Collection<AssetType> types, LocalDateTime staleBefore,
+            boolean force) {
+        return Mono.fromCallable(() -> assetRepository.findStaleByTypes(types, staleBefore))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(assets -> {
+                    runs.incrementAndGet();
+                    List<Candidate> ranked = rank(assets, LocalDateTime.now(clock));
+                    RoutedInstruments selected = new RoutedInstruments();
+                    int skipped = select(ranked, force, selected);
+                    deferred.addAndGet(skipped);
+
+                    return selected.fetch((route, codes) -> {
+                                if (force) {
+                                    route.invalidate(codes);
+                                }
+                                return pacedFetch(route, codes);
+                            })
+                            .flatMap(prices -> Mono.fromCallable(
+                                    () -> assetPriceWriter.writePrices(prices, LocalDateTime.now(clock)))
+                                    .subscribeOn(Schedulers.boundedElastic())
+                                    .map(updatedAssets -> {
+                                        refreshed.addAndGet(prices.size());
+                                        Map<String, Object> result = new LinkedHashMap<>();
+                                        result.put("candidates", ranked.size());
+                                        result.put("selected", ranked.size() - skipped);
+                                        result.put("deferred", skipped);
+                                        result.put("priced", prices.size());
+                                        result.put("updatedAssets", updatedAssets);
+                                        return result;
+                                    }));
+                });
+    }
+
+    /**
+     * 조회 경로가 있는 자산을 종목별로 묶어 원화 평가금액(수량 × 현재가, 없으면 평균단가, × 환율)을 합하고,
+     * 가장 오래된 갱신 시각 기준 경과 시간을 곱한 값이 큰 순서로 정렬합니다.
+     */
+    List<Candidate> rank(List<Asset> assets, LocalDateTime now) {
+        FxRateService.Rates rates = fxRateService.currentRates();
+        Map<HeldInstrument, BigDecimal> values = new LinkedHashMap<>();
+        Map<HeldInstrument, Duration> staleness = new HashMap<>();
+        for (Asset asset : assets) {
+            if (priceProviderRegistry.route(asset.getType(), asset.getCode()).isEmpty()) {
+                continue;
+            }
+            HeldInstrument instrument = new HeldInstrument(asset.getType(), asset.getCode());
+            values.merge(instrument, marketValue(asset, rates), BigDecimal::add);
+            staleness.merge(instrument, staleness(asset, now), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        values.forEach((instrument, value) -> candidates.add(
+                new Candidate(instrument, value, staleness.get(instrument))));
+        candidates.sort(Comparator.comparing(Candidate::priority).reversed());
+        return candidates;
+    }
+
+    // 우선순위 순으로 upstream별 남은 한도만큼 고르고, 고르지 못한 종목 수를 반환
+    // 이미 고른 종목과 표기만 다른 코드("005930"과 "KRX:005930")는 한도를 쓰지 않고 함께 반영
+    private int select(List<Candidate> ranked, boolean force, RoutedInstruments selected) {
+        Map<String, Integer> remaining = new HashMap<>();
+        int skipped = 0;
+        for (Candidate candidate : ranked) {
+            HeldInstrument instrument = candidate.instrument();
+            CachingPriceProvider route = priceProviderRegistry.route(instrument.type(), instrument.code())
+                    .orElseThrow();
+            if (selected.contains(route, instrument) || (!force && route.isCached(instrument.code()))) {
+                selected.add(route, instrument);
+                continue;
+            }
+            Optional<String> upstream = priceProviderRegistry.primaryUpstream(instrument.type(), instrument.code());
+            int cost = priceProviderRegistry.maxCalls(instrument.type(), instrument.code());
+            int left = upstream.map(name -> remaining.computeIfAbsent(name, n -> callBudgets.get(n).remaining()))
+                    .orElse(Integer.MAX_VALUE);
+            if (left < cost) {
+                skipped++;
+                continue;
+            }
+            upstream.ifPresent(name -> remaining.put(name, left - cost));
+            selected.add(route, instrument);
+        }
+        return skipped;
+    }
+
+    private Flux<Quote> pacedFetch(CachingPriceProvider provider, List<String> codes) {
+        int size = Math.max(1, batchSize);
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < codes.size(); i += size) {
+            batches.add(codes.subList(i, Math.min(codes.size(), i + size)));
+        }
+        return Flux.fromIterable(batches)
+                .index()
+                .concatMap(batch -> Mono.delay(batch.getT1() == 0 ? Duration.ZERO
+                        : Duration.ofMillis(batchDelayMillis))
+                        .thenMany(provider.fetchPrices(batch.getT2())));
+    }
+
+    // 원화 평가금액. 환율을 아직 받지 못한 통화는 순서만 정하면 되므로 자산 통화 금액을 그대로 씀
+    private static BigDecimal marketValue(Asset asset, FxRateService.Rates rates) {
+        BigDecimal quantity = asset.getQuantity() != null ? asset.getQuantity() : BigDecimal.ZERO;
+        BigDecimal price = asset.getCurrentPrice();
+        if (price == null || price.signum() <= 0) {
+            price = asset.getAveragePurchasePrice() != null ? asset.getAveragePurchasePrice() : BigDecimal.ZERO;
+        }
+        BigDecimal fxRate = rates.rate(FxRateService.currencyOf(asset)).orElse(BigDecimal.ONE);
+        return quantity.multiply(price).multiply(fxRate).abs();
+    }
+
+    private static Duration staleness(Asset asset, LocalDateTime now) {
+        if (asset.getLastPriceUpdate() == null) {
+            return MAX_STALENESS;
+        }
+        Duration age = Duration.between(asset.getLastPriceUpdate(), now);
+        if (age.isNegative()) {
+            return Duration.ZERO;
+        }
+        return age.compareTo(MAX_STALENESS) > 0 ? MAX_STALENESS : age;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("runs", runs.get());
+        stats.put("refreshed", refreshed.get());
+        stats.put("deferred", deferred.get());
+        stats.put("budgets", callBudgets.stats());
+        return stats;
+    }
+}
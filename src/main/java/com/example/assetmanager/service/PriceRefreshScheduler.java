@@ -0,0 +1,155 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전체 계좌의 시세를 백그라운드에서 갱신합니다. 조회 요청(계좌 요약)은 저장된 시세만 읽으므로 외부 호출이 없습니다.
+ * <ul>
+ * <li>가상화폐: 24시간 거래되므로 crypto-interval마다 갱신</li>
+ * <li>국내(KRX): 정규장 중에는 krx-interval마다, 장 마감 후에는 마감 이후 갱신되지 않은 자산만 한 번 갱신하고
+ * 주말/휴장일/장외 시간에는 조회하지 않음</li>
+ * <li>그 외(해외 등): 거래 달력이 없으므로 other-interval마다 갱신</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceRefreshScheduler {
+
+    private static final Set<AssetType> KRX_TYPES = EnumSet.of(AssetType.STOCK, AssetType.STOCK_KR,
+            AssetType.ETF_KR, AssetType.REITS, AssetType.BOND_KR);
+
+    enum MarketGroup {
+        CRYPTO, KRX, OTHER;
+
+        static MarketGroup of(AssetType type) {
+            if (type == AssetType.CRYPTO)
+                return CRYPTO;
+            return KRX_TYPES.contains(type) ? KRX : OTHER;
+        }
+    }
+
+    private final PriceRefreshQueue priceRefreshQueue;
+    private final PriceProviderRegistry priceProviderRegistry;
+    private final KrxTradingCalendar calendar;
+
+    @Value("${price.scheduler.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${price.scheduler.crypto-interval-seconds:60}")
+    private long cryptoIntervalSeconds = 60;
+
+    @Value("${price.scheduler.krx-interval-minutes:10}")
+    private long krxIntervalMinutes = 10;
+
+    @Value("${price.scheduler.other-interval-minutes:15}")
+    private long otherIntervalMinutes = 15;
+
+    private Clock clock = Clock.system(KrxTradingCalendar.KST);
+    private final Map<MarketGroup, Instant> lastRuns = new ConcurrentHashMap<>();
+    private final Map<MarketGroup, Integer> lastUpdated = new ConcurrentHashMap<>();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong closedSkips = new AtomicLong();
+
+    @Scheduled(initialDelayString = "${price.scheduler.initial-delay-seconds:30}",
+            fixedDelayString = "${price.scheduler.tick-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void tick() {
+        if (!enabled)
+            return;
+        Instant now = clock.instant();
+        for (MarketGroup group : MarketGroup.values()) {
+            try {
+                refreshIfDue(group, now);
+            } catch (Exception e) {
+                log.warn("Background price refresh failed for {}: {}", group, e.getMessage());
+            }
+        }
+    }
+
+    void refreshIfDue(MarketGroup group, Instant now) {
+        List<AssetType> types = Arrays.stream(AssetType.values())
+                .filter(type -> MarketGroup.of(type) == group && !priceProviderRegistry.chain(type).isEmpty())
+                .toList();
+        if (types.isEmpty())
+            return;
+
+        Duration interval = interval(group);
+        Instant lastRun = lastRuns.get(group);
+        if (lastRun != null && lastRun.plus(interval).isAfter(now))
+            return;
+
+        Optional<Instant> staleBefore = staleBefore(group, now, interval);
+        if (staleBefore.isEmpty()) {
+            closedSkips.incrementAndGet();
+            return;
+        }
+
+        lastRuns.put(group, now);
+        runs.incrementAndGet();
+        LocalDateTime since = LocalDateTime.ofInstant(staleBefore.get(), ZoneId.systemDefault());
+        // 오래된 자산은 평가금액 × 경과 시간 순으로 Provider별 호출 한도 안에서만 갱신 (나머지는 다음 실행으로)
+        Map<String, Object> result = priceRefreshQueue.refreshAsync(types, since, false).block();
+        Object updated = result != null ? result.get("updatedAssets") : null;
+        lastUpdated.put(group, updated instanceof Integer count ? count : 0);
+        log.debug("Background price refresh for {}: {}", group, result);
+    }
+
+    /**
+     * 이 시각 이전에 갱신된 자산만 다시 조회합니다. 장이 닫혀 있으면 마지막 마감 이후 갱신된 자산은 시세가 바뀌지 않았으므로
+     * 건너뛰고, 마감 이후 모두 갱신되었다면 장이 다시 열릴 때까지 조회하지 않습니다.
+     */
+    Optional<Instant> staleBefore(MarketGroup group, Instant now, Duration interval) {
+        if (group != MarketGroup.KRX || calendar.isOpen(now))
+            return Optional.of(now.minus(interval));
+        Optional<Instant> lastClose = calendar.lastSessionClose(now);
+        Instant lastRun = lastRuns.get(MarketGroup.KRX);
+        if (lastClose.isEmpty() || (lastRun != null && lastRun.isAfter(lastClose.get())))
+            return Optional.empty();
+        return lastClose;
+    }
+
+    private Duration interval(MarketGroup group) {
+        return switch (group) {
+            case CRYPTO -> Duration.ofSeconds(cryptoIntervalSeconds);
+            case KRX -> Duration.ofMinutes(krxIntervalMinutes);
+            case OTHER -> Duration.ofMinutes(otherIntervalMinutes);
+        };
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("krxOpen", calendar.isOpen(clock.instant()));
+        stats.put("runs", runs.get());
+        stats.put("closedSkips", closedSkips.get());
+        Map<String, Object> groups = new LinkedHashMap<>();
+        for (MarketGroup group : MarketGroup.values()) {
+            Map<String, Object> groupStats = new LinkedHashMap<>();
+            groupStats.put("lastRun", lastRuns.get(group));
+            groupStats.put("lastUpdated", lastUpdated.get(group));
+            groups.put(group.name(), groupStats);
+        }
+        stats.put("groups", groups);
+        return stats;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.support.CallBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시세 Provider(외부 API)별 호출 한도. Provider는 외부 호출 직전에 자기 upstream의 한도를 차감하고,
+ * 한도를 다 쓰면 호출하지 않습니다. 설정이 없는 upstream은 제한하지 않습니다.
+ */
+@Component
+public class ProviderCallBudgets {
+
+    private static final Clock KST_CLOCK = Clock.system(ZoneId.of("Asia/Seoul"));
+
+    private final Map<String, CallBudget> budgets = new ConcurrentHashMap<>();
+
+    public ProviderCallBudgets() {
+        this(0, 1440, 0, 1, 0, 1);
+    }
+
+    @Autowired
+    public ProviderCallBudgets(
+            @Value("${price.budget.public-data.limit:10000}") int publicDataLimit,
+            @Value("${price.budget.public-data.window-minutes:1440}") long publicDataWindowMinutes,
+            @Value("${price.budget.upbit.limit:600}") int upbitLimit,
+            @Value("${price.budget.upbit.window-minutes:1}") long upbitWindowMinutes,
+            @Value("${price.budget.kis.limit:900}") int kisLimit,
+            @Value("${price.budget.kis.window-minutes:1}") long kisWindowMinutes) {
+        register(PublicDataPriceProvider.UPSTREAM, publicDataLimit, publicDataWindowMinutes);
+        register(UpbitPriceProvider.UPSTREAM, upbitLimit, upbitWindowMinutes);
+        register(KisPriceProvider.UPSTREAM, kisLimit, kisWindowMinutes);
+    }
+
+    private void register(String upstream, int limit, long windowMinutes) {
+        budgets.put(upstream, new CallBudget(upstream, limit, Duration.ofMinutes(windowMinutes), KST_CLOCK));
+    }
+
+    public CallBudget get(String upstream) {
+        return budgets.computeIfAbsent(upstream, CallBudget::unlimited);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        budgets.forEach((upstream, budget) -> stats.put(upstream, budget.stats()));
+        return stats;
+    }
+}
@@ -1,31 +1,62 @@
 package com.example.assetmanager.service;
 
 import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.domain.KrxEndpoint;
+import com.example.assetmanager.support.Bulkhead;
+import com.example.assetmanager.support.CallBudget;
+import com.example.assetmanager.support.InstrumentCodes;
+import com.example.assetmanager.support.UpstreamGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@SuppressWarnings("unchecked")
 @Order(1)
-public class PublicDataPriceProvider implements PriceProvider {
+public class PublicDataPriceProvider implements ReactivePriceProvider {
 
     private final WebClient webClient;
+    private final KrxPriceSnapshot snapshot;
+    private final KrxRouteTable routeTable;
+    private final ProviderCallBudgets callBudgets;
+    private final UpstreamGuards upstreamGuards;
+    private final Bulkheads bulkheads;
 
     @Value("${public-data.api.key}")
     private String serviceKey;
 
-    private static final String STOCK_API_PATH = "/1160100/service/GetStockSecuritiesInfoService/getStockPriceInfo";
-    private static final String ETF_API_PATH = "/1160100/service/GetSecuritiesProductInfoService/getETFPriceInfo";
+    // 일괄 조회 시 동시에 보낼 최대 요청 수
+    @Value("${public-data.api.max-concurrency:8}")
+    private int maxConcurrency = 8;
+
+    // 일괄 조회 전체에 허용하는 최대 시간 (초과 시 완료된 종목만 반환)
+    @Value("${public-data.api.batch-timeout-ms:10000}")
+    private long batchTimeoutMillis = 10000;
+
+    // 응답 본문 최대 크기 (넘으면 끝까지 받지 않고 실패)
+    @Value("${public-data.api.max-response-bytes:8388608}")
+    private int maxResponseBytes = 8 * 1024 * 1024;
+
+    static final String UPSTREAM = "public-data";
+    static final String STOCK_API_PATH = "/1160100/service/GetStockSecuritiesInfoService/getStockPriceInfo";
+    static final String ETF_API_PATH = "/1160100/service/GetSecuritiesProductInfoService/getETFPriceInfo";
+    // application.properties 기본값과 예시 파일의 자리표시자. 이 값이면 키가 없는 것으로 봄
+    private static final Set<String> PLACEHOLDER_KEYS = Set.of(
+            "your_public_data_api_key_here", "your_service_key_here", "your_api_key");
 
     @Override
     public boolean supports(AssetType type) {
@@ -35,96 +66,205 @@ public class PublicDataPriceProvider implements PriceProvider {
     }
 
     @Override
-    public BigDecimal getCurrentPrice(String code) {
-        if (serviceKey == null || serviceKey.equals("YOUR_SERVICE_KEY_HERE") || code == null || code.isBlank()) {
-            return BigDecimal.ZERO;
-        }
+    public String upstream() {
+        return UPSTREAM;
+    }
 
-        // 구글 시트 등에서 사용하는 Prefix 제거 (예: KRX:0082V0 -> 0082V0)
-        String cleanCode = code;
-        if (code.contains(":")) {
-            cleanCode = code.substring(code.lastIndexOf(":") + 1);
+    @Override
+    public Mono<BigDecimal> fetchCurrentPrice(String code) {
+        if (!isConfigured() || code == null || code.isBlank()) {
+            return Mono.just(BigDecimal.ZERO);
         }
+        return prepare().then(Mono.defer(() -> fetchPrice(code)))
+                .onErrorResume(Bulkhead::isRejected, e -> {
+                    log.warn("Skipped Public Data lookup for {}: {}", code, e.getMessage());
+                    return Mono.just(BigDecimal.ZERO);
+                });
+    }
 
-        // 1. 주식 시세 정보 API 호출 시도
-        BigDecimal price = fetchFromApi(STOCK_API_PATH, cleanCode);
+    // 스냅샷 적재/DB 조회는 블로킹 작업이므로 이벤트 루프가 아닌 공공데이터 전용 bulkhead에서 수행.
+    // bulkhead가 가득 차 있으면 Bulkhead.RejectedException으로 실패하므로 (Reactor가 감싸서 발행) 호출하는 쪽에서 0 또는 빈 결과로 바꿈
+    private Mono<Void> prepare() {
+        return Mono.<Void>fromRunnable(() -> {
+            snapshot.refreshIfStale();
+            routeTable.ensureLoaded();
+        }).subscribeOn(bulkheads.publicData().scheduler());
+    }
 
-        // 2. 결과가 없으면 ETF 시세 정보 API 호출 시도
-        if (price.compareTo(BigDecimal.ZERO) == 0) {
-            price = fetchFromApi(ETF_API_PATH, cleanCode);
+    /**
+     * 스냅샷에 있으면 0, 경로가 기록된 종목은 1 (미존재로 기록된 종목은 0),
+     * 경로를 모르는 종목은 주식 → ETF 순으로 탐색하므로 2입니다.
+     */
+    @Override
+    public int maxCalls(String code) {
+        String srtnCd = InstrumentCodes.symbol(code);
+        if (snapshot.lookup(srtnCd).isPresent()) {
+            return 0;
         }
+        return routeTable.resolve(srtnCd).map(route -> route == KrxEndpoint.NONE ? 0 : 1).orElse(2);
+    }
 
-        return price;
+    private boolean isConfigured() {
+        return hasServiceKey(serviceKey);
     }
 
-    private BigDecimal fetchFromApi(String path, String code) {
-        try {
-            // 사용자가 관리하는 단축코드(srtnCd)를 기반으로 likeSrtnCd 파라미터만 사용
-            return callApi(path, "likeSrtnCd", code);
-        } catch (Exception e) {
-            log.error("Error calling Public Data API [{}] for {}: {}", path, code, e.getMessage());
-            return BigDecimal.ZERO;
-        }
+    /**
+     * 실제 서비스 키가 설정되었는지. 비어 있거나 기본 자리표시자면 false입니다 (스냅샷 적재도 같은 기준 사용).
+     */
+    static boolean hasServiceKey(String serviceKey) {
+        return serviceKey != null && !serviceKey.isBlank()
+                && !PLACEHOLDER_KEYS.contains(serviceKey.trim().toLowerCase(Locale.ROOT));
     }
 
-    private BigDecimal callApi(String path, String paramName, String paramValue) {
-        try {
-            Map<String, Object> response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .scheme("https")
-                            .host("apis.data.go.kr")
-                            .path(path)
-                            .queryParam("serviceKey", serviceKey)
-                            .queryParam("resultType", "json")
-                            .queryParam(paramName, paramValue)
-                            .queryParam("numOfRows", 1)
-                            .build())
-                    .retrieve()
-                    .bodyToMono(new org.springframework.core.ParameterizedTypeReference<Map<String, Object>>() {
-                    })
-                    .block();
-
-            log.info("API Request Path: {}, Param: {}={}, Result: {}", path, paramName, paramValue, response);
-            return extractPrice(response);
-        } catch (Exception e) {
-            return BigDecimal.ZERO;
+    /**
+     * 단일 종목 시세를 비동기로 조회합니다. 전 종목 스냅샷에 있으면 네트워크 호출 없이 반환하고,
+     * 라우팅 테이블에 경로가 기록된 종목은 해당 API만 호출합니다. 실패 시에도 에러 없이 0을 발행합니다.
+     */
+    private Mono<BigDecimal> fetchPrice(String code) {
+        // 구글 시트 등에서 사용하는 Prefix 제거 (예: KRX:0082V0 -> 0082V0)
+        String srtnCd = InstrumentCodes.symbol(code);
+
+        Optional<BigDecimal> snapshotPrice = snapshot.lookup(srtnCd);
+        if (snapshotPrice.isPresent()) {
+            return Mono.just(snapshotPrice.get());
+        }
+
+        Optional<KrxEndpoint> route = routeTable.resolve(srtnCd);
+        if (route.isEmpty()) {
+            return probe(srtnCd);
         }
+        return switch (route.get()) {
+            case STOCK -> fetchRouted(STOCK_API_PATH, srtnCd);
+            case ETF -> fetchRouted(ETF_API_PATH, srtnCd);
+            case NONE -> Mono.just(BigDecimal.ZERO);
+        };
     }
 
-    private BigDecimal extractPrice(Map<String, Object> response) {
-        try {
-            if (response != null && response.get("response") instanceof Map) {
-                Map<String, Object> res = (Map<String, Object>) response.get("response");
-                if (res.get("body") instanceof Map) {
-                    Map<String, Object> body = (Map<String, Object>) res.get("body");
-                    if (body.get("items") instanceof Map) {
-                        Map<String, Object> items = (Map<String, Object>) body.get("items");
-                        if (items.get("item") instanceof List) {
-                            List<Map<String, Object>> itemList = (List<Map<String, Object>>) items.get("item");
-                            if (!itemList.isEmpty()) {
-                                Map<String, Object> firstItem = itemList.get(0);
-                                Object clpr = firstItem.get("clpr"); // 종가
-                                if (clpr == null) {
-                                    clpr = firstItem.get("trdpr"); // 거래가 (ETF)
-                                }
-                                return clpr != null ? new BigDecimal(clpr.toString()) : BigDecimal.ZERO;
-                            }
-                        }
+    /**
+     * 경로를 모르는 종목: 1. 주식 시세 API 호출 → 2. 결과가 없으면 ETF 시세 API 호출.
+     * 찾은 경로를 기록하고, 두 API 모두 정상 응답했지만 결과가 없으면 미존재로 기록합니다.
+     */
+    private Mono<BigDecimal> probe(String srtnCd) {
+        return callApi(STOCK_API_PATH, "likeSrtnCd", srtnCd)
+                .doOnNext(price -> routeTable.record(srtnCd, KrxEndpoint.STOCK))
+                .switchIfEmpty(Mono.defer(() -> probeEtf(srtnCd, true)))
+                .onErrorResume(e -> {
+                    logApiError(STOCK_API_PATH, srtnCd, e);
+                    return probeEtf(srtnCd, false);
+                })
+                .defaultIfEmpty(BigDecimal.ZERO);
+    }
+
+    private Mono<BigDecimal> probeEtf(String srtnCd, boolean missingFromStock) {
+        return callApi(ETF_API_PATH, "likeSrtnCd", srtnCd)
+                .doOnNext(price -> routeTable.record(srtnCd, KrxEndpoint.ETF))
+                .switchIfEmpty(Mono.defer(() -> {
+                    if (missingFromStock) {
+                        routeTable.recordMissing(srtnCd);
                     }
-                }
-            }
-        } catch (Exception e) {
-            // parsing error
+                    return Mono.empty();
+                }))
+                .onErrorResume(e -> {
+                    logApiError(ETF_API_PATH, srtnCd, e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 경로가 기록된 종목은 해당 API만 호출합니다. 그 API에서 더 이상 찾을 수 없으면 경로를 지우고 다시 탐색합니다.
+     */
+    private Mono<BigDecimal> fetchRouted(String path, String srtnCd) {
+        return callApi(path, "likeSrtnCd", srtnCd)
+                .switchIfEmpty(Mono.defer(() -> {
+                    routeTable.forget(srtnCd);
+                    return probe(srtnCd);
+                }))
+                .onErrorResume(e -> {
+                    logApiError(path, srtnCd, e);
+                    return Mono.just(BigDecimal.ZERO);
+                });
+    }
+
+    private void logApiError(String path, String code, Throwable e) {
+        if (e instanceof UpstreamGuard.RejectedException) {
+            log.debug("Skipped Public Data API [{}] for {}: {}", path, code, e.getMessage());
+            return;
         }
-        return BigDecimal.ZERO;
+        log.error("Error calling Public Data API [{}] for {}: {}", path, code, e.getMessage());
     }
 
+    /**
+     * 사용자가 관리하는 단축코드(srtnCd)를 기반으로 likeSrtnCd 파라미터만 사용합니다.
+     * 시세가 있으면 발행하고, 정상 응답이지만 결과가 없으면 비어 있는 Mono를 반환합니다.
+     * 회로가 열려 있거나 호출 한도를 다 썼으면 호출하지 않고 에러를 발행합니다 (미존재로 기록되지 않도록).
+     * 동시 요청 한도가 차 있으면 거절하지 않고 자리가 날 때까지 기다립니다 (일괄 조회가 한도가 줄어든 만큼 0이 되지 않도록).
+     */
+    private Mono<BigDecimal> callApi(String path, String paramName, String paramValue) {
+        // 회로가 열려 있으면 호출 한도도 차감하지 않음
+        return upstreamGuards.get(UPSTREAM).protectQueued(() -> {
+            if (!callBudgets.get(UPSTREAM).tryAcquire()) {
+                return Mono.error(new CallBudget.ExceededException(UPSTREAM));
+            }
+            return requestApi(path, paramName, paramValue);
+        });
+    }
+
+    private Mono<BigDecimal> requestApi(String path, String paramName, String paramValue) {
+        Flux<DataBuffer> body = webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .scheme("https")
+                        .host("apis.data.go.kr")
+                        .path(path)
+                        .queryParam("serviceKey", serviceKey)
+                        .queryParam("resultType", "json")
+                        .queryParam(paramName, paramValue)
+                        .queryParam("numOfRows", 1)
+                        .build())
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        return PublicDataResponseParser.parse(body, maxResponseBytes)
+                .doOnNext(page -> log.debug("API Request Path: {}, Param: {}={}, Items: {}", path, paramName,
+                        paramValue, page.items().size()))
+                .map(PublicDataResponseParser.Page::firstPrice)
+                .filter(price -> price.compareTo(BigDecimal.ZERO) > 0);
+    }
+
+    /**
+     * 여러 종목을 동시에 조회합니다. 스냅샷에 없는 종목만 개별 API로 조회하며, 동시 요청 수는 max-concurrency로 제한되며,
+     * batch-timeout-ms 안에 끝나지 않은 종목은 결과에서 제외됩니다 (부분 결과 반환).
+     * 공공데이터 bulkhead가 가득 차서 사전 준비를 하지 못하면 에러 없이 빈 결과를 반환합니다.
+     */
     @Override
-    public Map<String, BigDecimal> getMultiplePrices(Iterable<String> codes) {
-        Map<String, BigDecimal> prices = new HashMap<>();
+    public Flux<Quote> fetchPrices(Iterable<String> codes) {
+        Set<String> distinctCodes = new LinkedHashSet<>();
         for (String code : codes) {
-            prices.put(code, getCurrentPrice(code));
+            if (code != null && !code.isBlank()) {
+                distinctCodes.add(code);
+            }
         }
-        return prices;
+        if (distinctCodes.isEmpty()) {
+            return Flux.empty();
+        }
+        if (!isConfigured()) {
+            return Flux.fromIterable(distinctCodes).map(code -> new Quote(code, BigDecimal.ZERO));
+        }
+
+        return prepare().thenMany(Flux.defer(() -> {
+            AtomicInteger resolved = new AtomicInteger();
+            return Flux.fromIterable(distinctCodes)
+                    .flatMap(code -> fetchPrice(code).map(price -> new Quote(code, price)),
+                            Math.max(1, maxConcurrency))
+                    .take(Duration.ofMillis(batchTimeoutMillis))
+                    .doOnNext(quote -> resolved.incrementAndGet())
+                    .doOnComplete(() -> {
+                        if (resolved.get() < distinctCodes.size()) {
+                            log.warn("Public Data batch lookup timed out after {}ms: {}/{} codes resolved",
+                                    batchTimeoutMillis, resolved.get(), distinctCodes.size());
+                        }
+                    });
+        })).onErrorResume(Bulkhead::isRejected, e -> {
+            log.warn("Skipped Public Data batch lookup of {} codes: {}", distinctCodes.size(), e.getMessage());
+            return Flux.empty();
+        });
     }
 }
@@ -0,0 +1,148 @@
+package com.example.assetmanager.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 공공데이터포털 시세 API(JSON) 응답을 Map 트리로 만들지 않고 스트리밍으로 읽습니다.
+ * totalCount와 item의 srtnCd/itmsNm/clpr/trdpr만 읽고 나머지 필드는 건너뜁니다.
+ */
+public final class PublicDataResponseParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    record Item(String srtnCd, String name, BigDecimal price) {
+    }
+
+    record Page(long totalCount, List<Item> items) {
+        Page {
+            items = List.copyOf(items);
+        }
+
+        BigDecimal firstPrice() {
+            return items.isEmpty() ? BigDecimal.ZERO : items.get(0).price();
+        }
+    }
+
+    private PublicDataResponseParser() {
+    }
+
+    /**
+     * WebClient 응답 본문을 최대 maxBytes까지 모아 파싱합니다 (전 종목 페이지는 수백 KB).
+     * 본문이 더 크면 모으는 도중 {@link org.springframework.core.io.buffer.DataBufferLimitException}으로 바로 실패합니다.
+     */
+    static Mono<Page> parse(Flux<DataBuffer> body, int maxBytes) {
+        return DataBufferUtils.join(body, maxBytes)
+                .map(buffer -> {
+                    try (InputStream in = buffer.asInputStream(true)) {
+                        return parse(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .defaultIfEmpty(new Page(0, List.of()));
+    }
+
+    static Page parse(byte[] content) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            return parse(parser);
+        }
+    }
+
+    static Page parse(InputStream content) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            return parse(parser);
+        }
+    }
+
+    private static Page parse(JsonParser parser) throws IOException {
+        long totalCount = 0;
+        List<Item> items = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token != JsonToken.FIELD_NAME) {
+                continue;
+            }
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("totalCount".equals(field)) {
+                totalCount = value.isScalarValue() ? parseLong(parser.getValueAsString()) : 0;
+            } else if ("item".equals(field)) {
+                readItems(parser, value, items);
+            } else if (!"response".equals(field) && !"body".equals(field) && !"items".equals(field)) {
+                // header 등 필요 없는 객체/배열은 통째로 건너뜀
+                parser.skipChildren();
+            }
+        }
+        return new Page(totalCount, items);
+    }
+
+    // 결과가 한 건이면 배열 대신 객체 하나로 오는 경우도 처리
+    private static void readItems(JsonParser parser, JsonToken value, List<Item> items) throws IOException {
+        if (value == JsonToken.START_OBJECT) {
+            items.add(readItem(parser));
+        } else if (value == JsonToken.START_ARRAY) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                items.add(readItem(parser));
+            }
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    private static Item readItem(JsonParser parser) throws IOException {
+        String srtnCd = null;
+        String itmsNm = null;
+        String clpr = null;
+        String trdpr = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!value.isScalarValue()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "srtnCd" -> srtnCd = parser.getValueAsString();
+                case "itmsNm" -> itmsNm = parser.getValueAsString();
+                case "clpr" -> clpr = parser.getValueAsString();
+                case "trdpr" -> trdpr = parser.getValueAsString();
+                default -> {
+                    // 나머지 필드는 값을 만들지 않고 건너뜀
+                }
+            }
+        }
+        String price = clpr != null ? clpr : trdpr; // 종가, 없으면 거래가 (ETF)
+        return new Item(srtnCd, itmsNm, parsePrice(price));
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        if (value == null || value.isBlank()) {
+            return BigDecimal.ZERO;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return BigDecimal.ZERO;
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value == null ? 0 : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
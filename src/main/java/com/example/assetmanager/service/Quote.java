@@ -0,0 +1,9 @@
+package com.example.assetmanager.service;
+
+import java.math.BigDecimal;
+
+/**
+ * 종목코드와 시세 한 쌍. 코드는 호출자가 요청한 형태 그대로 유지합니다.
+ */
+public record Quote(String code, BigDecimal price) {
+}
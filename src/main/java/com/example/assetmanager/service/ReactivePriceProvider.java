@@ -0,0 +1,91 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.support.RequestDeadline;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 호출 스레드를 점유하지 않는 PriceProvider.
+ * 시세 조회를 Mono/Flux로 반환하며, 기존 블로킹 메서드는 이를 기다리는 어댑터로 제공합니다.
+ */
+public interface ReactivePriceProvider extends PriceProvider {
+
+    /**
+     * 단일 종목 시세. 조회할 수 없으면 0 또는 빈 Mono를 발행합니다.
+     */
+    Mono<BigDecimal> fetchCurrentPrice(String code);
+
+    /**
+     * 여러 종목 시세. 조회된 종목만 요청한 코드 그대로 발행합니다.
+     */
+    Flux<Quote> fetchPrices(Iterable<String> codes);
+
+    /**
+     * 블로킹 PriceProvider를 리액티브 인터페이스로 감쌉니다. 블로킹 호출은 boundedElastic 스케줄러에서 실행합니다.
+     */
+    static ReactivePriceProvider of(PriceProvider provider) {
+        if (provider instanceof ReactivePriceProvider reactive) {
+            return reactive;
+        }
+        return new ReactivePriceProvider() {
+            @Override
+            public boolean supports(AssetType type) {
+                return provider.supports(type);
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return provider.isAvailable();
+            }
+
+            @Override
+            public String upstream() {
+                return provider.upstream();
+            }
+
+            @Override
+            public Mono<BigDecimal> fetchCurrentPrice(String code) {
+                return Mono.fromCallable(() -> provider.getCurrentPrice(code))
+                        .subscribeOn(Schedulers.boundedElastic());
+            }
+
+            @Override
+            public Flux<Quote> fetchPrices(Iterable<String> codes) {
+                return Mono.fromCallable(() -> provider.getMultiplePrices(codes))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMapIterable(Map::entrySet)
+                        .map(entry -> new Quote(entry.getKey(), entry.getValue()));
+            }
+
+            @Override
+            public BigDecimal getCurrentPrice(String code) {
+                return provider.getCurrentPrice(code);
+            }
+
+            @Override
+            public Map<String, BigDecimal> getMultiplePrices(Iterable<String> codes) {
+                return provider.getMultiplePrices(codes);
+            }
+        };
+    }
+
+    @Override
+    default BigDecimal getCurrentPrice(String code) {
+        BigDecimal price = fetchCurrentPrice(code).contextWrite(RequestDeadline.propagate()).block();
+        return price != null ? price : BigDecimal.ZERO;
+    }
+
+    @Override
+    default Map<String, BigDecimal> getMultiplePrices(Iterable<String> codes) {
+        Map<String, BigDecimal> prices = fetchPrices(codes)
+                .collectMap(Quote::code, Quote::price, HashMap::new)
+                .contextWrite(RequestDeadline.propagate())
+                .block();
+        return prices != null ? prices : new HashMap<>();
+    }
+}
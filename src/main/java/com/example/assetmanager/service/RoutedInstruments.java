@@ -0,0 +1,66 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.dto.HeldInstrument;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * 조회 경로(자산 유형별 CachingPriceProvider)마다 보유 종목을 정규 종목 ID({@link HeldInstrument#canonicalId()})로 묶습니다.
+ * "KRX:005930"과 "005930"처럼 표기만 다른 코드는 한 번만 조회하고, 받은 시세는 그 경로에서 묶인 (유형, 코드) 모두에 반영합니다.
+ */
+final class RoutedInstruments {
+
+    // 경로 → 정규 종목 ID → 그 종목으로 묶인 (유형, 코드). 첫 번째 코드로 조회
+    private final Map<CachingPriceProvider, Map<String, List<HeldInstrument>>> byRoute = new LinkedHashMap<>();
+    private int size;
+
+    /**
+     * 종목을 경로에 추가합니다. 같은 경로에 같은 종목(정규 ID)이 이미 있으면 묶기만 하고 false를 반환합니다.
+     */
+    boolean add(CachingPriceProvider route, HeldInstrument instrument) {
+        List<HeldInstrument> holders = byRoute.computeIfAbsent(route, r -> new LinkedHashMap<>())
+                .computeIfAbsent(instrument.canonicalId(), id -> new ArrayList<>());
+        boolean added = holders.isEmpty();
+        if (!holders.contains(instrument)) {
+            holders.add(instrument);
+        }
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    boolean contains(CachingPriceProvider route, HeldInstrument instrument) {
+        return byRoute.getOrDefault(route, Map.of()).containsKey(instrument.canonicalId());
+    }
+
+    // 조회할 종목 수 (정규 ID 기준)
+    int size() {
+        return size;
+    }
+
+    /**
+     * 경로마다 종목별 대표 코드로 fetcher를 호출해 경로별 조회를 동시에 진행하고, 시세를 묶인 (유형, 코드) 모두에 펼칩니다.
+     */
+    Mono<Map<HeldInstrument, BigDecimal>> fetch(BiFunction<CachingPriceProvider, List<String>, Flux<Quote>> fetcher) {
+        return Flux.fromIterable(byRoute.entrySet())
+                .flatMap(entry -> {
+                    Map<String, List<HeldInstrument>> holdersByCode = new LinkedHashMap<>();
+                    for (List<HeldInstrument> holders : entry.getValue().values()) {
+                        holdersByCode.put(holders.get(0).code(), holders);
+                    }
+                    return fetcher.apply(entry.getKey(), List.copyOf(holdersByCode.keySet()))
+                            .flatMapIterable(quote -> holdersByCode.getOrDefault(quote.code(), List.of()).stream()
+                                    .map(holder -> Map.entry(holder, quote.price()))
+                                    .toList());
+                })
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, HashMap::new);
+    }
+}
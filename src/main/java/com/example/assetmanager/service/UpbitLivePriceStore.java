@@ -0,0 +1,68 @@
+package com.example.assetmanager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 업비트 실시간 시세 스트림이 받은 마켓별 마지막 체결가를 보관합니다.
+ * 스트림 스레드는 덮어쓰기만 하고 조회는 락 없이 읽으므로, 시세 조회 시 네트워크 호출이 없습니다.
+ */
+@Component
+public class UpbitLivePriceStore {
+
+    // 이 시간보다 오래된 체결가는 사용하지 않음 (스트림이 끊긴 경우 REST 조회로 넘어감)
+    @Value("${upbit.stream.max-age-seconds:30}")
+    private long maxAgeSeconds = 30;
+
+    private Clock clock = Clock.systemUTC();
+    private final Map<String, Tick> ticks = new ConcurrentHashMap<>();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    record Tick(BigDecimal price, Instant receivedAt) {
+    }
+
+    public void update(String market, BigDecimal price) {
+        if (market == null || price == null || price.signum() <= 0)
+            return;
+        ticks.put(market, new Tick(price, clock.instant()));
+        updates.increment();
+    }
+
+    /**
+     * 만료 전의 마지막 체결가를 반환합니다. (market은 "KRW-BTC" 형식)
+     */
+    public Optional<BigDecimal> lookup(String market) {
+        Tick tick = ticks.get(market);
+        if (tick == null || tick.receivedAt().plus(Duration.ofSeconds(maxAgeSeconds)).isBefore(clock.instant())) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(tick.price());
+    }
+
+    public int size() {
+        return ticks.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("markets", ticks.size());
+        stats.put("updates", updates.sum());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("maxAgeSeconds", maxAgeSeconds);
+        return stats;
+    }
+}
@@ -1,75 +1,172 @@
 package com.example.assetmanager.service;
 
 import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.support.CallBudget;
+import com.example.assetmanager.support.InstrumentCodes;
+import com.example.assetmanager.support.UpstreamGuard;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import java.math.BigDecimal;
 import java.net.URI;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class UpbitPriceProvider implements PriceProvider {
+public class UpbitPriceProvider implements ReactivePriceProvider {
 
     private final WebClient webClient;
+    // 실시간 스트림이 켜져 있으면 여기서 먼저 찾고, 없거나 오래된 마켓만 REST로 조회
+    private final UpbitLivePriceStore liveStore;
+    private final ProviderCallBudgets callBudgets;
+    private final UpstreamGuards upstreamGuards;
+    static final String UPSTREAM = "upbit";
     private static final String UPBIT_API_URL = "https://api.upbit.com/v1/ticker";
 
+    // 한 번의 요청에 넣을 최대 마켓 수
+    @Value("${upbit.api.max-markets-per-request:100}")
+    private int maxMarketsPerRequest = 100;
+
+    // 요청 URL 최대 길이 (마켓 코드 길이가 제각각이므로 개수와 함께 제한)
+    @Value("${upbit.api.max-url-length:2000}")
+    private int maxUrlLength = 2000;
+
+    // 동시에 보낼 최대 요청 수 (업비트 시세 API 초당 요청 제한 이내)
+    @Value("${upbit.api.max-concurrency:4}")
+    private int maxConcurrency = 4;
+
     @Override
     public boolean supports(AssetType type) {
         return type == AssetType.CRYPTO;
     }
 
     @Override
-    public BigDecimal getCurrentPrice(String code) {
+    public String upstream() {
+        return UPSTREAM;
+    }
+
+    @Override
+    public Mono<BigDecimal> fetchCurrentPrice(String code) {
         if (code == null || code.isBlank())
-            return BigDecimal.ZERO;
-
-        // 코드는 "KRW-BTC" 형식이어야 함. 접두사 없으면 추가.
-        String market = code.contains("-") ? code : "KRW-" + code;
-
-        try {
-            List<Map<String, Object>> response = webClient.get()
-                    .uri(URI.create(UPBIT_API_URL + "?markets=" + market))
-                    .retrieve()
-                    .bodyToMono(new org.springframework.core.ParameterizedTypeReference<List<Map<String, Object>>>() {
-                    })
-                    .block();
-
-            if (response != null && !response.isEmpty()) {
-                Object price = response.get(0).get("trade_price");
-                return price != null ? new BigDecimal(price.toString()) : BigDecimal.ZERO;
+            return Mono.just(BigDecimal.ZERO);
+
+        String market = toMarket(code);
+        Optional<BigDecimal> live = liveStore.lookup(market);
+        if (live.isPresent())
+            return Mono.just(live.get());
+
+        return fetchTickers(market)
+                .next()
+                .map(Quote::price)
+                .defaultIfEmpty(BigDecimal.ZERO)
+                .onErrorResume(e -> {
+                    log.error("Error fetching price from Upbit for {}: {}", market, e.getMessage());
+                    return Mono.just(BigDecimal.ZERO);
+                });
+    }
+
+    /**
+     * 여러 마켓을 조회합니다. 실시간 저장소에 있는 마켓은 바로 발행하고, 나머지는 URL 길이/마켓 수 제한에 맞춰
+     * 나눈 요청을 동시에 보냅니다. 결과는 호출자가 넘긴 코드 그대로 발행합니다 (BTC로 요청하면 BTC).
+     */
+    @Override
+    public Flux<Quote> fetchPrices(Iterable<String> codes) {
+        Map<String, List<String>> codesByMarket = new LinkedHashMap<>();
+        for (String code : codes) {
+            if (code != null && !code.isBlank()) {
+                codesByMarket.computeIfAbsent(toMarket(code), market -> new ArrayList<>()).add(code);
             }
-        } catch (Exception e) {
-            // log field from Slf4j or manually added if not present
-            // Let's assume the user might have Slf4j, if not I'll use System.err
-            System.err.println("Error fetching price from Upbit for " + market + ": " + e.getMessage());
         }
-        return BigDecimal.ZERO;
+        List<Quote> live = new ArrayList<>();
+        List<String> misses = new ArrayList<>();
+        for (String market : codesByMarket.keySet()) {
+            liveStore.lookup(market).ifPresentOrElse(price -> live.add(new Quote(market, price)),
+                    () -> misses.add(market));
+        }
+        Flux<Quote> fetched = misses.isEmpty() ? Flux.empty()
+                : Flux.fromIterable(chunk(misses)).flatMap(this::fetchChunk, Math.max(1, maxConcurrency));
+        return Flux.fromIterable(live)
+                .concatWith(fetched)
+                .flatMapIterable(quote -> codesByMarket.getOrDefault(quote.code(), List.of()).stream()
+                        .map(code -> new Quote(code, quote.price()))
+                        .toList());
     }
 
-    @Override
-    public Map<String, BigDecimal> getMultiplePrices(Iterable<String> codes) {
-        String markets = String.join(",", codes);
-        List<Map<String, Object>> response = webClient.get()
+    List<List<String>> chunk(List<String> markets) {
+        int baseLength = UPBIT_API_URL.length() + "?markets=".length();
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int length = baseLength;
+        for (String market : markets) {
+            int added = (current.isEmpty() ? 0 : 1) + market.length();
+            if (!current.isEmpty() && (current.size() >= maxMarketsPerRequest || length + added > maxUrlLength)) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                length = baseLength;
+                added = market.length();
+            }
+            current.add(market);
+            length += added;
+        }
+        chunks.add(current);
+        return chunks;
+    }
+
+    /**
+     * 업비트는 목록에 없는 마켓이 하나라도 있으면 요청 전체를 4xx로 거절하므로,
+     * 그 경우 반으로 나눠 다시 조회해 정상 마켓의 시세는 살립니다. (요청 한도 초과 429는 나누지 않음)
+     */
+    private Flux<Quote> fetchChunk(List<String> markets) {
+        return fetchTickers(String.join(",", markets))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    if (markets.size() > 1 && e.getStatusCode().is4xxClientError()
+                            && e.getStatusCode().value() != 429) {
+                        int middle = markets.size() / 2;
+                        return Flux.concat(fetchChunk(markets.subList(0, middle)),
+                                fetchChunk(markets.subList(middle, markets.size())));
+                    }
+                    log.warn("Upbit ticker lookup failed for {}: {}", markets, e.getMessage());
+                    return Flux.empty();
+                })
+                .onErrorResume(e -> e instanceof CallBudget.ExceededException
+                        || e instanceof UpstreamGuard.RejectedException, e -> {
+                    log.debug("Skipping Upbit ticker lookup for {}: {}", markets, e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    // 코드는 "KRW-BTC" 형식이어야 함. 거래소 접두사(UPBIT: 등)는 떼고, 마켓이 없으면 KRW 마켓으로 조회.
+    static String toMarket(String code) {
+        return InstrumentCodes.upbitMarket(code);
+    }
+
+    // 응답의 market 값(KRW-BTC 등)을 코드로 사용. 회로가 열려 있거나 호출 한도를 다 썼으면 호출하지 않고 에러 발행
+    // (동시 요청 한도가 차 있으면 자리가 날 때까지 기다림)
+    private Flux<Quote> fetchTickers(String markets) {
+        return upstreamGuards.get(UPSTREAM).protectManyQueued(() -> callBudgets.get(UPSTREAM).tryAcquire()
+                ? requestTickers(markets)
+                : Flux.error(new CallBudget.ExceededException(UPSTREAM)));
+    }
+
+    private Flux<Quote> requestTickers(String markets) {
+        return webClient.get()
                 .uri(URI.create(UPBIT_API_URL + "?markets=" + markets))
                 .retrieve()
                 .bodyToMono(new org.springframework.core.ParameterizedTypeReference<List<Map<String, Object>>>() {
                 })
-                .block();
-
-        Map<String, BigDecimal> prices = new HashMap<>();
-        if (response != null) {
-            for (Map<String, Object> ticker : response) {
-                Object market = ticker.get("market");
-                Object price = ticker.get("trade_price");
-                if (market != null && price != null) {
-                    prices.put(market.toString(), new BigDecimal(price.toString()));
-                }
-            }
-        }
-        return prices;
+                .flatMapIterable(response -> response)
+                .filter(ticker -> ticker.get("market") != null && ticker.get("trade_price") != null)
+                .map(ticker -> new Quote(ticker.get("market").toString(),
+                        new BigDecimal(ticker.get("trade_price").toString())));
     }
 }
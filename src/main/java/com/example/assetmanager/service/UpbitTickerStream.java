@@ -0,0 +1,179 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.repository.AssetRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 보유 중인 코인 마켓의 업비트 실시간 체결(ticker)을 WebSocket으로 구독해 {@link UpbitLivePriceStore}에 반영합니다.
+ * upbit.stream.enabled=true일 때만 시작하며, 보유 마켓이 바뀌면 다시 구독하고 연결이 끊기면 재연결합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpbitTickerStream {
+
+    // 체결가를 double로 거치지 않고 그대로 읽음 (트리 노드도 뒤쪽 0을 떼지 않고 받은 자릿수 유지)
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .disable(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES)
+            .build();
+
+    private final AssetRepository assetRepository;
+    private final UpbitLivePriceStore store;
+    private final Bulkheads bulkheads;
+    private final WebSocketClient client = new ReactorNettyWebSocketClient();
+
+    @Value("${upbit.stream.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${upbit.stream.url:wss://api.upbit.com/websocket/v1}")
+    private String streamUrl = "wss://api.upbit.com/websocket/v1";
+
+    // 보유 마켓 변경을 확인하는 간격
+    @Value("${upbit.stream.resubscribe-seconds:60}")
+    private long resubscribeSeconds = 60;
+
+    // 연결이 끊긴 뒤 재연결 대기 시간 (실패가 반복되면 최대 30초까지 늘어남)
+    @Value("${upbit.stream.reconnect-delay-ms:1000}")
+    private long reconnectDelayMillis = 1000;
+
+    private final AtomicBoolean connected = new AtomicBoolean();
+    private final AtomicInteger subscribedMarkets = new AtomicInteger();
+    private final AtomicLong connects = new AtomicLong();
+    private volatile Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || subscription != null)
+            return;
+        log.info("Starting Upbit ticker stream: {}", streamUrl);
+        subscription = Flux.interval(Duration.ZERO, Duration.ofSeconds(resubscribeSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromCallable(this::heldMarkets)
+                        .subscribeOn(bulkheads.upbit().scheduler())
+                        .onErrorResume(e -> {
+                            log.warn("Failed to load held crypto markets: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .distinctUntilChanged()
+                .switchMap(markets -> markets.isEmpty() ? Flux.<Quote>empty() : stream(markets))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null)
+            current.dispose();
+        subscription = null;
+        connected.set(false);
+    }
+
+    List<String> heldMarkets() {
+        return List.copyOf(assetRepository.findDistinctCodesByType(AssetType.CRYPTO).stream()
+                .filter(code -> !code.isBlank())
+                .map(UpbitPriceProvider::toMarket)
+                .collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+    // 연결이 끊기거나 실패하면 지연 후 같은 마켓으로 다시 연결
+    private Flux<Quote> stream(List<String> markets) {
+        Duration delay = Duration.ofMillis(reconnectDelayMillis);
+        return connect(markets)
+                .doOnError(e -> log.warn("Upbit ticker stream failed: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, delay).maxBackoff(Duration.ofSeconds(30)))
+                .repeatWhen(completed -> completed.delayElements(delay));
+    }
+
+    /**
+     * 한 번 연결해 주어진 마켓을 구독하고, 받은 체결가를 저장소에 반영하면서 발행합니다.
+     * 서버가 연결을 닫으면 완료됩니다.
+     */
+    Flux<Quote> connect(List<String> markets) {
+        return Flux.create(sink -> {
+            Disposable session = client.execute(URI.create(streamUrl), ws -> {
+                connected.set(true);
+                connects.incrementAndGet();
+                subscribedMarkets.set(markets.size());
+                log.info("Subscribed to Upbit ticker stream for {} markets", markets.size());
+                return ws.send(Mono.just(ws.textMessage(subscribeMessage(markets))))
+                        .thenMany(ws.receive())
+                        .concatMap(message -> Mono.justOrEmpty(parse(message)))
+                        .doOnNext(quote -> {
+                            store.update(quote.code(), quote.price());
+                            sink.next(quote);
+                        })
+                        .then();
+            }).doFinally(signal -> connected.set(false))
+                    .subscribe(null, sink::error, sink::complete);
+            sink.onDispose(session);
+        });
+    }
+
+    static String subscribeMessage(List<String> markets) {
+        ArrayNode request = MAPPER.createArrayNode();
+        request.addObject().put("ticket", "assetmanager-" + UUID.randomUUID());
+        ArrayNode codes = request.addObject().put("type", "ticker").putArray("codes");
+        markets.forEach(codes::add);
+        return request.toString();
+    }
+
+    // 업비트는 바이너리 프레임으로 JSON을 보냄. 체결가가 없는 상태 메시지({"status":"UP"} 등)는 무시
+    static Optional<Quote> parse(WebSocketMessage message) {
+        try (InputStream in = message.getPayload().asInputStream()) {
+            JsonNode node = MAPPER.readTree(in);
+            JsonNode code = node.get("code");
+            JsonNode price = node.get("trade_price");
+            if (code == null || price == null || !price.isNumber())
+                return Optional.empty();
+            return Optional.of(new Quote(code.asText(), price.decimalValue()));
+        } catch (IOException e) {
+            log.debug("Ignoring unreadable Upbit stream message: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("connected", connected.get());
+        stats.put("subscribedMarkets", subscribedMarkets.get());
+        stats.put("connects", connects.get());
+        stats.put("store", store.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.support.AimdLimiter;
+import com.example.assetmanager.support.CircuitBreaker;
+import com.example.assetmanager.support.UpstreamGuard;
+import com.google.api.client.http.HttpResponseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 외부 API(upstream)별 회로 차단기 + AIMD 동시 요청 한도. 이름으로 처음 요청될 때 공통 설정으로 만들어집니다.
+ * 외부 API가 멈추거나 요청을 제한하면 그 API 호출만 즉시 실패시키고 다른 API/스레드에는 영향을 주지 않습니다.
+ * 느린 호출 기준(slow-call-ms)은 API마다 정상 응답 시간이 달라 upstream별로 따로 둡니다 (지정하지 않으면 공통 값).
+ */
+@Component
+public class UpstreamGuards {
+
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration slowCallThreshold;
+    private final Map<String, Duration> slowCallThresholds = new HashMap<>();
+
+    public UpstreamGuards() {
+        this(5, 30, 8, 1, 32, 3000, 3000, 3000, 3000, 3000, 15000);
+    }
+
+    @Autowired
+    public UpstreamGuards(
+            @Value("${upstream.guard.failure-threshold:5}") int failureThreshold,
+            @Value("${upstream.guard.open-seconds:30}") long openSeconds,
+            @Value("${upstream.guard.initial-limit:8}") int initialLimit,
+            @Value("${upstream.guard.min-limit:1}") int minLimit,
+            @Value("${upstream.guard.max-limit:32}") int maxLimit,
+            @Value("${upstream.guard.slow-call-ms:3000}") long slowCallMillis,
+            @Value("${upstream.guard.public-data.slow-call-ms:${upstream.guard.slow-call-ms:3000}}") long publicDataSlowCallMillis,
+            @Value("${upstream.guard.upbit.slow-call-ms:${upstream.guard.slow-call-ms:3000}}") long upbitSlowCallMillis,
+            @Value("${upstream.guard.kis.slow-call-ms:${upstream.guard.slow-call-ms:3000}}") long kisSlowCallMillis,
+            @Value("${upstream.guard.google-news.slow-call-ms:${upstream.guard.slow-call-ms:3000}}") long newsSlowCallMillis,
+            @Value("${upstream.guard.google-sheets.slow-call-ms:15000}") long sheetsSlowCallMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofSeconds(openSeconds);
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.slowCallThreshold = Duration.ofMillis(slowCallMillis);
+        slowCallThresholds.put(PublicDataPriceProvider.UPSTREAM, Duration.ofMillis(publicDataSlowCallMillis));
+        slowCallThresholds.put(UpbitPriceProvider.UPSTREAM, Duration.ofMillis(upbitSlowCallMillis));
+        slowCallThresholds.put(KisPriceProvider.UPSTREAM, Duration.ofMillis(kisSlowCallMillis));
+        slowCallThresholds.put(NewsService.UPSTREAM, Duration.ofMillis(newsSlowCallMillis));
+        // 시트 batchUpdate는 서식/검증 규칙까지 한 번에 쓰므로 정상이어도 수 초 걸림
+        slowCallThresholds.put(GoogleSheetsService.UPSTREAM, Duration.ofMillis(sheetsSlowCallMillis));
+    }
+
+    public UpstreamGuard get(String upstream) {
+        return guards.computeIfAbsent(upstream, name -> new UpstreamGuard(name,
+                new CircuitBreaker(name, failureThreshold, openDuration, Clock.systemUTC()),
+                new AimdLimiter(name, initialLimit, minLimit, maxLimit, 0.5),
+                slowCallThresholds.getOrDefault(name, slowCallThreshold), UpstreamGuards::isUpstreamFailure));
+    }
+
+    /**
+     * 외부 API가 아프다는 신호인지 판단합니다. 응답을 준 4xx(429 제외)는 요청 쪽 문제(없는 종목 등)이므로 실패로 보지 않습니다.
+     */
+    static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return isUpstreamFailureStatus(response.getStatusCode().value());
+        }
+        if (e instanceof HttpResponseException response) {
+            return isUpstreamFailureStatus(response.getStatusCode());
+        }
+        return true;
+    }
+
+    private static boolean isUpstreamFailureStatus(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new TreeMap<>();
+        guards.forEach((upstream, guard) -> stats.put(upstream, guard.stats()));
+        return stats;
+    }
+}
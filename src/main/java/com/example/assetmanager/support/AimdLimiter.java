@@ -0,0 +1,156 @@
+package com.example.assetmanager.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 외부 API 하나에 동시에 보낼 수 있는 요청 수를 AIMD(additive increase, multiplicative decrease)로 조절합니다.
+ * 한도를 절반 이상 쓰는 동안 성공하면 한도를 1씩 늘리고, 실패/지연/요청 한도 초과가 오면 한도를 비율만큼 줄입니다.
+ * 한도만큼 요청이 진행 중이면 tryAcquire는 기다리지 않고 바로 거절하고,
+ * enqueue는 자리가 날 때까지 들어온 순서대로 기다리게 합니다 (일괄 조회가 한도가 줄어든 만큼 거절되지 않도록).
+ */
+public class AimdLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private int limit;
+    private int inFlight;
+    private long acquired;
+    private long rejected;
+    private long drops;
+    private long queued;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    public AimdLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * 진행 중인 요청이 한도보다 적으면 자리를 하나 잡고 true를 반환합니다.
+     * true를 받은 호출자는 onSuccess/onDrop/onIgnored 중 하나로 자리를 반드시 돌려줘야 합니다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= limit) {
+            rejected++;
+            return false;
+        }
+        inFlight++;
+        acquired++;
+        return true;
+    }
+
+    /**
+     * 자리가 있고 기다리는 요청이 없으면 바로, 아니면 자리가 날 때 onPermit을 호출합니다 (자리를 잡은 상태로).
+     * 기다리는 동안에는 반환된 Waiter로 취소할 수 있습니다.
+     */
+    public Waiter enqueue(Runnable onPermit) {
+        Waiter waiter = new Waiter(onPermit);
+        synchronized (this) {
+            if (!waiters.isEmpty() || inFlight >= limit) {
+                queued++;
+                waiters.addLast(waiter);
+                return waiter;
+            }
+            inFlight++;
+            acquired++;
+        }
+        onPermit.run();
+        return waiter;
+    }
+
+    public void onSuccess() {
+        List<Waiter> granted;
+        synchronized (this) {
+            // 한도를 충분히 쓰지 않는 동안의 성공으로는 한도를 늘리지 않음
+            if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            inFlight--;
+            granted = grantWaiters();
+        }
+        granted.forEach(waiter -> waiter.onPermit.run());
+    }
+
+    public void onDrop() {
+        List<Waiter> granted;
+        synchronized (this) {
+            drops++;
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            inFlight--;
+            granted = grantWaiters();
+        }
+        granted.forEach(waiter -> waiter.onPermit.run());
+    }
+
+    public void onIgnored() {
+        List<Waiter> granted;
+        synchronized (this) {
+            inFlight--;
+            granted = grantWaiters();
+        }
+        granted.forEach(waiter -> waiter.onPermit.run());
+    }
+
+    // 비는 자리만큼 기다리던 요청에 자리를 잡아 줌. onPermit은 잠금 밖에서 호출
+    private List<Waiter> grantWaiters() {
+        List<Waiter> granted = List.of();
+        while (inFlight < limit && !waiters.isEmpty()) {
+            if (granted.isEmpty()) {
+                granted = new ArrayList<>();
+            }
+            granted.add(waiters.pollFirst());
+            inFlight++;
+            acquired++;
+        }
+        return granted;
+    }
+
+    /**
+     * 자리를 기다리는 요청 하나.
+     */
+    public final class Waiter {
+
+        private final Runnable onPermit;
+
+        private Waiter(Runnable onPermit) {
+            this.onPermit = onPermit;
+        }
+
+        /**
+         * 아직 기다리는 중이면 대기열에서 빼고 true. 이미 자리를 받았으면 false (받은 자리는 호출자가 돌려줘야 함).
+         */
+        public boolean cancel() {
+            synchronized (AimdLimiter.this) {
+                return waiters.remove(this);
+            }
+        }
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("limit", limit);
+        stats.put("inFlight", inFlight);
+        stats.put("acquired", acquired);
+        stats.put("rejected", rejected);
+        stats.put("drops", drops);
+        stats.put("queued", queued);
+        stats.put("waiting", waiters.size());
+        return stats;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.assetmanager.support;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 외부 의존성 하나의 동시 실행 수와 대기열 길이를 제한하는 격벽. 한 외부 API가 느려져도 그 API의 작업만 밀리고,
+ * 다른 요청이 쓰는 스레드는 점유하지 않습니다. 작업은 넘겨받은 실행기(블로킹 I/O 실행기: 가상 스레드 모드에서는
+ * 가상 스레드)에서 실행하고, 여기서는 동시 실행 수만 셉니다. 실행기를 넘기지 않으면 전용 플랫폼 스레드를 씁니다.
+ * 실행 중인 작업과 대기열이 모두 차면 기다리지 않고 RejectedException으로 즉시 실패합니다.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final Executor delegate;
+    // 직접 만든 스레드 풀 (실행기를 넘겨받았으면 null)
+    private final ExecutorService ownExecutor;
+    private final Scheduler scheduler;
+    private final ThroughputMeter meter = new ThroughputMeter();
+    private final AtomicLong rejected = new AtomicLong();
+    // active, waiting, shutdown은 this로 보호
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private int active;
+    private boolean shutdown;
+
+    public Bulkhead(String name, int maxConcurrent, int queueCapacity) {
+        this(name, maxConcurrent, queueCapacity, null);
+    }
+
+    public Bulkhead(String name, int maxConcurrent, int queueCapacity, Executor executor) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        // 동시 실행 수는 여기서 제한하므로 전용 풀은 크기 제한 없이 만들고, 한가할 때는 스레드를 남겨 두지 않음
+        this.ownExecutor = executor == null ? Executors.newCachedThreadPool(threadFactory(name)) : null;
+        this.delegate = executor != null ? executor : ownExecutor;
+        this.scheduler = Schedulers.fromExecutor(this::execute);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 블로킹 작업을 이 풀에서 실행합니다. 제출한 스레드의 요청 마감 시각(RequestDeadline)을 작업 스레드로 옮깁니다.
+     * 풀이 가득 차 있으면 RejectedException으로 실패한 future를 반환합니다.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        RequestDeadline deadline = RequestDeadline.current().orElse(null);
+        try {
+            execute(() -> {
+                RequestDeadline.set(deadline);
+                long startedAt = meter.start();
+                try {
+                    T result = task.call();
+                    meter.stop(startedAt, true);
+                    future.complete(result);
+                } catch (Throwable e) {
+                    meter.stop(startedAt, false);
+                    future.completeExceptionally(e);
+                } finally {
+                    RequestDeadline.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 리액티브 체인의 블로킹 구간을 subscribeOn/publishOn으로 이 풀에서 실행할 때 씁니다.
+     */
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            waiting.clear();
+        }
+        scheduler.dispose();
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+        }
+    }
+
+    // 자리가 있으면 바로 실행하고, 없으면 대기열에 넣고, 대기열도 차 있으면 거절
+    private void execute(Runnable task) {
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedException(name);
+            }
+            if (active >= maxConcurrent) {
+                if (waiting.size() >= queueCapacity) {
+                    rejected.incrementAndGet();
+                    throw new RejectedException(name);
+                }
+                waiting.add(task);
+                return;
+            }
+            active++;
+        }
+        try {
+            delegate.execute(() -> drain(task));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                active--;
+            }
+            throw e;
+        }
+    }
+
+    // 자리를 얻은 스레드가 대기열이 빌 때까지 이어서 실행한 뒤 자리를 돌려줌
+    private void drain(Runnable task) {
+        Runnable next = task;
+        while (next != null) {
+            try {
+                next.run();
+            } catch (Throwable e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    active--;
+                }
+            }
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 동시 실행 수와 대기열이 모두 차서 작업을 받지 않았음을 알립니다.
+     */
+    public static class RejectedException extends RejectedExecutionException {
+        private static final long serialVersionUID = 1L;
+
+        public RejectedException(String name) {
+            super("Bulkhead " + name + " is full");
+        }
+    }
+
+    /**
+     * 이 풀(또는 다른 bulkhead)이 작업을 받지 않아 실패했는지 확인합니다.
+     * scheduler()로 subscribeOn한 체인에서는 Reactor가 원인으로 감싸서 발행하므로 원인까지 살핍니다.
+     */
+    public static boolean isRejected(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("queueCapacity", queueCapacity);
+        synchronized (this) {
+            stats.put("active", active);
+            stats.put("queued", waiting.size());
+        }
+        stats.put("rejected", rejected.get());
+        stats.put("submitted", meter.stats());
+        return stats;
+    }
+}
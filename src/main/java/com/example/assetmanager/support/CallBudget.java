@@ -0,0 +1,100 @@
+package com.example.assetmanager.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 시간 창마다 허용하는 외부 호출 수. 창은 시계의 시간대 기준으로 정렬되므로
+ * 하루 단위 창은 자정(예: KST 0시)에 초기화됩니다. 한도가 0 이하면 제한하지 않습니다.
+ */
+public class CallBudget {
+
+    private final String name;
+    private final int limit;
+    private final Duration window;
+    private final Clock clock;
+
+    private long windowIndex = Long.MIN_VALUE;
+    private int used;
+    private long acquired;
+    private long rejected;
+
+    public CallBudget(String name, int limit, Duration window, Clock clock) {
+        this.name = name;
+        this.limit = limit;
+        this.window = window;
+        this.clock = clock;
+    }
+
+    public static CallBudget unlimited(String name) {
+        return new CallBudget(name, 0, Duration.ofDays(1), Clock.systemUTC());
+    }
+
+    public boolean isLimited() {
+        return limit > 0;
+    }
+
+    /**
+     * 현재 창에 남은 호출이 있으면 하나를 사용하고 true를 반환합니다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (!isLimited()) {
+            acquired++;
+            return true;
+        }
+        roll();
+        if (used >= limit) {
+            rejected++;
+            return false;
+        }
+        used++;
+        acquired++;
+        return true;
+    }
+
+    /**
+     * 현재 창에 남은 호출 수. 제한이 없으면 Integer.MAX_VALUE.
+     */
+    public synchronized int remaining() {
+        if (!isLimited()) {
+            return Integer.MAX_VALUE;
+        }
+        roll();
+        return limit - used;
+    }
+
+    private void roll() {
+        Instant now = clock.instant();
+        long offsetSeconds = clock.getZone().getRules().getOffset(now).getTotalSeconds();
+        long index = Math.floorDiv(now.getEpochSecond() + offsetSeconds, Math.max(1, window.getSeconds()));
+        if (index != windowIndex) {
+            windowIndex = index;
+            used = 0;
+        }
+    }
+
+    /**
+     * 한도를 다 써서 외부 호출을 하지 않았음을 알립니다. "결과 없음"과 구분하기 위해 빈 결과 대신 사용합니다.
+     */
+    public static class ExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public ExceededException(String name) {
+            super("Call budget exceeded: " + name);
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("limit", isLimited() ? limit : "unlimited");
+        stats.put("window", window.toString());
+        stats.put("remaining", isLimited() ? remaining() : "unlimited");
+        stats.put("acquired", acquired);
+        stats.put("rejected", rejected);
+        return stats;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.assetmanager.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 외부 API 하나에 대한 회로 차단기. 연속 실패가 기준 횟수에 이르면 열려(OPEN) 일정 시간 동안 호출을 즉시 거절하고,
+ * 시간이 지나면 시험 호출 하나만 허용합니다(HALF_OPEN). 시험 호출이 성공하면 닫히고, 실패하면 다시 열립니다.
+ * 기준 횟수가 0 이하면 열리지 않습니다.
+ * 상태가 바뀔 때마다 세대(epoch)가 올라가며, 호출 결과는 그 호출이 시작된 세대에서만 상태에 반영합니다.
+ * 열리기 전에 시작된 느린 호출이 늦게 성공해도 시험 호출 대신 회로를 닫지 않습니다.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt = Instant.EPOCH;
+    private boolean probeInFlight;
+    private long epoch;
+    private long successes;
+    private long failures;
+    private long rejected;
+    private long opened;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * 지금 호출해도 되면 true. 열린 상태면 false, 반쯤 열린 상태에서는 시험 호출 하나만 true입니다.
+     * true를 받은 호출자는 결과에 따라 onSuccess/onFailure/onIgnored 중 하나를 반드시 호출해야 합니다.
+     */
+    public boolean tryAcquire() {
+        return acquire() >= 0;
+    }
+
+    /**
+     * tryAcquire와 같지만 허용하면 지금 세대(0 이상)를, 거절하면 -1을 반환합니다.
+     * 받은 세대를 결과와 함께 onSuccess/onFailure/onIgnored에 넘깁니다.
+     */
+    public synchronized long acquire() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                rejected++;
+                return -1;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                rejected++;
+                return -1;
+            }
+            probeInFlight = true;
+        }
+        return epoch;
+    }
+
+    public synchronized void onSuccess() {
+        onSuccess(epoch);
+    }
+
+    public synchronized void onSuccess(long startedEpoch) {
+        successes++;
+        // 열리기 전에 시작된 호출의 늦은 성공으로는 닫거나 연속 실패를 지우지 않음
+        if (startedEpoch != epoch) {
+            return;
+        }
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        onFailure(epoch);
+    }
+
+    public synchronized void onFailure(long startedEpoch) {
+        failures++;
+        // 이전 세대에 시작된 호출의 실패는 이미 반영된 장애이므로 다시 열지 않음
+        if (startedEpoch != epoch) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED && failureThreshold > 0 && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * 결과를 판단할 수 없이 끝난 호출 (취소, 호출 전 중단 등). 상태는 바꾸지 않고 시험 호출 자리만 돌려줍니다.
+     */
+    public synchronized void onIgnored() {
+        onIgnored(epoch);
+    }
+
+    public synchronized void onIgnored(long startedEpoch) {
+        if (state == State.HALF_OPEN && startedEpoch == epoch) {
+            probeInFlight = false;
+        }
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = clock.instant();
+        consecutiveFailures = 0;
+        opened++;
+    }
+
+    private void transition(State next) {
+        state = next;
+        probeInFlight = false;
+        epoch++;
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("state", getState().name());
+        stats.put("consecutiveFailures", consecutiveFailures);
+        stats.put("successes", successes);
+        stats.put("failures", failures);
+        stats.put("rejected", rejected);
+        stats.put("opened", opened);
+        return stats;
+    }
+}
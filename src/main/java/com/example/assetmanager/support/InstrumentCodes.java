@@ -0,0 +1,90 @@
+package com.example.assetmanager.support;
+
+import com.example.assetmanager.domain.AssetType;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 자유 형식 종목 코드("KRX:0082V0", "005930", "BTC", "KRW-BTC")를 한 가지 규칙으로 정규화합니다.
+ * 가격 캐시, 시세 제공자, 종목 마스터가 각자 문자열을 자르지 않고 이 규칙을 함께 씁니다.
+ */
+public final class InstrumentCodes {
+
+    public static final String KRX = "KRX";
+    public static final String UPBIT = "UPBIT";
+
+    // 국내 단축코드: 숫자로 시작하는 6자리 (0082V0 등 영문이 섞인 코드 포함)
+    private static final Pattern KRX_SHORT_CODE = Pattern.compile("[0-9][0-9A-Z]{5}");
+    private static final String DEFAULT_UPBIT_QUOTE = "KRW-";
+
+    private InstrumentCodes() {
+    }
+
+    /**
+     * 거래소 접두사를 떼고 대문자로 맞춘 종목 기호. "KRX:005930" → "005930", null → "".
+     */
+    public static String symbol(String code) {
+        if (code == null) {
+            return "";
+        }
+        String value = code.trim().toUpperCase(Locale.ROOT);
+        int colon = value.lastIndexOf(':');
+        return colon >= 0 ? value.substring(colon + 1) : value;
+    }
+
+    /**
+     * 거래소 접두사 (대문자). 접두사가 없으면 null. "NASDAQ:AAPL" → "NASDAQ".
+     */
+    public static String prefix(String code) {
+        if (code == null) {
+            return null;
+        }
+        String value = code.trim().toUpperCase(Locale.ROOT);
+        int colon = value.indexOf(':');
+        return colon >= 0 ? value.substring(0, colon) : null;
+    }
+
+    /**
+     * 업비트 마켓 코드. 마켓이 없으면 KRW 마켓으로 봅니다. "BTC", "UPBIT:BTC" → "KRW-BTC".
+     */
+    public static String upbitMarket(String code) {
+        String symbol = symbol(code);
+        return symbol.isEmpty() || symbol.contains("-") ? symbol : DEFAULT_UPBIT_QUOTE + symbol;
+    }
+
+    public static boolean isKrxShortCode(String symbol) {
+        return KRX_SHORT_CODE.matcher(symbol).matches();
+    }
+
+    /**
+     * 자산 유형과 코드로 만든 정규 종목 ID. 국내 종목은 "KRX:005930", 가상화폐는 "UPBIT:KRW-BTC",
+     * 그 밖에는 정규화한 기호 그대로입니다. 종목 마스터의 키로 쓰입니다.
+     */
+    public static String canonicalId(AssetType type, String code) {
+        if (type == AssetType.CRYPTO) {
+            String market = upbitMarket(code);
+            return market.isEmpty() ? market : UPBIT + ":" + market;
+        }
+        String symbol = symbol(code);
+        if (symbol.isEmpty()) {
+            return symbol;
+        }
+        if (isKrxType(type) || (type == AssetType.STOCK && isKrxShortCode(symbol))) {
+            return KRX + ":" + symbol;
+        }
+        return symbol;
+    }
+
+    /**
+     * 국내 시세(KRX)로 조회하는 종목인지. "KRX:" 접두사가 있거나 정규 ID가 국내 종목이면 true입니다
+     * (STOCK 유형의 "005930"처럼 접두사 없는 단축코드 포함).
+     */
+    public static boolean isKrxListed(AssetType type, String code) {
+        return KRX.equals(prefix(code)) || canonicalId(type, code).startsWith(KRX + ":");
+    }
+
+    private static boolean isKrxType(AssetType type) {
+        return type == AssetType.STOCK_KR || type == AssetType.ETF_KR || type == AssetType.REITS;
+    }
+}
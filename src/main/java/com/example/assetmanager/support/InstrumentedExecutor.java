@@ -0,0 +1,72 @@
+package com.example.assetmanager.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 처리량을 계측하는 실행기 래퍼. mode는 계측 결과를 비교하기 위한 이름(virtual/platform 등)입니다.
+ * java.util.concurrent.Executor를 구현하지 않으므로 빈으로 등록해도 Spring Boot 기본 applicationTaskExecutor를 대체하지 않습니다.
+ */
+public class InstrumentedExecutor {
+
+    private final String mode;
+    private final Executor delegate;
+    private final ThroughputMeter meter = new ThroughputMeter();
+
+    public InstrumentedExecutor(String mode, Executor delegate) {
+        this.mode = mode;
+        this.delegate = delegate;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void execute(Runnable task) {
+        delegate.execute(() -> {
+            long start = meter.start();
+            boolean success = false;
+            try {
+                task.run();
+                success = true;
+            } finally {
+                meter.stop(start, success);
+            }
+        });
+    }
+
+    /**
+     * 작업을 실행하고 완료를 알리는 future를 반환합니다. 계측이 끝난 뒤에 future가 완료됩니다.
+     */
+    public CompletableFuture<Void> runAsync(Runnable task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        delegate.execute(() -> {
+            long start = meter.start();
+            try {
+                task.run();
+                meter.stop(start, true);
+                future.complete(null);
+            } catch (Throwable e) {
+                meter.stop(start, false);
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", mode);
+        stats.putAll(meter.stats());
+        return stats;
+    }
+
+    public void shutdown() {
+        if (delegate instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.assetmanager.support;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * 요청 하나에 허용된 마감 시각. 요청 스레드에서는 ThreadLocal로, 리액티브 체인에서는 Reactor Context로 전달되며,
+ * 그 요청에서 나가는 외부 호출은 남은 시간 안에서만 기다립니다.
+ * 블로킹 호출자는 구독 직전에 propagate()로 현재 스레드의 마감 시각을 Context에 옮겨야
+ * 스레드가 바뀐 뒤(boundedElastic 등)에도 이어집니다.
+ */
+public final class RequestDeadline {
+
+    static final String CONTEXT_KEY = RequestDeadline.class.getName();
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private RequestDeadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static RequestDeadline after(Duration timeout) {
+        return new RequestDeadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    public static Optional<RequestDeadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void set(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Context에 담긴 마감 시각, 없으면 구독한 스레드의 마감 시각.
+     */
+    public static Optional<RequestDeadline> from(ContextView context) {
+        return context.<RequestDeadline>getOrEmpty(CONTEXT_KEY).or(RequestDeadline::current);
+    }
+
+    /**
+     * contextWrite에 넘겨 구독 시점 스레드의 마감 시각을 Context로 옮깁니다.
+     */
+    public static Function<Context, Context> propagate() {
+        return context -> context.hasKey(CONTEXT_KEY) ? context
+                : current().map(deadline -> context.put(CONTEXT_KEY, deadline)).orElse(context);
+    }
+
+    /**
+     * 마감 시각이 지나 외부 호출을 하지 않았거나 기다리기를 멈췄음을 알립니다.
+     */
+    public static class ExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public ExceededException(String target) {
+            super("Request deadline exceeded while calling " + target);
+        }
+    }
+}
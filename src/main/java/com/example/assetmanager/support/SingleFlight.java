@@ -0,0 +1,133 @@
+package com.example.assetmanager.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 같은 키에 대한 동시 요청을 하나의 실제 호출로 합칩니다 (single-flight).
+ * 먼저 들어온 요청이 호출을 수행하고, 그 사이에 들어온 요청은 같은 결과를 함께 받습니다.
+ * 호출이 끝나면 키는 즉시 비워지므로 결과를 캐시하지는 않습니다.
+ * 블로킹 호출자는 execute/executeAll을, 리액티브 호출자는 *Async 메서드를 사용합니다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public V execute(K key, Supplier<V> loader) {
+        return executeAsync(key, () -> Mono.fromSupplier(loader)).block();
+    }
+
+    /**
+     * execute의 비동기 버전. 구독 시점에 진행 중인 호출이 있으면 그 결과를 기다리고,
+     * 없으면 loader가 만든 Mono를 구독합니다. 기다리는 쪽이 취소해도 진행 중인 호출은 취소되지 않습니다.
+     */
+    public Mono<V> executeAsync(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                coalesced.incrementAndGet();
+                return Mono.fromFuture(existing, true);
+            }
+
+            executions.incrementAndGet();
+            return Mono.defer(loader)
+                    .doOnNext(future::complete)
+                    .doOnError(future::completeExceptionally)
+                    .doFinally(signal -> {
+                        // 값 없이 끝나거나 취소된 경우에도 기다리는 요청이 풀리도록 완료 처리
+                        future.complete(null);
+                        inFlight.remove(key, future);
+                    });
+        });
+    }
+
+    /**
+     * 여러 키를 한 번에 처리합니다. 이미 진행 중인 키는 그 결과를 기다리고,
+     * 나머지 키만 모아 loader를 한 번 호출합니다. 결과가 없는 키는 반환 맵에서 빠집니다.
+     */
+    public Map<K, V> executeAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        return executeAllAsync(keys, owned -> Mono.fromSupplier(() -> loader.apply(owned))).block();
+    }
+
+    /**
+     * executeAll의 비동기 버전. 반환되는 Mono는 항상 (비어 있을 수 있는) 맵 하나를 발행합니다.
+     */
+    public Mono<Map<K, V>> executeAllAsync(Collection<K> keys, Function<List<K>, Mono<Map<K, V>>> loader) {
+        return Mono.defer(() -> {
+            Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+            Map<K, CompletableFuture<V>> joined = new LinkedHashMap<>();
+            for (K key : keys) {
+                if (owned.containsKey(key) || joined.containsKey(key)) {
+                    continue;
+                }
+                CompletableFuture<V> future = new CompletableFuture<>();
+                CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+                if (existing == null) {
+                    owned.put(key, future);
+                } else {
+                    joined.put(key, existing);
+                }
+            }
+
+            Mono<Map<K, V>> ownedResults = owned.isEmpty() ? Mono.just(Map.<K, V>of()) : loadOwned(owned, loader);
+
+            coalesced.addAndGet(joined.size());
+            Mono<Map<K, V>> joinedResults = Flux.fromIterable(joined.entrySet())
+                    .flatMap(entry -> Mono.fromFuture(entry.getValue(), true)
+                            .map(value -> Map.entry(entry.getKey(), value))
+                            // 다른 요청이 수행한 호출의 실패는 해당 키를 결과에서 제외하는 것으로 처리
+                            .onErrorResume(e -> Mono.empty()))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+
+            return Mono.zip(ownedResults, joinedResults, (ownedMap, joinedMap) -> {
+                Map<K, V> results = new LinkedHashMap<>(ownedMap);
+                results.putAll(joinedMap);
+                return results;
+            });
+        });
+    }
+
+    private Mono<Map<K, V>> loadOwned(Map<K, CompletableFuture<V>> owned,
+            Function<List<K>, Mono<Map<K, V>>> loader) {
+        executions.incrementAndGet();
+        return Mono.defer(() -> loader.apply(new ArrayList<>(owned.keySet())))
+                .defaultIfEmpty(Map.of())
+                .map(loaded -> {
+                    Map<K, V> results = new LinkedHashMap<>();
+                    owned.forEach((key, future) -> {
+                        V value = loaded.get(key);
+                        future.complete(value);
+                        if (value != null) {
+                            results.put(key, value);
+                        }
+                    });
+                    return results;
+                })
+                .doOnError(e -> owned.values().forEach(future -> future.completeExceptionally(e)))
+                .doFinally(signal -> owned.forEach((key, future) -> {
+                    future.complete(null);
+                    inFlight.remove(key, future);
+                }));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("executions", executions.get());
+        stats.put("coalesced", coalesced.get());
+        return stats;
+    }
+}
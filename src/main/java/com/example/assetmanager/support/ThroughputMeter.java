@@ -0,0 +1,55 @@
+package com.example.assetmanager.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 작업 처리량 계측기. 시작/종료 시점을 받아 동시 처리 수, 평균 소요 시간, 초당 처리량을 집계합니다.
+ */
+public class ThroughputMeter {
+
+    private final long createdAt = System.nanoTime();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    /**
+     * 작업 시작을 기록하고 stop에 넘길 시작 시각을 반환합니다.
+     */
+    public long start() {
+        started.incrementAndGet();
+        int current = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(current, Math::max);
+        return System.nanoTime();
+    }
+
+    public void stop(long startNanos, boolean success) {
+        inFlight.decrementAndGet();
+        totalNanos.addAndGet(System.nanoTime() - startNanos);
+        if (success) {
+            completed.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long finished = completed.get() + failed.get();
+        double elapsedSeconds = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - createdAt)) / 1000.0;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("started", started.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("inFlight", inFlight.get());
+        stats.put("peakInFlight", peakInFlight.get());
+        stats.put("avgMillis", finished == 0 ? 0.0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.get()) / 1000.0 / finished);
+        stats.put("throughputPerSecond", finished / elapsedSeconds);
+        return stats;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.assetmanager.support;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * 외부 API 하나에 대한 회로 차단기와 AIMD 동시 요청 한도를 묶어 호출을 감쌉니다.
+ * 회로가 열려 있거나 동시 요청 한도가 차 있으면 호출하지 않고 RejectedException으로 즉시 실패합니다.
+ * 일괄 조회는 protectQueued/protectManyQueued로 동시 요청 한도에 자리가 날 때까지 기다립니다.
+ * 호출 결과는 다음과 같이 반영합니다. 회로 차단기에는 호출이 시작된 세대(epoch)와 함께 알립니다.
+ * <ul>
+ * <li>slow-call 기준보다 오래 걸린 호출(취소 포함): 실패</li>
+ * <li>isFailure가 true인 에러: 실패</li>
+ * <li>그 전에 취소된 호출, 호출 한도 초과(CallBudget), 요청 마감 시각 초과(RequestDeadline): 반영하지 않음</li>
+ * <li>나머지(정상 응답, 요청 자체의 잘못을 알리는 응답): 성공</li>
+ * </ul>
+ */
+public class UpstreamGuard {
+
+    // protectManyQueued에서 기다린 자리의 상태
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int USED = 2;
+    private static final int CANCELLED = 3;
+
+    private final String name;
+    private final CircuitBreaker breaker;
+    private final AimdLimiter limiter;
+    private final Duration slowCallThreshold;
+    private final Predicate<Throwable> isFailure;
+
+    public UpstreamGuard(String name, CircuitBreaker breaker, AimdLimiter limiter, Duration slowCallThreshold,
+            Predicate<Throwable> isFailure) {
+        this.name = name;
+        this.breaker = breaker;
+        this.limiter = limiter;
+        this.slowCallThreshold = slowCallThreshold;
+        this.isFailure = isFailure;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    public AimdLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * 구독 시점에 호출 가능 여부를 확인하고, 가능하면 call이 만든 Mono를 구독합니다.
+     */
+    public <T> Mono<T> protect(Supplier<Mono<T>> call) {
+        // singleOrEmpty는 완료까지 기다리므로 값이 도착해도 취소로 기록되지 않음
+        return protectMany(() -> Mono.defer(call).flux()).singleOrEmpty();
+    }
+
+    public <T> Flux<T> protectMany(Supplier<Flux<T>> call) {
+        return Flux.defer(() -> run(acquire(), call));
+    }
+
+    /**
+     * protect와 같지만 동시 요청 한도가 차 있으면 거절하지 않고 자리가 날 때까지 기다립니다.
+     */
+    public <T> Mono<T> protectQueued(Supplier<Mono<T>> call) {
+        return protectManyQueued(() -> Mono.defer(call).flux()).singleOrEmpty();
+    }
+
+    /**
+     * protectMany와 같지만 동시 요청 한도가 차 있으면 들어온 순서대로 자리가 날 때까지 기다립니다.
+     * 회로가 열려 있으면 기다리지 않고 거절하며, 기다리는 중에 취소되면 대기열에서 빠집니다.
+     */
+    public <T> Flux<T> protectManyQueued(Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            if (breaker.getState() == CircuitBreaker.State.OPEN) {
+                throw new RejectedException(name, "circuit open");
+            }
+            // 받은 자리는 호출이 쓰거나(USED), 취소 쪽에서 돌려줌(CANCELLED) - 둘 중 먼저 바꾼 쪽만
+            AtomicInteger permit = new AtomicInteger(WAITING);
+            return Mono.<Void>create(sink -> {
+                AimdLimiter.Waiter waiter = limiter.enqueue(() -> {
+                    if (permit.compareAndSet(WAITING, GRANTED)) {
+                        sink.success();
+                    } else {
+                        limiter.onIgnored();
+                    }
+                });
+                sink.onCancel(() -> {
+                    if (waiter.cancel()) {
+                        permit.set(CANCELLED);
+                    } else if (permit.getAndSet(CANCELLED) == GRANTED) {
+                        limiter.onIgnored();
+                    }
+                });
+            }).thenMany(Flux.defer(() -> {
+                if (!permit.compareAndSet(GRANTED, USED)) {
+                    return Flux.<T>empty();
+                }
+                long epoch = breaker.acquire();
+                if (epoch < 0) {
+                    limiter.onIgnored();
+                    return Flux.<T>error(new RejectedException(name, "circuit open"));
+                }
+                return run(epoch, call);
+            }));
+        });
+    }
+
+    private <T> Flux<T> run(long epoch, Supplier<Flux<T>> call) {
+        long startedAt = System.nanoTime();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        return Flux.defer(call)
+                .doOnError(error::set)
+                .doFinally(signal -> release(epoch, startedAt, signal == SignalType.CANCEL, error.get()));
+    }
+
+    /**
+     * 블로킹 호출용. 호출에서 난 예외는 그대로 다시 던집니다.
+     */
+    public <T, E extends Exception> T call(CheckedSupplier<T, E> call) throws E {
+        long epoch = acquire();
+        long startedAt = System.nanoTime();
+        Throwable error = null;
+        try {
+            return call.get();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            release(epoch, startedAt, false, error);
+        }
+    }
+
+    // 회로 차단기의 현재 세대를 반환
+    private long acquire() {
+        long epoch = breaker.acquire();
+        if (epoch < 0) {
+            throw new RejectedException(name, "circuit open");
+        }
+        if (!limiter.tryAcquire()) {
+            breaker.onIgnored(epoch);
+            throw new RejectedException(name, "concurrency limit " + limiter.getLimit() + " reached");
+        }
+        return epoch;
+    }
+
+    private void release(long epoch, long startedAt, boolean cancelled, Throwable error) {
+        boolean slow = System.nanoTime() - startedAt > slowCallThreshold.toNanos();
+        if (slow || (error != null && !isNeutral(error) && isFailure.test(error))) {
+            breaker.onFailure(epoch);
+            limiter.onDrop();
+        } else if (cancelled || isNeutral(error)) {
+            breaker.onIgnored(epoch);
+            limiter.onIgnored();
+        } else {
+            breaker.onSuccess(epoch);
+            limiter.onSuccess();
+        }
+    }
+
+    // 외부 API와 무관하게 이쪽 사정으로 호출을 멈춘 경우
+    private static boolean isNeutral(Throwable error) {
+        return error instanceof CallBudget.ExceededException || error instanceof RequestDeadline.ExceededException;
+    }
+
+    @FunctionalInterface
+    public interface CheckedSupplier<T, E extends Exception> {
+        T get() throws E;
+    }
+
+    /**
+     * 회로가 열려 있거나 동시 요청 한도가 차서 외부 호출을 하지 않았음을 알립니다.
+     */
+    public static class RejectedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public RejectedException(String name, String reason) {
+            super("Upstream " + name + " rejected: " + reason);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("breaker", breaker.stats());
+        stats.put("limiter", limiter.stats());
+        stats.put("slowCallThresholdMs", slowCallThreshold.toMillis());
+        return stats;
+    }
+}
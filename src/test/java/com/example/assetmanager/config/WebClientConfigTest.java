@@ -0,0 +1,63 @@
+package com.example.assetmanager.config;
+
+import com.example.assetmanager.support.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebClientConfigTest {
+
+    private final ClientRequest request = ClientRequest
+            .create(HttpMethod.GET, URI.create("https://apis.data.go.kr/price")).build();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("요청 마감 시각까지 응답이 없으면 기다리기를 멈춤 (스레드가 바뀌어도 유지)")
+    void deadlineFilter_StopsWaitingAtRequestDeadline() {
+        // given: 응답이 오지 않는 외부 호출, 요청 스레드에 200ms 마감 시각
+        ExchangeFunction hanging = clientRequest -> Mono.never();
+        RequestDeadline.set(RequestDeadline.after(Duration.ofMillis(200)));
+        Mono<ClientResponse> exchange = Mono.defer(() -> WebClientConfig.deadlineFilter().filter(request, hanging))
+                .subscribeOn(Schedulers.boundedElastic())
+                .contextWrite(RequestDeadline.propagate());
+
+        // when & then
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(exchange::block).isInstanceOf(RequestDeadline.ExceededException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("마감 시각이 이미 지났으면 요청을 보내지 않음")
+    void deadlineFilter_SkipsCallWhenDeadlinePassed() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction counting = clientRequest -> {
+            calls.incrementAndGet();
+            return Mono.never();
+        };
+        RequestDeadline.set(RequestDeadline.after(Duration.ZERO));
+
+        // when & then
+        assertThatThrownBy(() -> WebClientConfig.deadlineFilter().filter(request, counting).block())
+                .isInstanceOf(RequestDeadline.ExceededException.class);
+        assertThat(calls).hasValue(0);
+    }
+}
@@ -1,27 +1,39 @@
 package com.example.assetmanager.controller;
 
+import com.example.assetmanager.auth.AuthInterceptor;
 import com.example.assetmanager.domain.Account;
 import com.example.assetmanager.domain.AccountType;
+import com.example.assetmanager.dto.AccountSummary;
 import com.example.assetmanager.service.AssetService;
+import com.example.assetmanager.service.Bulkheads;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AssetController.class)
+@Import(Bulkheads.class)
 class AssetControllerTest {
 
         @Autowired
@@ -30,9 +42,18 @@ class AssetControllerTest {
         @MockBean
         private AssetService assetService;
 
+        @MockBean
+        private AuthInterceptor authInterceptor;
+
         @Autowired
         private ObjectMapper objectMapper;
 
+        @BeforeEach
+        void setUp() throws Exception {
+                // 로그인 여부는 AuthInterceptor 몫이므로 컨트롤러 테스트에서는 통과시킴
+                given(authInterceptor.preHandle(any(), any(), any())).willReturn(true);
+        }
+
         @Test
         @DisplayName("모든 계좌 조회 API 테스트")
         void getAllAccounts_Success() throws Exception {
@@ -78,12 +99,37 @@ class AssetControllerTest {
         void getAccountSummary_Success() throws Exception {
                 // given
                 Long accountId = 1L;
-                Map<String, Object> summary = Map.of("accountName", "Test Account", "totalValue", 1000000);
-                given(assetService.getAccountSummary(accountId)).willReturn(summary);
+                given(assetService.getAccountSummary(accountId)).willReturn(summary(accountId, "Test Account"));
 
                 // when & then
                 mockMvc.perform(get("/api/accounts/{accountId}/summary", accountId))
                                 .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.accountName").value("Test Account"))
+                                .andExpect(jsonPath("$.totalCurrentValue").value(1000000))
+                                .andExpect(jsonPath("$.assets").isEmpty());
+        }
+
+        @Test
+        @DisplayName("요약 버전이 If-None-Match와 같으면 요약을 계산하지 않고 304 반환")
+        void getAccountSummary_NotModified() throws Exception {
+                // given
+                Long accountId = 1L;
+                given(assetService.getAccountSummaryVersion(accountId)).willReturn("epoch-1-3-0");
+
+                // when & then
+                mockMvc.perform(get("/api/accounts/{accountId}/summary", accountId)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"epoch-1-3-0\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string(HttpHeaders.ETAG, "\"epoch-1-3-0\""));
+                verify(assetService, never()).getAccountSummary(accountId);
+
+                // 버전이 바뀌면 새 ETag와 함께 본문 반환
+                given(assetService.getAccountSummaryVersion(accountId)).willReturn("epoch-1-4-0");
+                given(assetService.getAccountSummary(accountId)).willReturn(summary(accountId, "Test Account"));
+                mockMvc.perform(get("/api/accounts/{accountId}/summary", accountId)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"epoch-1-3-0\""))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG, "\"epoch-1-4-0\""))
                                 .andExpect(jsonPath("$.accountName").value("Test Account"));
         }
 
@@ -94,8 +140,13 @@ class AssetControllerTest {
                 Long accountId = 1L;
                 // void return이므로 특별한 return 설정 불필요
 
-                // when & then
-                mockMvc.perform(post("/api/accounts/{accountId}/sync", accountId))
+                // when
+                MvcResult result = mockMvc.perform(post("/api/accounts/{accountId}/sync", accountId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // then
+                mockMvc.perform(asyncDispatch(result))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.status").value("success"))
                                 .andExpect(jsonPath("$.message").value("Synced with Google Sheets"));
@@ -107,13 +158,38 @@ class AssetControllerTest {
                 // given
                 Long accountId = 1L;
 
-                // when & then
-                mockMvc.perform(post("/api/accounts/{accountId}/export", accountId))
+                // when
+                MvcResult result = mockMvc.perform(post("/api/accounts/{accountId}/export", accountId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // then
+                mockMvc.perform(asyncDispatch(result))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.status").value("success"))
                                 .andExpect(jsonPath("$.message").value("Exported to Google Sheets"));
         }
 
+        @Test
+        @DisplayName("전체 계좌 시세 갱신 API 테스트")
+        void refreshPortfolioPrices_Success() throws Exception {
+                // given
+                given(assetService.refreshPortfolioPricesAsync(true))
+                                .willReturn(Mono.just(Map.of("instruments", 2, "updatedAssets", 5)));
+
+                // when
+                MvcResult result = mockMvc.perform(post("/api/accounts/refresh-prices").param("force", "true"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // then
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status").value("success"))
+                                .andExpect(jsonPath("$.updatedAssets").value(5))
+                                .andExpect(jsonPath("$.forced").value(true));
+        }
+
         @Test
         @DisplayName("동기화 실패 시 500 에러와 메시지 반환 테스트")
         void syncAccount_Failure() throws Exception {
@@ -122,10 +198,21 @@ class AssetControllerTest {
                 org.mockito.BDDMockito.willThrow(new RuntimeException("Sync error")).given(assetService)
                                 .syncWithGoogleSheets(accountId);
 
-                // when & then
-                mockMvc.perform(post("/api/accounts/{accountId}/sync", accountId))
+                // when
+                MvcResult result = mockMvc.perform(post("/api/accounts/{accountId}/sync", accountId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // then
+                mockMvc.perform(asyncDispatch(result))
                                 .andExpect(status().isInternalServerError());
                 // GlobalExceptionHandler가 설정되어 있다면 적절한 JSON이 올 것이고,
                 // 아니라면 스프링 기본 에러 처리에 따라 500이 올 것임.
         }
+
+        private static AccountSummary summary(Long accountId, String accountName) {
+                return new AccountSummary(accountId, accountName, "Owner", "REGULAR", null, null,
+                                new BigDecimal("900000"), new BigDecimal("1000000"), new BigDecimal("100000"),
+                                new BigDecimal("11.1100"), BigDecimal.ZERO, List.of(), null, List.of());
+        }
 }
@@ -0,0 +1,115 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.Account;
+import com.example.assetmanager.domain.AccountType;
+import com.example.assetmanager.domain.Asset;
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.dto.AccountSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 요약 비교: 요약 DTO(전용 직렬화기) vs 기존 Map 요약.
+ * build*는 요약 하나를 만드는 비용, serialize*는 만들어 둔 요약을 JSON으로 쓰는 처리량입니다.
+ * buildMap은 같은 계산 결과를 기존 Map 형태로 옮기는 비용까지 포함하므로, 두 결과의 차이가 Map과 박싱 비용입니다.
+ * 요약당 할당량은 GC 프로파일러의 gc.alloc.rate.norm (B/op)으로 확인합니다.
+ * 실행: 테스트 클래스패스로 main 실행 (예: IDE에서 실행하거나 mvn exec:java -Dexec.classpathScope=test).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountSummaryBenchmark {
+
+    @Param({ "500" })
+    public int assets;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final FxRateService.Rates rates = new FxRateService.Rates(Map.of("USD", new BigDecimal("1350.5")),
+            Instant.parse("2024-05-31T06:00:00Z"));
+    private Account account;
+    private List<Asset> holdings;
+    private AccountSummary typed;
+    private Map<String, Object> map;
+
+    @Setup
+    public void setUp() {
+        account = new Account("벤치마크 계좌", null, null, "Owner", AccountType.REGULAR, "Bank", "123-456");
+        account.setId(1L);
+        holdings = new ArrayList<>(assets);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 31, 15, 30);
+        for (int i = 0; i < assets; i++) {
+            // 국내 주식 4 : 해외 주식 1
+            boolean foreign = i % 5 == 0;
+            holdings.add(Asset.builder().id((long) i)
+                    .type(foreign ? AssetType.STOCK_US : AssetType.STOCK_KR)
+                    .code(foreign ? "NASDAQ:T" + i : String.format("KRX:%06d", i))
+                    .name("종목" + i)
+                    .quantity(BigDecimal.valueOf(10 + i % 90))
+                    .averagePurchasePrice(foreign ? new BigDecimal("150.25") : BigDecimal.valueOf(50000 + i))
+                    .currentPrice(foreign ? new BigDecimal("171.80") : BigDecimal.valueOf(52000 + i))
+                    .lastPriceUpdate(updatedAt)
+                    .dividendCycle(i % 3 == 0 ? "3개월" : null)
+                    .dividendPerShare(i % 3 == 0 ? new BigDecimal("361") : null)
+                    .build());
+        }
+        typed = buildTyped();
+        map = buildMap();
+    }
+
+    @Benchmark
+    public AccountSummary buildTyped() {
+        return AccountSummaryStore.calculate(account, holdings, rates);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildMap() {
+        return SummaryMaps.toMap(AccountSummaryStore.calculate(account, holdings, rates));
+    }
+
+    @Benchmark
+    public byte[] serializeTyped() throws Exception {
+        return objectMapper.writeValueAsBytes(typed);
+    }
+
+    @Benchmark
+    public byte[] serializeMap() throws Exception {
+        return objectMapper.writeValueAsBytes(map);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(AccountSummaryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.Account;
+import com.example.assetmanager.domain.AccountType;
+import com.example.assetmanager.domain.Asset;
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.dto.AccountSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountSummaryJsonTest {
+
+    // 스프링 부트 기본 설정과 같게 JavaTimeModule을 쓰고 날짜는 ISO 문자열로
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    @DisplayName("요약 DTO는 기존 Map 요약과 같은 JSON으로 직렬화")
+    void serialize_MatchesMapContract() throws Exception {
+        // given: 원화/외화 자산, 시세 갱신 시각이 있는 자산과 없는 자산, 비어 있는 계좌 정보
+        Account account = new Account("혼합 계좌", null, null, "Owner", AccountType.ISA, null, null);
+        account.setId(7L);
+        Asset samsung = Asset.builder().id(1L).type(AssetType.STOCK_KR).code("KRX:005930").name("삼성전자")
+                .quantity(new BigDecimal("10")).averagePurchasePrice(new BigDecimal("70000"))
+                .currentPrice(new BigDecimal("75000")).lastPriceUpdate(LocalDateTime.of(2024, 5, 31, 15, 30, 5))
+                .dividendCycle("3개월").dividendPerShare(new BigDecimal("361")).build();
+        Asset apple = Asset.builder().id(2L).type(AssetType.STOCK_US).code("NASDAQ:AAPL").name("Apple")
+                .quantity(new BigDecimal("2")).averagePurchasePrice(new BigDecimal("150.00"))
+                .currentPrice(new BigDecimal("200.50")).build();
+        Asset cash = Asset.builder().type(AssetType.CASH).currency("JPY").quantity(BigDecimal.ONE)
+                .averagePurchasePrice(new BigDecimal("10000")).build();
+        FxRateService.Rates rates = new FxRateService.Rates(Map.of("USD", new BigDecimal("1350.5")),
+                Instant.parse("2024-05-31T06:00:00Z"));
+        AccountSummary summary = AccountSummaryStore.calculate(account, List.of(samsung, apple, cash), rates);
+
+        // when
+        JsonNode typed = objectMapper.readTree(objectMapper.writeValueAsBytes(summary));
+        JsonNode map = objectMapper.readTree(objectMapper.writeValueAsBytes(SummaryMaps.toMap(summary)));
+
+        // then
+        assertThat(typed).isEqualTo(map);
+        assertThat(typed.get("fxRatesAsOf").asText()).isEqualTo("2024-05-31T06:00:00Z");
+        assertThat(typed.at("/assets/0/lastPriceUpdate").asText()).isEqualTo("2024-05-31T15:30:05");
+        assertThat(typed.at("/assets/2/fxRate").isNull()).isTrue();
+        assertThat(typed.get("financialInstitution").isNull()).isTrue();
+    }
+}
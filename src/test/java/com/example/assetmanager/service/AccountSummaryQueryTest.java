@@ -0,0 +1,123 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.Account;
+import com.example.assetmanager.domain.AccountType;
+import com.example.assetmanager.domain.Asset;
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.dto.AccountSummary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ AssetService.class, AccountSummaryStore.class })
+// 요약 저장소는 싱글턴이므로 이전 테스트에서 롤백된 계좌의 요약이 남지 않게 테스트마다 새 컨텍스트 사용
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class AccountSummaryQueryTest {
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PriceProviderRegistry priceProviderRegistry;
+
+    @MockBean
+    private GoogleSheetsService googleSheetsService;
+
+    @MockBean
+    private AssetPriceWriter assetPriceWriter;
+
+    @MockBean
+    private PriceRefreshQueue priceRefreshQueue;
+
+    @MockBean
+    private FxRateService fxRateService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        given(fxRateService.currentRates()).willReturn(new FxRateService.Rates(Map.of(), null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 5, 20 })
+    @DisplayName("전체 계좌 요약은 계좌 수와 관계없이 쿼리 한 번으로 계좌와 자산을 읽음")
+    void getAllAccountSummaries_RunsSingleQuery(int accountCount) {
+        // given
+        for (int i = 0; i < accountCount; i++) {
+            persistAccount("계좌" + i, 3);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        List<AccountSummary> summaries = assetService.getAllAccountSummaries();
+
+        // then
+        assertThat(summaries).hasSize(accountCount)
+                .allSatisfy(summary -> assertThat(summary.assets()).hasSize(3));
+        assertThat(summaries.get(0).totalCurrentValue()).isEqualByComparingTo("180000");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 20 })
+    @DisplayName("보관된 요약을 다시 읽을 때는 쿼리를 실행하지 않음")
+    void getAllAccountSummaries_ServesMaterializedSummaries(int accountCount) {
+        // given
+        for (int i = 0; i < accountCount; i++) {
+            persistAccount("계좌" + i, 3);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        assetService.getAllAccountSummaries();
+        statistics.clear();
+
+        // when
+        List<AccountSummary> summaries = assetService.getAllAccountSummaries();
+        Map<String, Object> portfolio = assetService.getPortfolioSummary();
+
+        // then
+        assertThat(summaries).hasSize(accountCount);
+        assertThat((BigDecimal) portfolio.get("totalCurrentValue"))
+                .isEqualByComparingTo(BigDecimal.valueOf(180000L * accountCount));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private void persistAccount(String name, int assetCount) {
+        Account account = new Account(name, null, null, "owner", AccountType.REGULAR, null, null);
+        for (int i = 0; i < assetCount; i++) {
+            Asset asset = new Asset(account, AssetType.STOCK_KR, "KRX:00593" + i, "종목" + i, BigDecimal.ONE,
+                    new BigDecimal("50000"), new BigDecimal("60000"), null, LocalDate.of(2024, 1, 2));
+            account.getAssets().add(asset);
+        }
+        entityManager.persist(account);
+    }
+}
@@ -4,6 +4,9 @@ import com.example.assetmanager.domain.Account;
 import com.example.assetmanager.domain.AccountType;
 import com.example.assetmanager.domain.Asset;
 import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.dto.AccountSummary;
+import com.example.assetmanager.dto.AssetSummary;
+import com.example.assetmanager.dto.HeldInstrument;
 import com.example.assetmanager.repository.AccountRepository;
 import com.example.assetmanager.repository.AssetRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,12 +15,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -44,12 +58,28 @@ class AssetServiceTest {
 
         private AssetService assetService;
 
+        private FxRateService fxRateService;
+
+        private AssetPriceWriter assetPriceWriter;
+
         @BeforeEach
         void setUp() {
+                // 실제 지원 유형으로 라우팅 체인이 만들어지도록 supports는 실제 메서드 사용
+                lenient().when(publicDataPriceProvider.supports(any())).thenCallRealMethod();
+                lenient().when(publicDataPriceProvider.isAvailable()).thenReturn(true);
+
                 // List<PriceProvider> 주입을 위해 수동 생성
-                assetService = new AssetService(accountRepository, assetRepository,
-                                List.of(publicDataPriceProvider, priceProvider),
-                                googleSheetsService);
+                PriceProviderRegistry registry = new PriceProviderRegistry(
+                                List.of(publicDataPriceProvider, priceProvider), new PriceCache());
+                fxRateService = new FxRateService(WebClient.create());
+                AccountSummaryStore summaries = new AccountSummaryStore(accountRepository, assetRepository,
+                                fxRateService);
+                assetPriceWriter = new AssetPriceWriter(assetRepository, summaries);
+                assetService = new AssetService(accountRepository, assetRepository, registry, googleSheetsService,
+                                assetPriceWriter,
+                                new PriceRefreshQueue(assetRepository, registry, new ProviderCallBudgets(),
+                                                assetPriceWriter, fxRateService),
+                                summaries);
         }
 
         @Test
@@ -93,17 +123,115 @@ class AssetServiceTest {
                 given(accountRepository.findById(accountId)).willReturn(Optional.of(account));
                 given(assetRepository.findByAccountId(accountId)).willReturn(List.of(asset));
                 // when
-                Map<String, Object> summary = assetService.getAccountSummary(accountId);
+                AccountSummary summary = assetService.getAccountSummary(accountId);
 
                 // then
-                assertThat(summary.get("accountName")).isEqualTo("Test Account");
-                assertThat(summary.get("totalPurchaseAmount")).isEqualTo(new BigDecimal("700000"));
-                assertThat(summary.get("totalCurrentValue")).isEqualTo(new BigDecimal("750000"));
-                assertThat(summary.get("totalProfitLoss")).isEqualTo(new BigDecimal("50000"));
+                assertThat(summary.accountName()).isEqualTo("Test Account");
+                assertThat(summary.totalPurchaseAmount()).isEqualTo(new BigDecimal("700000"));
+                assertThat(summary.totalCurrentValue()).isEqualTo(new BigDecimal("750000"));
+                assertThat(summary.totalProfitLoss()).isEqualTo(new BigDecimal("50000"));
 
-                List<Map<String, Object>> assets = (List<Map<String, Object>>) summary.get("assets");
+                List<AssetSummary> assets = summary.assets();
                 assertThat(assets).hasSize(1);
-                assertThat(assets.get(0).get("name")).isEqualTo("삼성전자");
+                assertThat(assets.get(0).name()).isEqualTo("삼성전자");
+        }
+
+        @Test
+        @DisplayName("시세가 없는 국내 종목은 표기와 관계없이 0, 시세 조회 대상이 아닌 자산은 평균단가로 평가")
+        void getAccountSummary_ValuesUnpricedHoldingsByInstrumentRoute() {
+                // given
+                Long accountId = 1L;
+                Account account = new Account("Test Account", "Desc", "Sheet1", "Owner", AccountType.REGULAR, "Bank",
+                                "123-456");
+                account.setId(accountId);
+                Asset prefixed = Asset.builder().type(AssetType.STOCK).code("KRX:005930")
+                                .quantity(BigDecimal.ONE).averagePurchasePrice(new BigDecimal("70000")).build();
+                Asset bare = Asset.builder().type(AssetType.STOCK).code("000660")
+                                .quantity(BigDecimal.ONE).averagePurchasePrice(new BigDecimal("180000")).build();
+                Asset gold = Asset.builder().type(AssetType.GOLD_SPOT).code("GOLD")
+                                .quantity(BigDecimal.ONE).averagePurchasePrice(new BigDecimal("90000")).build();
+                given(accountRepository.findById(accountId)).willReturn(Optional.of(account));
+                given(assetRepository.findByAccountId(accountId)).willReturn(List.of(prefixed, bare, gold));
+
+                // when
+                AccountSummary summary = assetService.getAccountSummary(accountId);
+
+                // then
+                assertThat(summary.assets()).extracting(AssetSummary::currentValue)
+                                .containsExactly(BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("90000"));
+        }
+
+        @Test
+        @DisplayName("계좌 요약은 한 번 계산해 보관하고 자산이 바뀐 계좌만 다시 계산")
+        void getAccountSummary_RecomputesOnlyAfterAssetChange() {
+                // given
+                Long accountId = 1L;
+                Account account = new Account("Test Account", "Desc", "Sheet1", "Owner", AccountType.REGULAR, "Bank",
+                                "123-456");
+                account.setId(accountId);
+                Asset asset = Asset.builder()
+                                .id(10L)
+                                .account(account)
+                                .type(AssetType.STOCK)
+                                .code("KRX:005930")
+                                .quantity(new BigDecimal("10"))
+                                .averagePurchasePrice(new BigDecimal("70000"))
+                                .currentPrice(new BigDecimal("75000"))
+                                .build();
+                given(accountRepository.findById(accountId)).willReturn(Optional.of(account));
+                given(assetRepository.findByAccountId(accountId)).willReturn(List.of(asset));
+                given(assetRepository.findById(10L)).willReturn(Optional.of(asset));
+                given(assetRepository.save(any(Asset.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+                // when
+                AccountSummary first = assetService.getAccountSummary(accountId);
+                AccountSummary cached = assetService.getAccountSummary(accountId);
+                assetService.updateAsset(10L, Asset.builder().quantity(new BigDecimal("20")).build());
+                AccountSummary updated = assetService.getAccountSummary(accountId);
+
+                // then
+                assertThat(cached).isSameAs(first);
+                assertThat(updated.totalCurrentValue()).isEqualTo(new BigDecimal("1500000"));
+                verify(assetRepository, times(2)).findByAccountId(accountId);
+        }
+
+        @Test
+        @DisplayName("시세가 반영되면 그 종목을 보유한 계좌만 다시 계산하고 전체 합계는 차이만큼 갱신")
+        void getPortfolioSummary_UpdatesOnlyHoldersOfRepricedCode() {
+                // given
+                Account first = new Account("계좌1", null, null, "Owner", AccountType.REGULAR, null, null);
+                first.setId(1L);
+                first.getAssets().add(Asset.builder().account(first).type(AssetType.STOCK).code("KRX:005930")
+                                .quantity(BigDecimal.ONE).averagePurchasePrice(new BigDecimal("70000"))
+                                .currentPrice(new BigDecimal("75000")).build());
+                Account second = new Account("계좌2", null, null, "Owner", AccountType.ISA, null, null);
+                second.setId(2L);
+                second.getAssets().add(Asset.builder().account(second).type(AssetType.STOCK).code("KRX:069500")
+                                .quantity(BigDecimal.ONE).averagePurchasePrice(new BigDecimal("30000"))
+                                .currentPrice(new BigDecimal("35000")).build());
+                Account repriced = new Account("계좌1", null, null, "Owner", AccountType.REGULAR, null, null);
+                repriced.setId(1L);
+                repriced.getAssets().add(Asset.builder().account(repriced).type(AssetType.STOCK).code("KRX:005930")
+                                .quantity(BigDecimal.ONE).averagePurchasePrice(new BigDecimal("70000"))
+                                .currentPrice(new BigDecimal("80000")).build());
+                given(accountRepository.findAllWithAssets()).willReturn(List.of(first, second));
+                given(accountRepository.findAllWithAssetsByIdIn(List.of(1L))).willReturn(List.of(repriced));
+                given(assetRepository.updatePriceByTypeAndCode(eq(AssetType.STOCK), eq("KRX:005930"), any(), any()))
+                                .willReturn(1);
+
+                // when
+                Map<String, Object> before = assetService.getPortfolioSummary();
+                assetPriceWriter.writePrices(Map.of(new HeldInstrument(AssetType.STOCK, "KRX:005930"),
+                                new BigDecimal("80000")), LocalDateTime.now());
+                Map<String, Object> after = assetService.getPortfolioSummary();
+
+                // then
+                assertThat(before.get("totalCurrentValue")).isEqualTo(new BigDecimal("110000"));
+                assertThat(after.get("totalCurrentValue")).isEqualTo(new BigDecimal("115000"));
+                assertThat(after.get("totalProfitLoss")).isEqualTo(new BigDecimal("15000"));
+                assertThat(after).containsEntry("accounts", 2);
+                verify(accountRepository, times(1)).findAllWithAssets();
+                verify(accountRepository, times(1)).findAllWithAssetsByIdIn(List.of(1L));
         }
 
         @Test
@@ -172,13 +300,92 @@ class AssetServiceTest {
                 // CASH는 PriceProvider를 거치지 않고 내부적으로 1.0으로 처리됨
 
                 // when
-                Map<String, Object> summary = assetService.getAccountSummary(accountId);
+                AccountSummary summary = assetService.getAccountSummary(accountId);
 
                 // then
-                assertThat(summary.get("totalPurchaseAmount")).isEqualTo(new BigDecimal("100000"));
-                assertThat(summary.get("totalCurrentValue")).isEqualTo(new BigDecimal("100000"));
-                assertThat(summary.get("totalProfitLoss")).isEqualTo(BigDecimal.ZERO);
-                assertThat(summary.get("totalReturnRate")).isEqualTo(BigDecimal.ZERO.setScale(4));
+                assertThat(summary.totalPurchaseAmount()).isEqualTo(new BigDecimal("100000"));
+                assertThat(summary.totalCurrentValue()).isEqualTo(new BigDecimal("100000"));
+                assertThat(summary.totalProfitLoss()).isEqualTo(BigDecimal.ZERO);
+                assertThat(summary.totalReturnRate()).isEqualTo(BigDecimal.ZERO.setScale(4));
+        }
+
+        @Test
+        @DisplayName("외화 자산은 요청 시점 환율표 하나로 원화 환산")
+        void getAccountSummary_ConvertsForeignCurrencyHoldings() {
+                // given: USD 1 = 1,350원, 통화를 지정하지 않은 해외 주식은 USD
+                Long accountId = 1L;
+                Account account = new Account("Mixed Account", "Desc", "Sheet1", "Owner", AccountType.REGULAR, "Bank",
+                                "123-456");
+                account.setId(accountId);
+                ReflectionTestUtils.setField(fxRateService, "current",
+                                new FxRateService.Rates(Map.of("USD", new BigDecimal("1350")), Instant.now()));
+                Asset samsung = Asset.builder()
+                                .type(AssetType.STOCK)
+                                .code("KRX:005930")
+                                .quantity(new BigDecimal("10"))
+                                .averagePurchasePrice(new BigDecimal("70000"))
+                                .currentPrice(new BigDecimal("75000"))
+                                .build();
+                Asset apple = Asset.builder()
+                                .type(AssetType.STOCK_US)
+                                .code("NASDAQ:AAPL")
+                                .quantity(new BigDecimal("2"))
+                                .averagePurchasePrice(new BigDecimal("150.00"))
+                                .currentPrice(new BigDecimal("200.50"))
+                                .build();
+
+                given(accountRepository.findById(accountId)).willReturn(Optional.of(account));
+                given(assetRepository.findByAccountId(accountId)).willReturn(List.of(samsung, apple));
+
+                // when
+                AccountSummary summary = assetService.getAccountSummary(accountId);
+
+                // then: 750,000 + 401.00 × 1,350 = 1,291,350
+                assertThat(summary.totalPurchaseAmount()).isEqualTo(new BigDecimal("1105000"));
+                assertThat(summary.totalCurrentValue()).isEqualTo(new BigDecimal("1291350"));
+                List<AssetSummary> assets = summary.assets();
+                assertThat(assets.get(1).currency()).isEqualTo("USD");
+                assertThat(assets.get(1).currentPrice()).isEqualTo(new BigDecimal("200.50"));
+                assertThat(assets.get(1).currentValue()).isEqualTo(new BigDecimal("541350"));
+        }
+
+        @Test
+        @DisplayName("환율을 아직 받지 못한 통화의 자산은 원화 합계에서 빼고 표시")
+        void getAccountSummary_ExcludesHoldingsWithoutFxRate() {
+                // given: 환율표를 아직 받지 못함 (USD 환율 없음)
+                Long accountId = 1L;
+                Account account = new Account("Mixed Account", "Desc", "Sheet1", "Owner", AccountType.REGULAR, "Bank",
+                                "123-456");
+                account.setId(accountId);
+                Asset samsung = Asset.builder()
+                                .type(AssetType.STOCK)
+                                .code("KRX:005930")
+                                .quantity(new BigDecimal("10"))
+                                .averagePurchasePrice(new BigDecimal("70000"))
+                                .currentPrice(new BigDecimal("75000"))
+                                .build();
+                Asset apple = Asset.builder()
+                                .type(AssetType.STOCK_US)
+                                .code("NASDAQ:AAPL")
+                                .quantity(new BigDecimal("2"))
+                                .averagePurchasePrice(new BigDecimal("150.00"))
+                                .currentPrice(new BigDecimal("200.50"))
+                                .build();
+
+                given(accountRepository.findById(accountId)).willReturn(Optional.of(account));
+                given(assetRepository.findByAccountId(accountId)).willReturn(List.of(samsung, apple));
+
+                // when
+                AccountSummary summary = assetService.getAccountSummary(accountId);
+
+                // then: 달러 금액(401.00)이 원화 합계에 1:1로 섞이지 않음
+                assertThat(summary.totalPurchaseAmount()).isEqualTo(new BigDecimal("700000"));
+                assertThat(summary.totalCurrentValue()).isEqualTo(new BigDecimal("750000"));
+                assertThat(summary.unconvertedCurrencies()).containsExactly("USD");
+                AssetSummary unconverted = summary.assets().get(1);
+                assertThat(unconverted.fxRate()).isNull();
+                assertThat(unconverted.currentPrice()).isEqualTo(new BigDecimal("200.50"));
+                assertThat(unconverted.currentValue()).isEqualTo(BigDecimal.ZERO);
         }
 
         @Test
@@ -195,7 +402,8 @@ class AssetServiceTest {
                                 .build();
 
                 given(assetRepository.findById(assetId)).willReturn(Optional.of(krxAsset));
-                given(publicDataPriceProvider.getCurrentPrice("KRX:005930")).willReturn(new BigDecimal("72000"));
+                given(publicDataPriceProvider.fetchCurrentPrice("KRX:005930"))
+                                .willReturn(Mono.just(new BigDecimal("72000")));
 
                 // when
                 BigDecimal newPrice = assetService.refreshAssetPrice(accountId, assetId, false);
@@ -228,7 +436,7 @@ class AssetServiceTest {
                 assertThat(newPrice).isEqualTo(new BigDecimal("100000"));
                 assertThat(cashAsset.getCurrentPrice()).isEqualTo(new BigDecimal("100000"));
                 verify(assetRepository).save(cashAsset);
-                verify(publicDataPriceProvider, never()).getCurrentPrice(anyString());
+                verify(publicDataPriceProvider, never()).fetchCurrentPrice(anyString());
         }
 
         @Test
@@ -242,8 +450,8 @@ class AssetServiceTest {
                 List<Asset> assets = List.of(krxAsset, otherAsset);
 
                 given(assetRepository.findByAccountId(accountId)).willReturn(assets);
-                given(publicDataPriceProvider.getMultiplePrices(anyList()))
-                                .willReturn(Map.of("KRX:005930", new BigDecimal("75000")));
+                given(publicDataPriceProvider.fetchPrices(anyList()))
+                                .willReturn(Flux.just(new Quote("KRX:005930", new BigDecimal("75000"))));
 
                 // when
                 assetService.refreshAllPrices(accountId, false);
@@ -254,6 +462,161 @@ class AssetServiceTest {
                 verify(assetRepository).saveAll(assets);
         }
 
+        @Test
+        @DisplayName("여러 계좌가 같은 종목을 보유해도 공유 캐시로 한 번만 조회")
+        void refreshAllPrices_SharesCachedQuoteAcrossAccounts() {
+                // given
+                Asset assetInFirstAccount = Asset.builder().type(AssetType.STOCK).code("KRX:005930").build();
+                Asset assetInSecondAccount = Asset.builder().type(AssetType.STOCK).code("KRX:005930").build();
+
+                given(assetRepository.findByAccountId(1L)).willReturn(List.of(assetInFirstAccount));
+                given(assetRepository.findByAccountId(2L)).willReturn(List.of(assetInSecondAccount));
+                given(publicDataPriceProvider.fetchPrices(anyList()))
+                                .willReturn(Flux.just(new Quote("KRX:005930", new BigDecimal("75000"))));
+
+                // when
+                assetService.refreshAllPrices(1L, false);
+                assetService.refreshAllPrices(2L, false);
+
+                // then
+                assertThat(assetInSecondAccount.getCurrentPrice()).isEqualTo(new BigDecimal("75000"));
+                verify(publicDataPriceProvider, times(1)).fetchPrices(anyList());
+        }
+
+        @Test
+        @DisplayName("강제 갱신은 공유 캐시를 무시하고 다시 조회")
+        void refreshAllPrices_ForceBypassesCache() {
+                // given
+                Asset asset = Asset.builder().type(AssetType.STOCK).code("KRX:005930").build();
+
+                given(assetRepository.findByAccountId(1L)).willReturn(List.of(asset));
+                given(publicDataPriceProvider.fetchPrices(anyList()))
+                                .willReturn(Flux.just(new Quote("KRX:005930", new BigDecimal("75000"))))
+                                .willReturn(Flux.just(new Quote("KRX:005930", new BigDecimal("76000"))));
+
+                // when
+                assetService.refreshAllPrices(1L, false);
+                assetService.refreshAllPrices(1L, true);
+
+                // then
+                assertThat(asset.getCurrentPrice()).isEqualTo(new BigDecimal("76000"));
+                verify(publicDataPriceProvider, times(2)).fetchPrices(anyList());
+        }
+
+        @Test
+        @DisplayName("유형별 일괄 조회 결과를 모아 구독 시점에 한 번에 반영")
+        void refreshAllPricesAsync_CombinesBatchesPerType() {
+                // given
+                Asset stock = Asset.builder().type(AssetType.STOCK_KR).code("KRX:005930").build();
+                Asset etf = Asset.builder().type(AssetType.ETF_KR).code("KRX:069500").build();
+                List<Asset> assets = List.of(stock, etf);
+
+                given(assetRepository.findByAccountId(1L)).willReturn(assets);
+                given(publicDataPriceProvider.fetchPrices(List.of("KRX:005930")))
+                                .willReturn(Flux.just(new Quote("KRX:005930", new BigDecimal("75000"))));
+                given(publicDataPriceProvider.fetchPrices(List.of("KRX:069500")))
+                                .willReturn(Flux.just(new Quote("KRX:069500", new BigDecimal("35000"))));
+
+                // when
+                Mono<Void> refresh = assetService.refreshAllPricesAsync(1L, false);
+
+                // then
+                verifyNoInteractions(assetRepository);
+                refresh.block();
+                assertThat(stock.getCurrentPrice()).isEqualTo(new BigDecimal("75000"));
+                assertThat(etf.getCurrentPrice()).isEqualTo(new BigDecimal("35000"));
+                verify(assetRepository, times(1)).saveAll(assets);
+        }
+
+        @Test
+        @DisplayName("전체 계좌 갱신은 여러 계좌가 보유한 같은 종목을 한 번만 조회하고 종목별로 일괄 반영")
+        void refreshPortfolioPricesAsync_FetchesDistinctInstrumentsOnce() {
+                // given
+                given(assetRepository.findDistinctInstruments()).willReturn(List.of(
+                                new HeldInstrument(AssetType.STOCK, "KRX:005930"),
+                                new HeldInstrument(AssetType.STOCK, "KRX:000660"),
+                                new HeldInstrument(AssetType.CASH, "KRW")));
+                given(publicDataPriceProvider.fetchPrices(List.of("KRX:005930", "KRX:000660")))
+                                .willReturn(Flux.just(new Quote("KRX:005930", new BigDecimal("75000")),
+                                                new Quote("KRX:000660", new BigDecimal("180000"))));
+                given(assetRepository.updatePriceByTypeAndCode(eq(AssetType.STOCK), eq("KRX:005930"),
+                                eq(new BigDecimal("75000")), any())).willReturn(3);
+                given(assetRepository.updatePriceByTypeAndCode(eq(AssetType.STOCK), eq("KRX:000660"),
+                                eq(new BigDecimal("180000")), any())).willReturn(1);
+
+                // when
+                Map<String, Object> result = assetService.refreshPortfolioPricesAsync(false).block();
+
+                // then
+                assertThat(result).containsEntry("instruments", 3)
+                                .containsEntry("priced", 2)
+                                .containsEntry("updatedAssets", 4);
+                verify(publicDataPriceProvider, times(1)).fetchPrices(anyList());
+                verify(assetRepository, never()).findByAccountId(any());
+                verify(assetRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("전체 계좌 갱신은 표기만 다른 같은 종목을 한 번 조회하고, 시세를 받은 (유형, 코드)에만 반영")
+        void refreshPortfolioPricesAsync_DeduplicatesNormalizedInstruments() {
+                // given: 같은 삼성전자가 "KRX:005930"과 "005930"으로 입력됨
+                given(assetRepository.findDistinctInstruments()).willReturn(List.of(
+                                new HeldInstrument(AssetType.STOCK, "KRX:005930"),
+                                new HeldInstrument(AssetType.STOCK, "005930")));
+                given(publicDataPriceProvider.fetchPrices(List.of("KRX:005930")))
+                                .willReturn(Flux.just(new Quote("KRX:005930", new BigDecimal("75000"))));
+                given(assetRepository.updatePriceByTypeAndCode(eq(AssetType.STOCK), eq("KRX:005930"),
+                                eq(new BigDecimal("75000")), any())).willReturn(2);
+                given(assetRepository.updatePriceByTypeAndCode(eq(AssetType.STOCK), eq("005930"),
+                                eq(new BigDecimal("75000")), any())).willReturn(1);
+
+                // when
+                Map<String, Object> result = assetService.refreshPortfolioPricesAsync(false).block();
+
+                // then
+                assertThat(result).containsEntry("updatedAssets", 3);
+                verify(publicDataPriceProvider, times(1)).fetchPrices(anyList());
+        }
+
+        @Test
+        @DisplayName("같은 계좌에 대한 동시 전체 갱신은 하나의 조회로 합쳐짐")
+        void refreshAllPrices_CoalescesOverlappingRefreshes() throws Exception {
+                // given
+                Asset asset = Asset.builder().type(AssetType.STOCK).code("KRX:005930").build();
+                CountDownLatch fetchStarted = new CountDownLatch(1);
+                CountDownLatch releaseFetch = new CountDownLatch(1);
+
+                given(assetRepository.findByAccountId(1L)).willReturn(List.of(asset));
+                given(publicDataPriceProvider.fetchPrices(anyList())).willAnswer(invocation -> {
+                        fetchStarted.countDown();
+                        releaseFetch.await(5, TimeUnit.SECONDS);
+                        return Flux.just(new Quote("KRX:005930", new BigDecimal("75000")));
+                });
+
+                ExecutorService executor = Executors.newFixedThreadPool(2);
+                try {
+                        // when
+                        Future<?> first = executor.submit(() -> assetService.refreshAllPrices(1L, true));
+                        assertThat(fetchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                        Future<?> second = executor.submit(() -> assetService.refreshAllPrices(1L, true));
+                        long deadline = System.currentTimeMillis() + 5000;
+                        while (!Long.valueOf(1L).equals(assetService.getRefreshStats().get("coalesced"))
+                                        && System.currentTimeMillis() < deadline) {
+                                Thread.sleep(10);
+                        }
+                        releaseFetch.countDown();
+                        first.get(5, TimeUnit.SECONDS);
+                        second.get(5, TimeUnit.SECONDS);
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                // then
+                assertThat(asset.getCurrentPrice()).isEqualTo(new BigDecimal("75000"));
+                verify(assetRepository, times(1)).findByAccountId(1L);
+                verify(publicDataPriceProvider, times(1)).fetchPrices(anyList());
+        }
+
         @Test
         @DisplayName("배당금 계산 테스트 (1개월, 3개월, 6개월, 12개월)")
         void calculateAccountSummary_Dividend_Success() {
@@ -308,10 +671,10 @@ class AssetServiceTest {
                                 .willReturn(List.of(assetMo, assetQt, assetSa, assetAn, assetNone));
 
                 // when
-                Map<String, Object> summary = assetService.getAccountSummary(accountId);
+                AccountSummary summary = assetService.getAccountSummary(accountId);
 
                 // then
                 // 1200 + 4000 + 10000 + 10000 + 0 = 25200
-                assertThat(summary.get("totalExpectedDividend")).isEqualTo(new BigDecimal("25200"));
+                assertThat(summary.totalExpectedDividend()).isEqualTo(new BigDecimal("25200"));
         }
 }
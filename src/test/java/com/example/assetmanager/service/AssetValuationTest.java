@@ -0,0 +1,110 @@
+package com.example.assetmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssetValuationTest {
+
+    @Test
+    @DisplayName("원 단위 평가액은 BigDecimal로 정확히 곱한 뒤 반올림한 값과 같음")
+    void value_MatchesBigDecimalRoundedToWon() {
+        // given: 소수 수량(가상화폐), 달러 단가, DB에서 읽은 뒤쪽 0, 음수 손익이 섞인 자산
+        Random random = new Random(42);
+        String[] cycles = { "1개월", "3개월", "6개월", "12개월", "없음", null };
+        int rows = 2000;
+        BigDecimal[][] inputs = new BigDecimal[rows][];
+        String[] rowCycles = new String[rows];
+        AssetValuation valuation = new AssetValuation(rows);
+        for (int i = 0; i < rows; i++) {
+            inputs[i] = new BigDecimal[] {
+                    BigDecimal.valueOf(random.nextInt(100_000_000), random.nextInt(9)),
+                    BigDecimal.valueOf(random.nextInt(10_000_000), random.nextInt(5)).setScale(4),
+                    BigDecimal.valueOf(random.nextInt(10_000_000), random.nextInt(5)),
+                    random.nextBoolean() ? BigDecimal.ONE : BigDecimal.valueOf(900_000 + random.nextInt(900_000), 3),
+                    BigDecimal.valueOf(random.nextInt(100_000), 2) };
+            rowCycles[i] = cycles[random.nextInt(cycles.length)];
+            valuation.add(inputs[i][0], inputs[i][1], inputs[i][2], inputs[i][3], inputs[i][4], rowCycles[i]);
+        }
+
+        // when
+        valuation.endGroup().value();
+
+        // then
+        BigDecimal totalCurrent = BigDecimal.ZERO;
+        for (int i = 0; i < rows; i++) {
+            BigDecimal[] row = inputs[i];
+            BigDecimal purchase = won(row[1].multiply(row[0]).multiply(row[3]));
+            BigDecimal current = won(row[2].multiply(row[0]).multiply(row[3]));
+            BigDecimal dividend = won(row[4].multiply(BigDecimal.valueOf(AssetValuation.paymentsPerYear(rowCycles[i])))
+                    .multiply(row[0]).multiply(row[3]));
+            assertThat(valuation.purchaseAmount(i)).isEqualTo(purchase.longValueExact());
+            assertThat(valuation.currentValue(i)).isEqualTo(current.longValueExact());
+            assertThat(valuation.annualDividend(i)).isEqualTo(dividend.longValueExact());
+            assertThat(AssetValuation.returnRate(valuation.profitLoss(i), valuation.purchaseAmount(i)))
+                    .isEqualTo(purchase.signum() == 0 ? BigDecimal.ZERO
+                            : current.subtract(purchase).divide(purchase, 4, RoundingMode.HALF_UP)
+                                    .multiply(BigDecimal.valueOf(100)));
+            totalCurrent = totalCurrent.add(current);
+        }
+        assertThat(valuation.groupCurrentValue(0)).isEqualTo(totalCurrent.longValueExact());
+    }
+
+    @Test
+    @DisplayName("long 곱이 넘치거나 자릿수가 많은 행도 정확히 평가")
+    void value_FallsBackForRowsOutsideLongRange() {
+        // given
+        BigDecimal quantity = new BigDecimal("123456789.123456789");
+        BigDecimal price = new BigDecimal("98765.4321");
+        BigDecimal rate = new BigDecimal("1350.55");
+        BigDecimal tiny = new BigDecimal("0.0000000000000000000123");
+
+        // when
+        AssetValuation valuation = new AssetValuation(2)
+                .add(quantity, price, price, rate, BigDecimal.ZERO, null)
+                .add(BigDecimal.ONE, tiny, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ZERO, null)
+                .endGroup()
+                .value();
+
+        // then
+        assertThat(valuation.currentValue(0))
+                .isEqualTo(won(quantity.multiply(price).multiply(rate)).longValueExact());
+        assertThat(valuation.purchaseAmount(1)).isZero();
+        assertThat(valuation.currentValue(1)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("0.5원은 0에서 먼 쪽으로 반올림하고 계좌(그룹)별로 합계를 냄")
+    void value_RoundsHalfUpAndTotalsPerGroup() {
+        // when: 0.5 × 3 = 1.5원, -0.5 × 3 = -1.5원
+        AssetValuation valuation = new AssetValuation(3)
+                .add(new BigDecimal("3"), new BigDecimal("0.5"), new BigDecimal("-0.5"), BigDecimal.ONE,
+                        new BigDecimal("100"), "3개월")
+                .endGroup()
+                .add(new BigDecimal("10"), new BigDecimal("70000"), new BigDecimal("75000"), BigDecimal.ONE,
+                        new BigDecimal("361"), "3개월")
+                .add(new BigDecimal("2"), new BigDecimal("150.00"), new BigDecimal("200.50"),
+                        new BigDecimal("1350"), BigDecimal.ZERO, "없음")
+                .endGroup()
+                .value();
+
+        // then
+        assertThat(valuation.purchaseAmount(0)).isEqualTo(2L);
+        assertThat(valuation.currentValue(0)).isEqualTo(-2L);
+        assertThat(valuation.annualDividend(0)).isEqualTo(1200L);
+        assertThat(valuation.groupPurchaseAmount(1)).isEqualTo(700_000L + 405_000L);
+        assertThat(valuation.groupCurrentValue(1)).isEqualTo(750_000L + 541_350L);
+        assertThat(valuation.groupAnnualDividend(1)).isEqualTo(14_440L);
+        assertThat(AssetValuation.returnRate(valuation.groupProfitLoss(1), valuation.groupPurchaseAmount(1)))
+                .isEqualTo(new BigDecimal("16.8600"));
+    }
+
+    private static BigDecimal won(BigDecimal amount) {
+        return amount.setScale(0, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPriceProviderTest {
+
+    @Mock
+    private PriceProvider delegate;
+
+    private PriceCache priceCache;
+
+    @BeforeEach
+    void setUp() {
+        priceCache = new PriceCache();
+    }
+
+    @Test
+    @DisplayName("접두사가 달라도 같은 종목이면 캐시된 시세 재사용")
+    void getCurrentPrice_ReusesQuoteForNormalizedCode() {
+        // given
+        CachingPriceProvider provider = new CachingPriceProvider(delegate, priceCache, AssetType.STOCK_KR);
+        given(delegate.getCurrentPrice("KRX:005930")).willReturn(new BigDecimal("75000"));
+
+        // when
+        provider.getCurrentPrice("KRX:005930");
+        BigDecimal cached = provider.getCurrentPrice("005930");
+
+        // then
+        assertThat(cached).isEqualTo(new BigDecimal("75000"));
+        verify(delegate, times(1)).getCurrentPrice("KRX:005930");
+        assertThat(priceCache.stats().get("hits")).isEqualTo(1L);
+        assertThat(priceCache.stats().get("misses")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("일괄 조회 시 캐시에 없는 종목만 원래 Provider로 조회")
+    void getMultiplePrices_FetchesOnlyMisses() {
+        // given
+        CachingPriceProvider provider = new CachingPriceProvider(delegate, priceCache, AssetType.CRYPTO);
+        priceCache.put(AssetType.CRYPTO, "KRW-BTC", new BigDecimal("50000000"));
+        given(delegate.getMultiplePrices(List.of("ETH"))).willReturn(Map.of("ETH", new BigDecimal("3000000")));
+
+        // when
+        Map<String, BigDecimal> prices = provider.getMultiplePrices(List.of("BTC", "ETH"));
+
+        // then
+        assertThat(prices).containsEntry("BTC", new BigDecimal("50000000"))
+                .containsEntry("ETH", new BigDecimal("3000000"));
+    }
+
+    @Test
+    @DisplayName("리액티브 일괄 조회는 캐시된 종목을 먼저 발행하고 나머지만 원래 Provider로 조회")
+    void fetchPrices_EmitsCachedQuotesAndLoadsMisses() {
+        // given
+        CachingPriceProvider provider = new CachingPriceProvider(delegate, priceCache, AssetType.CRYPTO);
+        priceCache.put(AssetType.CRYPTO, "KRW-BTC", new BigDecimal("50000000"));
+        given(delegate.getMultiplePrices(List.of("ETH"))).willReturn(Map.of("ETH", new BigDecimal("3000000")));
+
+        // when
+        List<Quote> quotes = provider.fetchPrices(List.of("BTC", "ETH")).collectList().block();
+
+        // then
+        assertThat(quotes).containsExactly(new Quote("BTC", new BigDecimal("50000000")),
+                new Quote("ETH", new BigDecimal("3000000")));
+        assertThat(priceCache.get(AssetType.CRYPTO, "KRW-ETH")).contains(new BigDecimal("3000000"));
+    }
+
+    @Test
+    @DisplayName("자산 유형별 만료 시간이 지나면 다시 조회")
+    void getCurrentPrice_ExpiresByAssetTypeTtl() {
+        // given
+        Instant now = Instant.parse("2024-06-03T01:00:00Z");
+        ReflectionTestUtils.setField(priceCache, "clock", Clock.fixed(now, ZoneId.of("Asia/Seoul")));
+        CachingPriceProvider provider = new CachingPriceProvider(delegate, priceCache, AssetType.CRYPTO);
+        given(delegate.getCurrentPrice("KRW-BTC")).willReturn(new BigDecimal("50000000"));
+        provider.getCurrentPrice("KRW-BTC");
+
+        // when
+        ReflectionTestUtils.setField(priceCache, "clock",
+                Clock.fixed(now.plus(Duration.ofSeconds(11)), ZoneId.of("Asia/Seoul")));
+        provider.getCurrentPrice("KRW-BTC");
+
+        // then
+        verify(delegate, times(2)).getCurrentPrice("KRW-BTC");
+        assertThat(priceCache.ttlFor(AssetType.STOCK_KR)).isEqualTo(Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 항목 제거")
+    void put_EvictsLeastRecentlyUsedBeyondMaxSize() {
+        // given
+        ReflectionTestUtils.setField(priceCache, "maxSize", 2);
+
+        // when
+        priceCache.put(AssetType.STOCK, "005930", new BigDecimal("75000"));
+        priceCache.put(AssetType.STOCK, "000660", new BigDecimal("180000"));
+        priceCache.get(AssetType.STOCK, "005930");
+        priceCache.put(AssetType.STOCK, "035420", new BigDecimal("170000"));
+
+        // then
+        assertThat(priceCache.get(AssetType.STOCK, "005930")).isPresent();
+        assertThat(priceCache.get(AssetType.STOCK, "000660")).isEmpty();
+        assertThat(priceCache.stats().get("evictions")).isEqualTo(1L);
+    }
+}
@@ -62,6 +62,19 @@ class GoogleSheetsServiceTest {
         assertThat(invokeParseAssetType("UNKNOWN")).isEqualTo(AssetType.STOCK); // Default
     }
 
+    @Test
+    @DisplayName("통화 파싱 테스트 - 비어 있거나 알 수 없는 값은 유형 기본 통화(null)")
+    void parseCurrencyTest() {
+        // Given & When & Then
+        assertThat(invokeParseCurrency("usd")).isEqualTo("USD");
+        assertThat(invokeParseCurrency(" KRW ")).isEqualTo("KRW");
+        assertThat(invokeParseCurrency("원화")).isEqualTo("KRW");
+        assertThat(invokeParseCurrency("달러")).isEqualTo("USD");
+        assertThat(invokeParseCurrency("")).isNull();
+        assertThat(invokeParseCurrency(null)).isNull();
+        assertThat(invokeParseCurrency("US Dollar")).isNull();
+    }
+
     // private 메서드 테스트를 위한 헬퍼 (Reflection 사용)
     private AccountType invokeParseAccountType(String value) {
         return (AccountType) ReflectionTestUtils.invokeMethod(googleSheetsService, "parseAccountType", value);
@@ -70,4 +83,8 @@ class GoogleSheetsServiceTest {
     private AssetType invokeParseAssetType(String value) {
         return (AssetType) ReflectionTestUtils.invokeMethod(googleSheetsService, "parseAssetType", value);
     }
+
+    private String invokeParseCurrency(String value) {
+        return (String) ReflectionTestUtils.invokeMethod(googleSheetsService, "parseCurrency", value);
+    }
 }
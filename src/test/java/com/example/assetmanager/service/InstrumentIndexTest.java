@@ -0,0 +1,73 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.dto.Instrument;
+import com.example.assetmanager.support.InstrumentCodes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentIndexTest {
+
+    private static final Instrument SAMSUNG = new Instrument("KRX:005930", AssetType.STOCK_KR, "005930", "삼성전자",
+            "KRX");
+    private static final Instrument SAMSUNG_PREF = new Instrument("KRX:005935", AssetType.STOCK_KR, "005935",
+            "삼성전자우", "KRX");
+    private static final Instrument KODEX_200 = new Instrument("KRX:069500", AssetType.ETF_KR, "069500",
+            "KODEX 200", "KRX");
+    private static final Instrument TIGER_200 = new Instrument("KRX:102110", AssetType.ETF_KR, "102110",
+            "TIGER 200", "KRX");
+
+    private final InstrumentIndex index = new InstrumentIndex.Builder()
+            .add(SAMSUNG_PREF)
+            .add(SAMSUNG)
+            .add(KODEX_200)
+            .add(TIGER_200)
+            .build();
+
+    @Test
+    @DisplayName("코드와 종목명의 접두사로 찾고 검색어와 정확히 같은 종목을 먼저 반환")
+    void search_MatchesCodeAndNamePrefixes() {
+        assertThat(index.search("0059", 10)).containsExactly(SAMSUNG_PREF, SAMSUNG);
+        assertThat(index.search("삼성전자", 10)).containsExactly(SAMSUNG, SAMSUNG_PREF);
+        assertThat(index.search("krx:0695", 10)).containsExactly(KODEX_200);
+    }
+
+    @Test
+    @DisplayName("종목명의 단어로도 찾고 대소문자와 공백은 구분하지 않음")
+    void search_MatchesNameWordsIgnoringCaseAndSpaces() {
+        assertThat(index.search("200", 10)).containsExactly(KODEX_200, TIGER_200);
+        assertThat(index.search("Kodex 2", 10)).containsExactly(KODEX_200);
+        assertThat(index.search("tiger", 1)).containsExactly(TIGER_200);
+        assertThat(index.search("  ", 10)).isEmpty();
+        assertThat(index.search("없는종목", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("업비트 KRW 마켓은 기호와 영문명으로 찾고 자유 형식 코드로 정규 종목을 찾음")
+    void upbitMarkets_SearchableBySymbolAndResolvedByCanonicalId() throws Exception {
+        // given
+        String json = """
+                [{"market":"KRW-BTC","korean_name":"비트코인","english_name":"Bitcoin"},
+                 {"market":"BTC-ETH","korean_name":"이더리움","english_name":"Ethereum"},
+                 {"market":"KRW-ETH","korean_name":"이더리움","english_name":"Ethereum"}]
+                """;
+        List<InstrumentMaster.Listed> listings = InstrumentMaster.parseUpbitMarkets(new ObjectMapper().readTree(json));
+        InstrumentIndex.Builder builder = new InstrumentIndex.Builder();
+        listings.forEach(listed -> builder.add(listed.instrument(), listed.terms()));
+
+        // when
+        InstrumentIndex upbit = builder.build();
+
+        // then
+        assertThat(upbit.size()).isEqualTo(2);
+        assertThat(upbit.search("btc", 10)).extracting(Instrument::id).containsExactly("UPBIT:KRW-BTC");
+        assertThat(upbit.search("ether", 10)).extracting(Instrument::code).containsExactly("KRW-ETH");
+        assertThat(upbit.get(InstrumentCodes.canonicalId(AssetType.CRYPTO, "upbit:btc")))
+                .map(Instrument::name).contains("비트코인");
+    }
+}
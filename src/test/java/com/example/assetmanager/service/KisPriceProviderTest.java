@@ -1,23 +1,67 @@
 package com.example.assetmanager.service;
 
 import com.example.assetmanager.domain.AssetType;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class KisPriceProviderTest {
 
+    private static final Map<String, String> DOMESTIC_PRICES = Map.of("005930", "71000", "000660", "185000");
+    private static final Map<String, String> OVERSEAS_PRICES = Map.of("NAS:AAPL", "189.50", "NYS:KO", "62.15");
+
     private KisPriceProvider kisPriceProvider;
+    private DisposableServer server;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final CountDownLatch secondToken = new CountDownLatch(2);
+    private volatile long tokenExpiresIn = 86400;
+    private final List<String> paths = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final List<String> overseasLookups = new CopyOnWriteArrayList<>();
 
     @BeforeEach
     void setUp() {
-        kisPriceProvider = new KisPriceProvider();
+        // KIS Open API 대신 토큰 발급과 시세 응답을 흉내 내는 로컬 서버
+        // (요청 본문은 문자열로 읽고 버림: ByteBuf를 그대로 버리면 두 번 해제되어 응답 전에 연결이 끊김)
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> response.header("Content-Type", "application/json")
+                        .sendString(request.receive().asString().then(Mono.fromSupplier(() -> respond(request)))))
+                .bindNow();
+
+        WebClient webClient = WebClient.create();
+        KisTokenManager tokens = new KisTokenManager(webClient);
+        ReflectionTestUtils.setField(tokens, "baseUrl", "http://127.0.0.1:" + server.port());
+        ReflectionTestUtils.setField(tokens, "appKey", "test-app-key");
+        ReflectionTestUtils.setField(tokens, "appSecret", "test-app-secret");
+        kisPriceProvider = new KisPriceProvider(webClient, tokens, new ProviderCallBudgets(), new UpstreamGuards());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
     }
 
     @Test
@@ -25,53 +69,103 @@ class KisPriceProviderTest {
     void supports_ReturnsTrueForSupportedTypes() {
         assertThat(kisPriceProvider.supports(AssetType.STOCK)).isTrue();
         assertThat(kisPriceProvider.supports(AssetType.STOCK_KR)).isTrue();
-        assertThat(kisPriceProvider.supports(AssetType.STOCK_US)).isTrue();
+        assertThat(kisPriceProvider.supports(AssetType.ETF_KR)).isTrue();
         assertThat(kisPriceProvider.supports(AssetType.REITS)).isTrue();
-        assertThat(kisPriceProvider.supports(AssetType.COMMODITY)).isTrue();
-        assertThat(kisPriceProvider.supports(AssetType.BOND_KR)).isTrue();
-        assertThat(kisPriceProvider.supports(AssetType.BOND_US)).isTrue();
-        assertThat(kisPriceProvider.supports(AssetType.GOLD_SPOT)).isTrue();
+        assertThat(kisPriceProvider.supports(AssetType.STOCK_US)).isTrue();
         assertThat(kisPriceProvider.supports(AssetType.CRYPTO)).isFalse();
+        assertThat(kisPriceProvider.supports(AssetType.GOLD_SPOT)).isFalse();
+        assertThat(kisPriceProvider.isAvailable()).isTrue();
     }
 
     @Test
-    @DisplayName("현재가 조회 테스트 (Mock 범위 내)")
-    void getCurrentPrice_Success() {
-        // given
-        String code = "005930";
-
+    @DisplayName("동시 요청이 몰려도 접근 토큰은 한 번만 발급받아 재사용")
+    void getCurrentPrice_IssuesTokenOnce() {
         // when
-        BigDecimal price = kisPriceProvider.getCurrentPrice(code);
+        List<BigDecimal> prices = Flux.range(0, 5)
+                .flatMap(i -> kisPriceProvider.fetchCurrentPrice("KRX:005930"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        BigDecimal later = kisPriceProvider.getCurrentPrice("005930");
 
         // then
-        assertThat(price).isBetween(new BigDecimal("50000"), new BigDecimal("100000"));
+        assertThat(prices).hasSize(5).allSatisfy(price -> assertThat(price).isEqualByComparingTo("71000"));
+        assertThat(later).isEqualByComparingTo("71000");
+        assertThat(tokenRequests).hasValue(1);
+        assertThat(authorizations).hasSize(6).containsOnly("Bearer token-1");
     }
 
     @Test
-    @DisplayName("다중 종목 현재가 조회 테스트")
-    void getMultiplePrices_Success() {
-        // given
-        List<String> codes = List.of("005930", "000660");
+    @DisplayName("국내 여러 종목은 멀티 종목 시세 API 한 번으로 조회하고 요청한 코드 그대로 반환")
+    void getMultiplePrices_UsesMultiSymbolEndpoint() {
+        // when
+        Map<String, BigDecimal> prices = kisPriceProvider.getMultiplePrices(
+                List.of("KRX:005930", "000660", "005930"));
 
+        // then
+        assertThat(prices).hasSize(3);
+        assertThat(prices.get("KRX:005930")).isEqualByComparingTo("71000");
+        assertThat(prices.get("005930")).isEqualByComparingTo("71000");
+        assertThat(prices.get("000660")).isEqualByComparingTo("185000");
+        assertThat(paths).containsExactly(KisTokenManager.TOKEN_PATH, KisPriceProvider.DOMESTIC_MULTI_PRICE_PATH);
+    }
+
+    @Test
+    @DisplayName("해외 주식은 거래소 접두사를 따르고, 접두사가 없으면 거래소를 차례로 찾음")
+    void getMultiplePrices_LooksUpOverseasExchanges() {
         // when
-        Map<String, BigDecimal> prices = kisPriceProvider.getMultiplePrices(codes);
+        Map<String, BigDecimal> prices = kisPriceProvider.getMultiplePrices(List.of("NASDAQ:AAPL", "KO", "ZZZZ"));
 
         // then
-        assertThat(prices).hasSize(2);
-        assertThat(prices.get("005930")).isBetween(new BigDecimal("50000"), new BigDecimal("100000"));
-        assertThat(prices.get("000660")).isBetween(new BigDecimal("50000"), new BigDecimal("100000"));
+        assertThat(prices).containsOnlyKeys("NASDAQ:AAPL", "KO");
+        assertThat(prices.get("NASDAQ:AAPL")).isEqualByComparingTo("189.50");
+        assertThat(prices.get("KO")).isEqualByComparingTo("62.15");
+        assertThat(overseasLookups).containsExactlyInAnyOrder(
+                "NAS:AAPL", "NAS:KO", "NYS:KO", "NAS:ZZZZ", "NYS:ZZZZ", "AMS:ZZZZ");
     }
 
     @Test
-    @DisplayName("예상 배당금 조회 테스트")
-    void getExpectedDividend_Success() {
-        // given
-        String code = "005930";
+    @DisplayName("만료가 가까운 토큰은 그대로 쓰면서 백그라운드에서 새로 발급")
+    void getCurrentPrice_RefreshesTokenAheadOfExpiry() throws InterruptedException {
+        // given: 1분 뒤 만료되는 토큰 (미리 갱신 기준 30분 이내)
+        tokenExpiresIn = 60;
+        kisPriceProvider.getCurrentPrice("005930");
 
         // when
-        BigDecimal dividend = kisPriceProvider.getExpectedDividend(code);
+        BigDecimal price = kisPriceProvider.getCurrentPrice("005930");
 
         // then
-        assertThat(dividend).isBetween(new BigDecimal("1000"), new BigDecimal("3000"));
+        assertThat(price).isEqualByComparingTo("71000");
+        assertThat(authorizations).containsExactly("Bearer token-1", "Bearer token-1");
+        assertThat(secondToken.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private String respond(HttpServerRequest request) {
+        QueryStringDecoder query = new QueryStringDecoder(request.uri());
+        paths.add(query.path());
+        if (query.path().equals(KisTokenManager.TOKEN_PATH)) {
+            int issued = tokenRequests.incrementAndGet();
+            secondToken.countDown();
+            return "{\"access_token\":\"token-" + issued + "\",\"token_type\":\"Bearer\",\"expires_in\":"
+                    + tokenExpiresIn + "}";
+        }
+        authorizations.add(request.requestHeaders().get("authorization"));
+        Map<String, List<String>> params = query.parameters();
+        if (query.path().equals(KisPriceProvider.DOMESTIC_PRICE_PATH)) {
+            String price = DOMESTIC_PRICES.getOrDefault(params.get("FID_INPUT_ISCD").get(0), "");
+            return "{\"rt_cd\":\"0\",\"msg_cd\":\"MCA00000\",\"output\":{\"stck_prpr\":\"" + price + "\"}}";
+        }
+        if (query.path().equals(KisPriceProvider.DOMESTIC_MULTI_PRICE_PATH)) {
+            String output = params.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("FID_INPUT_ISCD_"))
+                    .map(entry -> entry.getValue().get(0))
+                    .map(code -> "{\"inter_shrn_iscd\":\"" + code + "\",\"inter2_prpr\":\""
+                            + DOMESTIC_PRICES.getOrDefault(code, "") + "\"}")
+                    .collect(Collectors.joining(","));
+            return "{\"rt_cd\":\"0\",\"msg_cd\":\"MCA00000\",\"output\":[" + output + "]}";
+        }
+        String lookup = params.get("EXCD").get(0) + ":" + params.get("SYMB").get(0);
+        overseasLookups.add(lookup);
+        return "{\"rt_cd\":\"0\",\"msg_cd\":\"MCA00000\",\"output\":{\"last\":\""
+                + OVERSEAS_PRICES.getOrDefault(lookup, "") + "\"}}";
     }
 }
@@ -0,0 +1,159 @@
+package com.example.assetmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "unchecked", "rawtypes" })
+class KrxPriceSnapshotTest {
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+
+    @Mock
+    private WebClient.RequestHeadersSpec requestHeadersSpec;
+
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    private KrxPriceSnapshot snapshot;
+    private final List<URI> requestedUris = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new KrxPriceSnapshot(webClient, new ProviderCallBudgets());
+        ReflectionTestUtils.setField(snapshot, "serviceKey", "test-key");
+        ReflectionTestUtils.setField(snapshot, "pageSize", 2);
+        // 2024-06-03(월) 오전: 당일 데이터는 아직 없고 직전 거래일(5/31) 데이터만 존재
+        ReflectionTestUtils.setField(snapshot, "clock",
+                Clock.fixed(Instant.parse("2024-06-03T01:00:00Z"), ZoneId.of("Asia/Seoul")));
+    }
+
+    @Test
+    @DisplayName("최신 기준일을 찾아 전 종목 시세를 페이지 단위로 적재")
+    void refreshIfStale_LoadsAllPagesOfLatestBaseDate() {
+        // given
+        Map<String, Map<String, Object>> responses = new HashMap<>();
+        responses.put("getStockPriceInfo|20240531|1", page(3, item("005930", "75000"), item("000660", "180000")));
+        responses.put("getStockPriceInfo|20240531|2", page(3, item("035420", "170000")));
+        responses.put("getETFPriceInfo|20240531|1", page(1, item("069500", "35000")));
+        setupWebClientMock(responses);
+
+        // when
+        snapshot.refreshIfStale();
+
+        // then
+        assertThat(snapshot.getBaseDate()).contains(LocalDate.of(2024, 5, 31));
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(snapshot.lookup("035420")).contains(new BigDecimal("170000"));
+        assertThat(snapshot.lookup("069500")).contains(new BigDecimal("35000"));
+        assertThat(snapshot.lookup("999999")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("서비스 키가 기본 자리표시자나 공백이면 적재 호출을 하지 않음")
+    void refreshIfStale_SkipsWithPlaceholderKey() {
+        for (String key : List.of("your_public_data_api_key_here", "YOUR_SERVICE_KEY_HERE", " ")) {
+            // given
+            ReflectionTestUtils.setField(snapshot, "serviceKey", key);
+
+            // when
+            snapshot.refreshIfStale();
+
+            // then
+            assertThat(snapshot.size()).isZero();
+        }
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    @DisplayName("재확인 간격 안에서는 다시 적재하지 않음")
+    void refreshIfStale_SkipsWithinRecheckInterval() {
+        // given
+        Map<String, Map<String, Object>> responses = new HashMap<>();
+        responses.put("getStockPriceInfo|20240531|1", page(1, item("005930", "75000")));
+        responses.put("getETFPriceInfo|20240531|1", page(0));
+        setupWebClientMock(responses);
+        snapshot.refreshIfStale();
+        int callsAfterFirstLoad = requestedUris.size();
+
+        // when
+        snapshot.refreshIfStale();
+
+        // then
+        assertThat(requestedUris).hasSize(callsAfterFirstLoad);
+        assertThat(snapshot.lookup("005930")).contains(new BigDecimal("75000"));
+    }
+
+    private void setupWebClientMock(Map<String, Map<String, Object>> responses) {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenAnswer(invocation -> {
+            Function<UriBuilder, URI> uriFunction = invocation.getArgument(0);
+            requestedUris.add(uriFunction.apply(UriComponentsBuilder.newInstance()));
+            return requestHeadersSpec;
+        });
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenAnswer(invocation -> {
+            Map<String, String> params = UriComponentsBuilder.fromUri(requestedUris.get(requestedUris.size() - 1))
+                    .build().getQueryParams().toSingleValueMap();
+            String path = requestedUris.get(requestedUris.size() - 1).getPath();
+            String key = path.substring(path.lastIndexOf('/') + 1) + "|" + params.get("basDt") + "|"
+                    + params.get("pageNo");
+            return body(responses.getOrDefault(key, page(0)));
+        });
+    }
+
+    private Map<String, Object> item(String srtnCd, String clpr) {
+        return Map.of("srtnCd", srtnCd, "clpr", clpr);
+    }
+
+    private Map<String, Object> page(int totalCount, Map<String, Object>... items) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("totalCount", totalCount);
+        body.put("items", Map.of("item", List.of(items)));
+        return Map.of("response", Map.of("body", body));
+    }
+
+    // 실제 응답처럼 JSON 바이트로 전달 (구독할 때마다 새 버퍼)
+    private Flux<DataBuffer> body(Map<String, Object> response) {
+        try {
+            byte[] json = new ObjectMapper().writeValueAsBytes(response);
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(json)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
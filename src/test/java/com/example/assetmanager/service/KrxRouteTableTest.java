@@ -0,0 +1,102 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.KrxCodeRoute;
+import com.example.assetmanager.domain.KrxEndpoint;
+import com.example.assetmanager.repository.KrxCodeRouteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class KrxRouteTableTest {
+
+    @Mock
+    private KrxCodeRouteRepository routeRepository;
+
+    private KrxRouteTable routeTable;
+    // DB 대신 코드별 행을 담는 저장소. 같은 코드를 새 행으로 두 번 넣으면 유니크 제약 위반
+    private final Map<String, KrxCodeRoute> rows = new ConcurrentHashMap<>();
+    private final AtomicInteger inserts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(routeRepository.findByCode(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        lenient().when(routeRepository.save(any())).thenAnswer(invocation -> {
+            KrxCodeRoute route = invocation.getArgument(0);
+            if (route.getId() == null) {
+                if (rows.putIfAbsent(route.getCode(), route) != null) {
+                    throw new IllegalStateException("duplicate code " + route.getCode());
+                }
+                route.setId((long) inserts.incrementAndGet());
+            }
+            return route;
+        });
+        lenient().doAnswer(invocation -> rows.remove(invocation.<KrxCodeRoute>getArgument(0).getCode()))
+                .when(routeRepository).delete(any());
+        routeTable = new KrxRouteTable(routeRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routeTable.shutdown();
+    }
+
+    @Test
+    @DisplayName("기록 → 삭제 → 재기록이 몰려도 DB에는 마지막 경로가 남음")
+    void forgetThenRecord_KeepsLatestRoute() throws InterruptedException {
+        // when
+        for (int i = 0; i < 100; i++) {
+            routeTable.record("005930", KrxEndpoint.STOCK);
+            routeTable.forget("005930");
+            routeTable.record("005930", KrxEndpoint.ETF);
+        }
+
+        // then
+        assertThat(awaitRow("005930", KrxEndpoint.ETF)).isTrue();
+        assertThat(routeTable.resolve("005930")).contains(KrxEndpoint.ETF);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 코드를 기록해도 행은 한 번만 추가")
+    void record_FromManyThreadsInsertsOnce() throws InterruptedException {
+        // when
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> routeTable.recordMissing("999999"));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(awaitRow("999999", KrxEndpoint.NONE)).isTrue();
+        assertThat(inserts).hasValue(1);
+    }
+
+    private boolean awaitRow(String code, KrxEndpoint endpoint) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            KrxCodeRoute row = rows.get(code);
+            if (row != null && row.getEndpoint() == endpoint) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.assetmanager.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KrxTradingCalendarTest {
+
+    private KrxTradingCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new KrxTradingCalendar();
+        calendar.loadHolidays();
+    }
+
+    @Test
+    @DisplayName("휴장일 파일의 주석과 빈 줄을 무시하고 날짜만 읽음")
+    void parse_IgnoresCommentsAndBlankLines() throws Exception {
+        // given
+        String file = "# 2026\n\n2026-10-05 # 개천절 대체공휴일\n  2026-10-09\n";
+
+        // when
+        Set<LocalDate> holidays = KrxTradingCalendar.parse(
+                new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(holidays).containsExactlyInAnyOrder(LocalDate.of(2026, 10, 5), LocalDate.of(2026, 10, 9));
+        assertThat(calendar.holidayCount()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("주말/휴장일/장외 시간에는 닫혀 있고 평일 정규장 시간에만 열림")
+    void isOpen_FollowsSessionsWeekendsAndHolidays() {
+        assertThat(calendar.isOpen(kst(2026, 10, 6, 10, 0))).isTrue();
+        assertThat(calendar.isOpen(kst(2026, 10, 6, 8, 59))).isFalse();
+        assertThat(calendar.isOpen(kst(2026, 10, 6, 15, 30))).isFalse();
+        assertThat(calendar.isOpen(kst(2026, 10, 5, 10, 0))).isFalse(); // 개천절 대체공휴일
+        assertThat(calendar.isOpen(kst(2026, 10, 10, 10, 0))).isFalse(); // 토요일
+    }
+
+    @Test
+    @DisplayName("마지막 정규장 마감 시각은 휴장일과 주말을 건너뜀")
+    void lastSessionClose_SkipsHolidaysAndWeekends() {
+        // 10/9(금) 한글날, 10/10~11 주말 -> 10/8(목) 마감
+        assertThat(calendar.lastSessionClose(kst(2026, 10, 12, 8, 0))).contains(kst(2026, 10, 8, 15, 30));
+        // 장중에는 전 거래일 마감
+        assertThat(calendar.lastSessionClose(kst(2026, 10, 6, 10, 0))).contains(kst(2026, 10, 2, 15, 30));
+        // 마감 직후에는 당일 마감
+        assertThat(calendar.lastSessionClose(kst(2026, 10, 6, 16, 0))).contains(kst(2026, 10, 6, 15, 30));
+    }
+
+    private static Instant kst(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(KrxTradingCalendar.KST).toInstant();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceProviderRegistryTest {
+
+    @Test
+    @DisplayName("자산 유형과 KRX 접두사로 조회 경로 결정")
+    void route_ResolvesChainByTypeAndPrefix() {
+        // given
+        StubProvider krx = new StubProvider(Set.of(AssetType.STOCK, AssetType.STOCK_KR), code -> Mono.empty());
+        StubProvider crypto = new StubProvider(Set.of(AssetType.CRYPTO), code -> Mono.empty());
+        StubProvider unavailable = new StubProvider(Set.of(AssetType.STOCK_US), code -> Mono.empty());
+        unavailable.available = false;
+
+        // when
+        PriceProviderRegistry registry = new PriceProviderRegistry(List.of(krx, crypto, unavailable),
+                new PriceCache());
+
+        // then
+        assertThat(registry.chain(AssetType.CRYPTO)).containsExactly(crypto);
+        assertThat(registry.chain(AssetType.STOCK_US)).isEmpty();
+        assertThat(registry.route(AssetType.CRYPTO, "BTC")).isPresent();
+        assertThat(registry.routeType(null, "KRX:005930")).isEqualTo(AssetType.STOCK);
+        assertThat(registry.routeType(AssetType.STOCK_US, "KRX:005930")).isEqualTo(AssetType.STOCK);
+        assertThat(registry.route(AssetType.STOCK_US, "AAPL")).isEmpty();
+        assertThat(registry.route(null, "000660")).isEmpty();
+        assertThat(registry.route(AssetType.CASH, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("앞선 Provider가 시간 초과되면 다음 Provider 시세 사용")
+    void fetchCurrentPrice_FallsBackOnTimeout() {
+        // given
+        StubProvider slow = new StubProvider(Set.of(AssetType.STOCK), code -> Mono.never());
+        StubProvider backup = new StubProvider(Set.of(AssetType.STOCK), code -> Mono.just(new BigDecimal("75000")));
+        FallbackPriceProvider chain = new FallbackPriceProvider(List.of(slow, backup),
+                Duration.ofMillis(100), Duration.ofMillis(100), Duration.ZERO);
+
+        // when
+        BigDecimal price = chain.getCurrentPrice("005930");
+
+        // then
+        assertThat(price).isEqualTo(new BigDecimal("75000"));
+        assertThat(slow.calls).containsExactly("005930");
+        assertThat(backup.calls).containsExactly("005930");
+    }
+
+    @Test
+    @DisplayName("hedge 지연 후에도 응답이 없으면 다음 Provider에 함께 요청해 먼저 온 시세 사용")
+    void fetchCurrentPrice_HedgesSlowProvider() {
+        // given
+        StubProvider slow = new StubProvider(Set.of(AssetType.CRYPTO),
+                code -> Mono.just(new BigDecimal("1")).delayElement(Duration.ofSeconds(3)));
+        StubProvider fast = new StubProvider(Set.of(AssetType.CRYPTO), code -> Mono.just(new BigDecimal("2")));
+        FallbackPriceProvider chain = new FallbackPriceProvider(List.of(slow, fast),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMillis(50));
+
+        // when
+        long start = System.nanoTime();
+        BigDecimal price = chain.getCurrentPrice("BTC");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // then
+        assertThat(price).isEqualTo(new BigDecimal("2"));
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("일괄 조회 시 시세를 받지 못한 종목만 다음 Provider로 조회")
+    void fetchPrices_PassesMissingCodesToNextProvider() {
+        // given
+        StubProvider primary = new StubProvider(Set.of(AssetType.STOCK),
+                code -> code.equals("005930") ? Mono.just(new BigDecimal("75000")) : Mono.empty());
+        StubProvider backup = new StubProvider(Set.of(AssetType.STOCK), code -> Mono.just(new BigDecimal("180000")));
+        FallbackPriceProvider chain = new FallbackPriceProvider(List.of(primary, backup),
+                Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ZERO);
+
+        // when
+        Map<String, BigDecimal> prices = chain.getMultiplePrices(List.of("005930", "000660"));
+
+        // then
+        assertThat(prices).containsEntry("005930", new BigDecimal("75000"))
+                .containsEntry("000660", new BigDecimal("180000"));
+        assertThat(backup.calls).containsExactly("000660");
+    }
+
+    private static class StubProvider implements ReactivePriceProvider {
+
+        private final Set<AssetType> supported;
+        private final Function<String, Mono<BigDecimal>> prices;
+        private final List<String> calls = new ArrayList<>();
+        private boolean available = true;
+
+        StubProvider(Set<AssetType> supported, Function<String, Mono<BigDecimal>> prices) {
+            this.supported = supported;
+            this.prices = prices;
+        }
+
+        @Override
+        public boolean supports(AssetType type) {
+            return supported.contains(type);
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return available;
+        }
+
+        @Override
+        public synchronized Mono<BigDecimal> fetchCurrentPrice(String code) {
+            calls.add(code);
+            return prices.apply(code);
+        }
+
+        @Override
+        public Flux<Quote> fetchPrices(Iterable<String> codes) {
+            return Flux.fromIterable(codes)
+                    .flatMap(code -> fetchCurrentPrice(code).map(price -> new Quote(code, price)));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.Asset;
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PriceRefreshQueueTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private PublicDataPriceProvider publicDataPriceProvider;
+
+    @Mock
+    private AccountSummaryStore accountSummaryStore;
+
+    private FxRateService fxRateService;
+
+    private PriceRefreshQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(publicDataPriceProvider.supports(any())).thenCallRealMethod();
+        lenient().when(publicDataPriceProvider.isAvailable()).thenReturn(true);
+        lenient().when(publicDataPriceProvider.upstream()).thenReturn(PublicDataPriceProvider.UPSTREAM);
+        lenient().when(publicDataPriceProvider.maxCalls(anyString())).thenReturn(1);
+
+        PriceProviderRegistry registry = new PriceProviderRegistry(List.of(publicDataPriceProvider), new PriceCache());
+        // 공공데이터 API는 하루 2회만 호출 가능
+        ProviderCallBudgets budgets = new ProviderCallBudgets(2, 1440, 0, 1, 0, 1);
+        fxRateService = new FxRateService(WebClient.create());
+        queue = new PriceRefreshQueue(assetRepository, registry, budgets,
+                new AssetPriceWriter(assetRepository, accountSummaryStore), fxRateService);
+    }
+
+    @Test
+    @DisplayName("호출 한도 안에서 평가금액 × 경과 시간이 큰 종목부터 갱신하고 나머지는 미룸")
+    void refreshAsync_SpendsBudgetOnHighestPriorityHoldings() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        Asset samsung = asset("KRX:005930", "10", "70000", now.minusHours(1)); // 70만 × 1시간
+        Asset hynix = asset("KRX:000660", "1", "180000", now.minusHours(2)); // 18만 × 2시간
+        Asset naver = asset("KRX:035420", "100", "200000", now.minusMinutes(10)); // 2천만 × 10분
+        given(assetRepository.findStaleByTypes(any(), any())).willReturn(List.of(samsung, hynix, naver));
+        given(publicDataPriceProvider.fetchPrices(List.of("KRX:035420", "KRX:005930")))
+                .willReturn(Flux.just(new Quote("KRX:035420", new BigDecimal("210000")),
+                        new Quote("KRX:005930", new BigDecimal("71000"))));
+        given(assetRepository.updatePriceByTypeAndCode(eq(AssetType.STOCK), anyString(), any(), any())).willReturn(1);
+
+        // when
+        Map<String, Object> result = queue.refreshAsync(List.of(AssetType.STOCK), now, false).block();
+
+        // then
+        assertThat(result).containsEntry("candidates", 3)
+                .containsEntry("selected", 2)
+                .containsEntry("deferred", 1)
+                .containsEntry("updatedAssets", 2);
+        verify(assetRepository, never()).updatePriceByTypeAndCode(any(), eq("KRX:000660"), any(), any());
+    }
+
+    @Test
+    @DisplayName("외화 종목은 원화로 환산한 평가금액으로 순위를 매김")
+    void rank_ConvertsForeignHoldingsToKrw() {
+        // given: 달러 100 × 1,350원 = 13.5만 원 > 원화 10만 원
+        ReflectionTestUtils.setField(fxRateService, "current",
+                new FxRateService.Rates(Map.of("USD", new BigDecimal("1350")), Instant.now()));
+        LocalDateTime now = LocalDateTime.now();
+        Asset krw = asset("KRX:005930", "1", "100000", now.minusHours(1));
+        Asset usd = asset("KRX:000660", "1", "100", now.minusHours(1));
+        usd.setCurrency("USD");
+
+        // when
+        List<PriceRefreshQueue.Candidate> ranked = queue.rank(List.of(krw, usd), now);
+
+        // then
+        assertThat(ranked).extracting(candidate -> candidate.instrument().code())
+                .containsExactly("KRX:000660", "KRX:005930");
+        assertThat(ranked.get(0).priority()).isEqualByComparingTo(new BigDecimal("135000").multiply(BigDecimal.valueOf(3600)));
+    }
+
+    @Test
+    @DisplayName("경로를 모르는 종목은 주식 → ETF 탐색 호출 수만큼 한도를 잡음")
+    void refreshAsync_ReservesProbeCallsForUnknownRoutes() {
+        // given: 한도 2회를 탐색 2회가 필요한 종목이 모두 씀
+        LocalDateTime now = LocalDateTime.now();
+        Asset unknown = asset("KRX:0082V0", "100", "200000", now.minusHours(1));
+        Asset known = asset("KRX:005930", "1", "70000", now.minusHours(1));
+        given(assetRepository.findStaleByTypes(any(), any())).willReturn(List.of(unknown, known));
+        given(publicDataPriceProvider.maxCalls("KRX:0082V0")).willReturn(2);
+        given(publicDataPriceProvider.fetchPrices(List.of("KRX:0082V0")))
+                .willReturn(Flux.just(new Quote("KRX:0082V0", new BigDecimal("210000"))));
+        given(assetRepository.updatePriceByTypeAndCode(eq(AssetType.STOCK), anyString(), any(), any())).willReturn(1);
+
+        // when
+        Map<String, Object> result = queue.refreshAsync(List.of(AssetType.STOCK), now, false).block();
+
+        // then
+        assertThat(result).containsEntry("selected", 1)
+                .containsEntry("deferred", 1);
+        verify(assetRepository, never()).updatePriceByTypeAndCode(any(), eq("KRX:005930"), any(), any());
+    }
+
+    private static Asset asset(String code, String quantity, String currentPrice, LocalDateTime lastPriceUpdate) {
+        return Asset.builder()
+                .type(AssetType.STOCK)
+                .code(code)
+                .quantity(new BigDecimal(quantity))
+                .currentPrice(new BigDecimal(currentPrice))
+                .lastPriceUpdate(lastPriceUpdate)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.service.PriceRefreshScheduler.MarketGroup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PriceRefreshSchedulerTest {
+
+    @Mock
+    private PriceRefreshQueue priceRefreshQueue;
+
+    @Mock
+    private PriceProviderRegistry priceProviderRegistry;
+
+    @Mock
+    private PriceProvider provider;
+
+    private PriceRefreshScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        KrxTradingCalendar calendar = new KrxTradingCalendar();
+        calendar.loadHolidays();
+        scheduler = new PriceRefreshScheduler(priceRefreshQueue, priceProviderRegistry, calendar);
+
+        // 국내 주식과 가상화폐만 조회 경로가 있는 상태
+        lenient().when(priceProviderRegistry.chain(any())).thenReturn(List.of());
+        lenient().when(priceProviderRegistry.chain(AssetType.STOCK)).thenReturn(List.of(provider));
+        lenient().when(priceProviderRegistry.chain(AssetType.CRYPTO)).thenReturn(List.of(provider));
+        given(priceRefreshQueue.refreshAsync(any(), any(), anyBoolean()))
+                .willReturn(Mono.just(Map.of("updatedAssets", 1)));
+    }
+
+    @Test
+    @DisplayName("KRX는 장 마감 후 한 번만 갱신하고 휴장 중에는 조회하지 않다가 장이 열리면 주기적으로 갱신")
+    void refreshIfDue_FollowsKrxCalendar() {
+        // given: 10/9(금) 한글날 -> 마지막 마감은 10/8(목) 15:30
+        Instant holiday = kst(2026, 10, 9, 12, 0);
+
+        // when
+        scheduler.refreshIfDue(MarketGroup.KRX, holiday);
+        scheduler.refreshIfDue(MarketGroup.KRX, kst(2026, 10, 10, 12, 0)); // 토요일
+        scheduler.refreshIfDue(MarketGroup.KRX, kst(2026, 10, 12, 10, 0)); // 월요일 장중
+
+        // then
+        verify(priceRefreshQueue).refreshAsync(List.of(AssetType.STOCK), local(kst(2026, 10, 8, 15, 30)), false);
+        verify(priceRefreshQueue).refreshAsync(List.of(AssetType.STOCK), local(kst(2026, 10, 12, 9, 50)), false);
+        verify(priceRefreshQueue, times(2)).refreshAsync(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("가상화폐는 거래 달력과 무관하게 갱신 주기마다 갱신")
+    void refreshIfDue_RefreshesCryptoEveryInterval() {
+        // given
+        Instant weekend = kst(2026, 10, 10, 3, 0);
+
+        // when
+        scheduler.refreshIfDue(MarketGroup.CRYPTO, weekend);
+        scheduler.refreshIfDue(MarketGroup.CRYPTO, weekend.plusSeconds(30));
+        scheduler.refreshIfDue(MarketGroup.CRYPTO, weekend.plusSeconds(61));
+
+        // then
+        verify(priceRefreshQueue, times(2)).refreshAsync(eq(List.of(AssetType.CRYPTO)), any(), eq(false));
+    }
+
+    private static Instant kst(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(KrxTradingCalendar.KST).toInstant();
+    }
+
+    private static LocalDateTime local(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
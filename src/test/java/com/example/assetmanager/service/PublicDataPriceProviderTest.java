@@ -1,6 +1,10 @@
 package com.example.assetmanager.service;
 
 import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.domain.KrxEndpoint;
+import com.example.assetmanager.support.CircuitBreaker;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,18 +12,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.Flux;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,9 +53,16 @@ class PublicDataPriceProviderTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    @Mock
+    private KrxPriceSnapshot snapshot;
+
+    @Mock
+    private KrxRouteTable routeTable;
+
     @BeforeEach
     void setUp() {
-        publicDataPriceProvider = new PublicDataPriceProvider(webClient);
+        publicDataPriceProvider = new PublicDataPriceProvider(webClient, snapshot, routeTable,
+                new ProviderCallBudgets(), new UpstreamGuards(), new Bulkheads());
         ReflectionTestUtils.setField(publicDataPriceProvider, "serviceKey", "test-key");
     }
 
@@ -93,9 +114,9 @@ class PublicDataPriceProviderTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(any(org.springframework.core.ParameterizedTypeReference.class)))
-                .thenReturn(Mono.just(emptyResponse)) // first call
-                .thenReturn(Mono.just(etfResponse)); // second call
+        when(responseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(body(emptyResponse)) // first call
+                .thenReturn(body(etfResponse)); // second call
 
         // when
         BigDecimal price = publicDataPriceProvider.getCurrentPrice(code);
@@ -104,6 +125,176 @@ class PublicDataPriceProviderTest {
         assertThat(price).isEqualTo(expectedPrice);
     }
 
+    @Test
+    @DisplayName("최대 호출 수: 스냅샷 적중 0, 경로 기록 1, 미존재 기록 0, 경로 모름 2")
+    void maxCalls_CountsProbeCalls() {
+        // given
+        when(snapshot.lookup("005930")).thenReturn(Optional.of(new BigDecimal("71000")));
+        when(routeTable.resolve("069500")).thenReturn(Optional.of(KrxEndpoint.ETF));
+        when(routeTable.resolve("999999")).thenReturn(Optional.of(KrxEndpoint.NONE));
+
+        // when & then
+        assertThat(publicDataPriceProvider.maxCalls("KRX:005930")).isZero();
+        assertThat(publicDataPriceProvider.maxCalls("069500")).isEqualTo(1);
+        assertThat(publicDataPriceProvider.maxCalls("999999")).isZero();
+        assertThat(publicDataPriceProvider.maxCalls("0082V0")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("ETF로 기록된 종목은 ETF API만 호출")
+    void getCurrentPrice_UsesRecordedRoute() {
+        // given
+        String code = "069500";
+        when(routeTable.resolve(code)).thenReturn(Optional.of(KrxEndpoint.ETF));
+        setupWebClientMock(createMockApiResponse(new BigDecimal("35000")));
+
+        // when
+        BigDecimal price = publicDataPriceProvider.getCurrentPrice(code);
+
+        // then
+        assertThat(price).isEqualTo(new BigDecimal("35000"));
+        verify(webClient, times(1)).get();
+        verify(routeTable, never()).record(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("미존재로 기록된 종목은 네트워크 조회 생략")
+    void getCurrentPrice_SkipsNegativeCachedCode() {
+        // given
+        when(routeTable.resolve("999999")).thenReturn(Optional.of(KrxEndpoint.NONE));
+
+        // when
+        BigDecimal price = publicDataPriceProvider.getCurrentPrice("KRX:999999");
+
+        // then
+        assertThat(price).isEqualTo(BigDecimal.ZERO);
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    @DisplayName("두 API 모두 결과가 없으면 미존재로 기록")
+    void getCurrentPrice_RecordsMissingCode() {
+        // given
+        setupWebClientMock(createMockEmptyResponse());
+
+        // when
+        BigDecimal price = publicDataPriceProvider.getCurrentPrice("KRX:999999");
+
+        // then
+        assertThat(price).isEqualTo(BigDecimal.ZERO);
+        verify(routeTable).recordMissing("999999");
+    }
+
+    @Test
+    @DisplayName("회로가 열려 있으면 API를 호출하지 않고 미존재로도 기록하지 않음")
+    void getCurrentPrice_FailsFastWhenCircuitOpen() {
+        // given: 연속 실패로 회로가 열린 상태
+        UpstreamGuards upstreamGuards = new UpstreamGuards();
+        CircuitBreaker breaker = upstreamGuards.get(PublicDataPriceProvider.UPSTREAM).getBreaker();
+        for (int i = 0; i < 5; i++) {
+            breaker.onFailure();
+        }
+        publicDataPriceProvider = new PublicDataPriceProvider(webClient, snapshot, routeTable,
+                new ProviderCallBudgets(), upstreamGuards, new Bulkheads());
+        ReflectionTestUtils.setField(publicDataPriceProvider, "serviceKey", "test-key");
+
+        // when
+        BigDecimal price = publicDataPriceProvider.getCurrentPrice("KRX:005930");
+
+        // then
+        assertThat(price).isEqualTo(BigDecimal.ZERO);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        verifyNoInteractions(webClient);
+        verify(routeTable, never()).recordMissing(anyString());
+    }
+
+    @Test
+    @DisplayName("전 종목 스냅샷에 있는 종목은 API 호출 없이 반환")
+    void getCurrentPrice_UsesSnapshotWithoutApiCall() {
+        // given
+        when(snapshot.lookup("005930")).thenReturn(Optional.of(new BigDecimal("71000")));
+
+        // when
+        BigDecimal price = publicDataPriceProvider.getCurrentPrice("KRX:005930");
+
+        // then
+        assertThat(price).isEqualTo(new BigDecimal("71000"));
+        verify(snapshot).refreshIfStale();
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    @DisplayName("공공데이터 bulkhead가 가득 차면 에러 없이 0 또는 빈 결과를 반환")
+    void getCurrentPrice_ReturnsZeroWhenBulkheadFull() throws Exception {
+        // given: 동시 실행 1, 대기열 0인 bulkhead를 오래 걸리는 작업으로 채움
+        Bulkheads bulkheads = new Bulkheads(1, 0, 2, 16, 4, 8, 2, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        bulkheads.publicData().submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        publicDataPriceProvider = new PublicDataPriceProvider(webClient, snapshot, routeTable,
+                new ProviderCallBudgets(), new UpstreamGuards(), bulkheads);
+        ReflectionTestUtils.setField(publicDataPriceProvider, "serviceKey", "test-key");
+
+        try {
+            // when
+            BigDecimal price = publicDataPriceProvider.getCurrentPrice("KRX:005930");
+            Map<String, BigDecimal> prices = publicDataPriceProvider.getMultiplePrices(
+                    List.of("KRX:005930", "KRX:000660"));
+
+            // then
+            assertThat(price).isEqualTo(BigDecimal.ZERO);
+            assertThat(prices).isEmpty();
+            verifyNoInteractions(snapshot, routeTable, webClient);
+        } finally {
+            release.countDown();
+            bulkheads.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("다중 종목 동시 조회 테스트")
+    void getMultiplePrices_FetchesAllCodes() {
+        // given
+        Map<String, Object> mockResponse = createMockApiResponse(new BigDecimal("70000"));
+        setupWebClientMock(mockResponse);
+
+        // when
+        Map<String, BigDecimal> prices = publicDataPriceProvider.getMultiplePrices(
+                List.of("KRX:005930", "KRX:000660", "KRX:005930"));
+
+        // then
+        assertThat(prices).hasSize(2);
+        assertThat(prices.get("KRX:005930")).isEqualTo(new BigDecimal("70000"));
+        assertThat(prices.get("KRX:000660")).isEqualTo(new BigDecimal("70000"));
+    }
+
+    @Test
+    @DisplayName("일괄 조회 마감 시간 초과 시 완료된 종목만 부분 반환")
+    void getMultiplePrices_ReturnsPartialResultsOnDeadline() {
+        // given
+        ReflectionTestUtils.setField(publicDataPriceProvider, "batchTimeoutMillis", 300L);
+        Map<String, Object> mockResponse = createMockApiResponse(new BigDecimal("70000"));
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(body(mockResponse)) // 첫 번째 종목은 즉시 응답
+                .thenReturn(Flux.never()); // 두 번째 종목은 응답 없음
+
+        // when
+        Map<String, BigDecimal> prices = publicDataPriceProvider.getMultiplePrices(
+                List.of("KRX:005930", "KRX:000660"));
+
+        // then
+        assertThat(prices).containsOnlyKeys("KRX:005930");
+        assertThat(prices.get("KRX:005930")).isEqualTo(new BigDecimal("70000"));
+    }
+
     private Map<String, Object> createMockApiResponse(BigDecimal price) {
         Map<String, Object> response = new HashMap<>();
         Map<String, Object> innerResponse = new HashMap<>();
@@ -138,7 +329,17 @@ class PublicDataPriceProviderTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(any(org.springframework.core.ParameterizedTypeReference.class)))
-                .thenReturn(Mono.just(response));
+        when(responseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(body(response));
+    }
+
+    // 실제 응답처럼 JSON 바이트로 전달 (구독할 때마다 새 버퍼)
+    private Flux<DataBuffer> body(Map<String, Object> response) {
+        try {
+            byte[] json = new ObjectMapper().writeValueAsBytes(response);
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(json)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,94 @@
+package com.example.assetmanager.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공공데이터 시세 응답 파싱 비교: 기존 Map 트리 변환 vs 스트리밍 파서.
+ * 응답당 할당량은 GC 프로파일러의 gc.alloc.rate.norm (B/op)으로 확인합니다.
+ * 실행: 테스트 클래스패스로 main 실행 (예: IDE에서 실행하거나 mvn exec:java -Dexec.classpathScope=test).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("unchecked")
+public class PublicDataResponseParserBenchmark {
+
+    // 1: 종목별 조회 응답, 1000: 전 종목 스냅샷 한 페이지
+    @Param({ "1", "1000" })
+    public int items;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] response;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"response\":{\"header\":{\"resultCode\":\"00\",\"resultMsg\":"
+                + "\"NORMAL SERVICE.\"},\"body\":{\"numOfRows\":" + items + ",\"pageNo\":1,\"totalCount\":2800,"
+                + "\"items\":{\"item\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(String.format("{\"basDt\":\"20240531\",\"srtnCd\":\"%06d\",\"isinCd\":\"KR7%06d0003\","
+                    + "\"itmsNm\":\"종목%d\",\"mrktCtg\":\"KOSPI\",\"clpr\":\"%d\",\"vs\":\"-500\","
+                    + "\"fltRt\":\"-.66\",\"mkp\":\"75500\",\"hipr\":\"76000\",\"lopr\":\"74800\","
+                    + "\"trqu\":\"12345678\",\"trPrc\":\"925925925000\",\"lstgStCnt\":\"5969782550\","
+                    + "\"mrktTotAmt\":\"447733691250000\"}", i, i, i, 10000 + i));
+        }
+        json.append("]}}}}");
+        response = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void mapTree(Blackhole blackhole) throws Exception {
+        Map<String, Object> tree = objectMapper.readValue(response, new TypeReference<Map<String, Object>>() {
+        });
+        Map<String, Object> body = (Map<String, Object>) ((Map<String, Object>) tree.get("response")).get("body");
+        List<Map<String, Object>> itemList = (List<Map<String, Object>>) ((Map<String, Object>) body.get("items"))
+                .get("item");
+        for (Map<String, Object> item : itemList) {
+            Object clpr = item.get("clpr") != null ? item.get("clpr") : item.get("trdpr");
+            blackhole.consume(item.get("srtnCd"));
+            blackhole.consume(new BigDecimal(clpr.toString()));
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws Exception {
+        blackhole.consume(PublicDataResponseParser.parse(response));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PublicDataResponseParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
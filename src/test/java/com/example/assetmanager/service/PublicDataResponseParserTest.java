@@ -0,0 +1,72 @@
+package com.example.assetmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PublicDataResponseParserTest {
+
+    @Test
+    @DisplayName("코드/종목명/가격 필드만 읽고 종가가 없으면 거래가 사용")
+    void parse_ReadsOnlyCodeNameAndPriceFields() throws Exception {
+        // given
+        String json = """
+                {"response":{"header":{"resultCode":"00","resultMsg":"NORMAL SERVICE."},
+                 "body":{"numOfRows":2,"pageNo":1,"totalCount":1234,
+                  "items":{"item":[
+                   {"basDt":"20240531","srtnCd":"005930","itmsNm":"삼성전자","clpr":"75000","vs":"-500"},
+                   {"basDt":"20240531","srtnCd":"069500","itmsNm":"KODEX 200","trdpr":35000,"nav":{"x":1}}
+                  ]}}}}
+                """;
+
+        // when
+        PublicDataResponseParser.Page page = PublicDataResponseParser.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertThat(page.totalCount()).isEqualTo(1234L);
+        assertThat(page.items()).containsExactly(
+                new PublicDataResponseParser.Item("005930", "삼성전자", new BigDecimal("75000")),
+                new PublicDataResponseParser.Item("069500", "KODEX 200", new BigDecimal("35000")));
+        assertThat(page.firstPrice()).isEqualTo(new BigDecimal("75000"));
+    }
+
+    @Test
+    @DisplayName("결과가 없으면 items가 빈 문자열이어도 빈 페이지 반환")
+    void parse_HandlesEmptyItems() throws Exception {
+        // given
+        String json = "{\"response\":{\"body\":{\"totalCount\":0,\"items\":\"\"}}}";
+
+        // when
+        PublicDataResponseParser.Page page = PublicDataResponseParser.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertThat(page.totalCount()).isZero();
+        assertThat(page.items()).isEmpty();
+        assertThat(page.firstPrice()).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("응답 본문이 최대 크기를 넘으면 끝까지 받지 않고 바로 실패")
+    void parse_FailsFastWhenBodyExceedsLimit() {
+        // given: 1KB 조각 100개 (100KB), 최대 4KB
+        AtomicInteger emitted = new AtomicInteger();
+        Flux<DataBuffer> body = Flux.range(0, 100)
+                .<DataBuffer>map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[1024]))
+                .doOnNext(buffer -> emitted.incrementAndGet());
+
+        // when & then
+        assertThatThrownBy(() -> PublicDataResponseParser.parse(body, 4096).block())
+                .isInstanceOf(DataBufferLimitException.class);
+        assertThat(emitted.get()).isLessThan(100);
+    }
+}
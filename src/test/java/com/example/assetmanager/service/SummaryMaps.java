@@ -0,0 +1,55 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.dto.AccountSummary;
+import com.example.assetmanager.dto.AssetSummary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요약 DTO 도입 전의 Map 형태. JSON 계약 비교와 벤치마크 기준선으로만 씁니다.
+ */
+final class SummaryMaps {
+
+    private SummaryMaps() {
+    }
+
+    static Map<String, Object> toMap(AccountSummary summary) {
+        List<Map<String, Object>> assetDetails = new ArrayList<>();
+        for (AssetSummary asset : summary.assets()) {
+            Map<String, Object> detail = new HashMap<>();
+            detail.put("id", asset.id());
+            detail.put("type", asset.type());
+            detail.put("code", asset.code());
+            detail.put("name", asset.name());
+            detail.put("currency", asset.currency());
+            detail.put("fxRate", asset.fxRate());
+            detail.put("quantity", asset.quantity());
+            detail.put("averagePurchasePrice", asset.averagePurchasePrice());
+            detail.put("currentPrice", asset.currentPrice());
+            detail.put("lastPriceUpdate", asset.lastPriceUpdate());
+            detail.put("currentValue", asset.currentValue());
+            detail.put("profitLoss", asset.profitLoss());
+            detail.put("returnRate", asset.returnRate());
+            assetDetails.add(detail);
+        }
+        Map<String, Object> map = new HashMap<>();
+        map.put("accountId", summary.accountId());
+        map.put("accountName", summary.accountName());
+        map.put("owner", summary.owner());
+        map.put("accountType", summary.accountType());
+        map.put("financialInstitution", summary.financialInstitution());
+        map.put("accountNumber", summary.accountNumber());
+        map.put("totalPurchaseAmount", summary.totalPurchaseAmount());
+        map.put("totalCurrentValue", summary.totalCurrentValue());
+        map.put("totalProfitLoss", summary.totalProfitLoss());
+        map.put("totalReturnRate", summary.totalReturnRate());
+        map.put("totalExpectedDividend", summary.totalExpectedDividend());
+        map.put("assets", assetDetails);
+        map.put("fxRatesAsOf", summary.fxRatesAsOf());
+        map.put("unconvertedCurrencies", summary.unconvertedCurrencies());
+        return map;
+    }
+}
@@ -8,16 +8,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,11 +43,14 @@ class UpbitPriceProviderTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    private UpbitLivePriceStore liveStore;
     private UpbitPriceProvider upbitPriceProvider;
 
     @BeforeEach
     void setUp() {
-        upbitPriceProvider = new UpbitPriceProvider(webClient);
+        liveStore = new UpbitLivePriceStore();
+        upbitPriceProvider = new UpbitPriceProvider(webClient, liveStore, new ProviderCallBudgets(),
+                new UpstreamGuards());
     }
 
     @Test
@@ -91,4 +102,97 @@ class UpbitPriceProviderTest {
         assertThat(prices.get("KRW-BTC")).isEqualByComparingTo("50000000");
         assertThat(prices.get("KRW-ETH")).isEqualByComparingTo("3000000");
     }
+
+    @Test
+    @DisplayName("마켓 수 제한에 맞춰 나눠 조회하고 호출자가 넘긴 코드로 반환")
+    void getMultiplePrices_ChunksRequestsAndKeepsCallerCodes() {
+        // given
+        ReflectionTestUtils.setField(upbitPriceProvider, "maxMarketsPerRequest", 2);
+        Map<String, BigDecimal> tickers = Map.of(
+                "KRW-BTC", new BigDecimal("50000000"),
+                "KRW-ETH", new BigDecimal("3000000"),
+                "KRW-XRP", new BigDecimal("700"));
+        List<String> requestedMarkets = setupTickerMock(tickers, Set.of());
+
+        // when
+        Map<String, BigDecimal> prices = upbitPriceProvider.getMultiplePrices(List.of("BTC", "KRW-ETH", "upbit:xrp"));
+
+        // then
+        assertThat(requestedMarkets).containsExactly("KRW-BTC,KRW-ETH", "KRW-XRP");
+        assertThat(prices).containsOnlyKeys("BTC", "KRW-ETH", "upbit:xrp");
+        assertThat(prices.get("BTC")).isEqualByComparingTo("50000000");
+        assertThat(prices.get("upbit:xrp")).isEqualByComparingTo("700");
+    }
+
+    @Test
+    @DisplayName("URL 길이 제한을 넘지 않도록 나눠 조회")
+    void chunk_SplitsByUrlLength() {
+        // given
+        int baseLength = "https://api.upbit.com/v1/ticker?markets=".length();
+        ReflectionTestUtils.setField(upbitPriceProvider, "maxUrlLength", baseLength + "KRW-BTC,KRW-ETH".length());
+
+        // when
+        List<List<String>> chunks = upbitPriceProvider.chunk(List.of("KRW-BTC", "KRW-ETH", "KRW-XRP"));
+
+        // then
+        assertThat(chunks).containsExactly(List.of("KRW-BTC", "KRW-ETH"), List.of("KRW-XRP"));
+    }
+
+    @Test
+    @DisplayName("없는 마켓이 섞여 요청이 거절되면 나눠 다시 조회해 나머지 시세는 반환")
+    void getMultiplePrices_IsolatesUnknownMarket() {
+        // given
+        Map<String, BigDecimal> tickers = Map.of(
+                "KRW-BTC", new BigDecimal("50000000"),
+                "KRW-ETH", new BigDecimal("3000000"));
+        setupTickerMock(tickers, Set.of("KRW-NOPE"));
+
+        // when
+        Map<String, BigDecimal> prices = upbitPriceProvider.getMultiplePrices(List.of("BTC", "NOPE", "ETH"));
+
+        // then
+        assertThat(prices).containsOnlyKeys("BTC", "ETH");
+    }
+
+    @Test
+    @DisplayName("실시간 저장소에 있는 마켓은 REST 호출 없이 반환하고 나머지만 조회")
+    void getMultiplePrices_ReadsLiveStoreBeforeRest() {
+        // given
+        liveStore.update("KRW-BTC", new BigDecimal("51000000"));
+        List<String> requestedMarkets = setupTickerMock(Map.of("KRW-ETH", new BigDecimal("3000000")), Set.of());
+
+        // when
+        BigDecimal btc = upbitPriceProvider.getCurrentPrice("BTC");
+        Map<String, BigDecimal> prices = upbitPriceProvider.getMultiplePrices(List.of("BTC", "ETH"));
+
+        // then
+        assertThat(btc).isEqualByComparingTo("51000000");
+        assertThat(prices.get("BTC")).isEqualByComparingTo("51000000");
+        assertThat(prices.get("ETH")).isEqualByComparingTo("3000000");
+        assertThat(requestedMarkets).containsExactly("KRW-ETH");
+    }
+
+    // 요청 URL의 markets 값에 맞춰 응답하고, 알 수 없는 마켓이 포함되면 업비트처럼 404 반환
+    private List<String> setupTickerMock(Map<String, BigDecimal> tickers, Set<String> unknownMarkets) {
+        List<String> requestedMarkets = new ArrayList<>();
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doAnswer(invocation -> {
+            URI uri = invocation.getArgument(0);
+            requestedMarkets.add(uri.getQuery().substring("markets=".length()));
+            return requestHeadersSpec;
+        }).when(requestHeadersUriSpec).uri(any(URI.class));
+        doReturn(responseSpec).when(requestHeadersSpec).retrieve();
+        given(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).willAnswer(invocation -> {
+            List<String> markets = Arrays.asList(requestedMarkets.get(requestedMarkets.size() - 1).split(","));
+            if (markets.stream().anyMatch(unknownMarkets::contains)) {
+                return Mono.error(WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "Not Found",
+                        null, null, null));
+            }
+            return Mono.just(markets.stream()
+                    .filter(tickers::containsKey)
+                    .map(market -> Map.<String, Object>of("market", market, "trade_price", tickers.get(market)))
+                    .toList());
+        });
+        return requestedMarkets;
+    }
 }
@@ -0,0 +1,102 @@
+package com.example.assetmanager.service;
+
+import com.example.assetmanager.domain.AssetType;
+import com.example.assetmanager.repository.AssetRepository;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class UpbitTickerStreamTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    private UpbitLivePriceStore store;
+    private UpbitTickerStream stream;
+    private DisposableServer feed;
+    private final List<String> subscriptions = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 업비트 WebSocket 대신 구독 요청을 기록하고 바이너리 프레임으로 체결가를 보내는 로컬 서버
+        feed = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                // 수신 스트림을 취소하면 연결이 닫히므로 구독 요청마다 응답 프레임을 보냄
+                .route(routes -> routes.ws("/websocket/v1", (in, out) -> out.sendObject(in.receive().asString()
+                        .doOnNext(subscriptions::add)
+                        .concatMap(request -> Flux.just(
+                                frame("{\"status\":\"UP\"}"),
+                                frame("{\"type\":\"ticker\",\"code\":\"KRW-BTC\",\"trade_price\":50000000.0}"),
+                                frame("{\"type\":\"ticker\",\"code\":\"KRW-ETH\",\"trade_price\":3000000.5}"))))))
+                .bindNow();
+
+        store = new UpbitLivePriceStore();
+        stream = new UpbitTickerStream(assetRepository, store, new Bulkheads());
+        ReflectionTestUtils.setField(stream, "streamUrl",
+                "ws://127.0.0.1:" + feed.port() + "/websocket/v1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+        feed.disposeNow();
+    }
+
+    @Test
+    @DisplayName("보유 마켓을 구독하고 받은 체결가를 저장소에 반영")
+    void connect_SubscribesAndStoresTicks() {
+        // when
+        List<Quote> quotes = stream.connect(List.of("KRW-BTC", "KRW-ETH"))
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(quotes).extracting(Quote::code).containsExactly("KRW-BTC", "KRW-ETH");
+        assertThat(subscriptions).singleElement().asString()
+                .contains("\"type\":\"ticker\"")
+                .contains("\"codes\":[\"KRW-BTC\",\"KRW-ETH\"]");
+        assertThat(store.lookup("KRW-BTC")).contains(new BigDecimal("50000000.0"));
+        assertThat(store.lookup("KRW-ETH")).contains(new BigDecimal("3000000.5"));
+    }
+
+    @Test
+    @DisplayName("보유 코인 코드를 중복 없이 업비트 마켓 형식으로 변환")
+    void heldMarkets_NormalizesCryptoCodes() {
+        // given
+        given(assetRepository.findDistinctCodesByType(AssetType.CRYPTO))
+                .willReturn(List.of("BTC", "KRW-ETH", "krw-btc", " "));
+
+        // when
+        List<String> markets = stream.heldMarkets();
+
+        // then
+        assertThat(markets).containsExactly("KRW-BTC", "KRW-ETH");
+    }
+
+    private static WebSocketFrame frame(String json) {
+        return new BinaryWebSocketFrame(Unpooled.copiedBuffer(json, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.assetmanager.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead("google-news", 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    @DisplayName("실행 중인 작업과 대기열이 모두 차면 기다리지 않고 거절하고 거절 수를 기록")
+    void submit_RejectsWhenFull() throws Exception {
+        // given: 실행 중 1개 + 대기 1개
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        List<CompletableFuture<String>> accepted = new ArrayList<>();
+        accepted.add(bulkhead.submit(() -> {
+            running.countDown();
+            release.await();
+            return "slow";
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        accepted.add(bulkhead.submit(() -> "queued"));
+
+        // when
+        CompletableFuture<String> rejected = bulkhead.submit(() -> "rejected");
+
+        // then
+        assertThatThrownBy(rejected::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(Bulkhead.RejectedException.class);
+        assertThat(bulkhead.stats().get("rejected")).isEqualTo(1L);
+        release.countDown();
+        assertThat(accepted.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        assertThat(accepted.get(1).get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    @DisplayName("제출한 스레드의 요청 마감 시각을 작업 스레드로 옮김")
+    void submit_CarriesRequestDeadline() throws Exception {
+        // given
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofSeconds(10));
+        RequestDeadline.set(deadline);
+
+        // when
+        CompletableFuture<RequestDeadline> seen;
+        try {
+            seen = bulkhead.submit(() -> RequestDeadline.current().orElse(null));
+        } finally {
+            RequestDeadline.clear();
+        }
+
+        // then
+        assertThat(seen.get(5, TimeUnit.SECONDS)).isSameAs(deadline);
+    }
+
+    @Test
+    @DisplayName("넘겨받은 실행기에서 실행하면서 동시 실행 수는 격벽 한도로 제한")
+    void submit_RunsOnSharedExecutorWithinLimit() throws Exception {
+        // given: 스레드 제한이 없는 공용 실행기, 격벽 한도 2
+        ExecutorService shared = Executors.newCachedThreadPool(runnable -> new Thread(runnable, "shared-io"));
+        Bulkhead limited = new Bulkhead("google-sheets", 2, 8, shared);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+
+        // when
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(limited.submit(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                    return Thread.currentThread().getName();
+                }));
+            }
+
+            // then
+            for (CompletableFuture<String> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("shared-io");
+            }
+            assertThat(peak.get()).isLessThanOrEqualTo(2);
+            assertThat(limited.stats()).containsEntry("active", 0).containsEntry("queued", 0);
+        } finally {
+            limited.shutdown();
+            shared.shutdown();
+        }
+    }
+}
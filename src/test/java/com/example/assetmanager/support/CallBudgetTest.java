@@ -0,0 +1,69 @@
+package com.example.assetmanager.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CallBudgetTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    @Test
+    @DisplayName("한도를 다 쓰면 거절하고 KST 자정에 새 창이 시작되면 다시 허용")
+    void tryAcquire_ResetsAtWindowBoundaryInClockZone() {
+        // given: 2026-10-16 23:59 KST
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-10-16T14:59:00Z"));
+        CallBudget budget = new CallBudget("public-data", 2, Duration.ofDays(1), clock(now));
+
+        // when
+        boolean first = budget.tryAcquire();
+        boolean second = budget.tryAcquire();
+        boolean third = budget.tryAcquire();
+        now.set(Instant.parse("2026-10-16T15:00:00Z")); // 2026-10-17 00:00 KST
+        boolean afterMidnight = budget.tryAcquire();
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(afterMidnight).isTrue();
+        assertThat(budget.remaining()).isEqualTo(1);
+        assertThat(budget.stats().get("rejected")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("한도가 0 이하면 제한하지 않음")
+    void tryAcquire_UnlimitedWhenLimitNotPositive() {
+        CallBudget budget = CallBudget.unlimited("kis");
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.isLimited()).isFalse();
+        assertThat(budget.remaining()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    private static Clock clock(AtomicReference<Instant> now) {
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return KST;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.assetmanager.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    @Test
+    @DisplayName("연속 실패가 기준에 이르면 열리고, 열린 시간이 지나면 시험 호출 하나만 허용")
+    void tryAcquire_OpensAfterConsecutiveFailuresThenAllowsSingleProbe() {
+        // given
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-10-17T00:00:00Z"));
+        CircuitBreaker breaker = new CircuitBreaker("public-data", 3, Duration.ofSeconds(30), clock(now));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+        boolean whileOpen = breaker.tryAcquire();
+        now.set(now.get().plusSeconds(30));
+        boolean probe = breaker.tryAcquire();
+        boolean secondProbe = breaker.tryAcquire();
+
+        // then
+        assertThat(whileOpen).isFalse();
+        assertThat(probe).isTrue();
+        assertThat(secondProbe).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 성공하면 닫히고, 실패하면 다시 열림")
+    void probeResult_ClosesOrReopens() {
+        // given
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-10-17T00:00:00Z"));
+        CircuitBreaker breaker = new CircuitBreaker("upbit", 1, Duration.ofSeconds(10), clock(now));
+        breaker.tryAcquire();
+        breaker.onFailure();
+
+        // when: 첫 시험 호출 실패 → 다시 열림
+        now.set(now.get().plusSeconds(10));
+        breaker.tryAcquire();
+        breaker.onFailure();
+        CircuitBreaker.State afterFailedProbe = breaker.getState();
+        // 다시 열린 시간이 지나고 시험 호출 성공 → 닫힘
+        now.set(now.get().plusSeconds(10));
+        breaker.tryAcquire();
+        breaker.onSuccess();
+
+        // then
+        assertThat(afterFailedProbe).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.stats().get("opened")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("열리기 전에 시작된 호출이 늦게 성공해도 반쯤 열린 회로를 닫지 않음")
+    void onSuccess_IgnoresLateResultFromEarlierEpoch() {
+        // given: 느린 호출이 닫힌 상태에서 시작된 뒤 다른 호출의 실패로 회로가 열림
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-10-17T00:00:00Z"));
+        CircuitBreaker breaker = new CircuitBreaker("google-sheets", 1, Duration.ofSeconds(10), clock(now));
+        long slowCall = breaker.acquire();
+        breaker.onFailure(breaker.acquire());
+        now.set(now.get().plusSeconds(10));
+        long probe = breaker.acquire();
+
+        // when: 시험 호출이 끝나기 전에 느린 호출이 성공/무시로 끝남
+        breaker.onSuccess(slowCall);
+        breaker.onIgnored(slowCall);
+
+        // then: 시험 호출 자리는 그대로이고, 시험 호출 결과로만 닫힘
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onSuccess(probe);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("중간에 성공하면 연속 실패 횟수가 초기화되어 열리지 않음")
+    void onSuccess_ResetsConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("google-news", 2, Duration.ofSeconds(30), Clock.systemUTC());
+
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private static Clock clock(AtomicReference<Instant> now) {
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.assetmanager.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedExecutorTest {
+
+    @Test
+    @DisplayName("완료/실패한 작업 수와 실행 모드를 집계")
+    void runAsync_RecordsCompletedAndFailedTasks() throws Exception {
+        // given
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        InstrumentedExecutor executor = new InstrumentedExecutor("platform", pool);
+
+        try {
+            // when
+            executor.runAsync(() -> {
+            }).get(5, TimeUnit.SECONDS);
+            CompletableFuture<Void> failing = executor.runAsync(() -> {
+                throw new IllegalStateException("upstream down");
+            });
+
+            // then
+            assertThatThrownBy(failing::join).isInstanceOf(CompletionException.class);
+            Map<String, Object> stats = executor.stats();
+            assertThat(stats.get("mode")).isEqualTo("platform");
+            assertThat(stats.get("started")).isEqualTo(2L);
+            assertThat(stats.get("completed")).isEqualTo(1L);
+            assertThat(stats.get("failed")).isEqualTo(1L);
+            assertThat(stats.get("inFlight")).isEqualTo(0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
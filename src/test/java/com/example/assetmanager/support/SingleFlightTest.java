@@ -0,0 +1,113 @@
+package com.example.assetmanager.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("진행 중인 키에 대한 동시 요청은 같은 결과를 공유")
+    void execute_CoalescesConcurrentCalls() throws Exception {
+        // given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("BTC", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return 42;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<Integer> follower = executor.submit(() -> singleFlight.execute("BTC", () -> {
+                calls.incrementAndGet();
+                return -1;
+            }));
+            waitForCoalesced(singleFlight, 1L);
+            release.countDown();
+
+            // then
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            assertThat(calls.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 처리 시 진행 중인 키는 기다리고 나머지만 한 번에 조회")
+    void executeAll_LoadsOnlyKeysNotInFlight() throws Exception {
+        // given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<String>> batches = new ArrayList<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Integer> inFlight = executor.submit(() -> singleFlight.execute("BTC", () -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            // when
+            Thread releaser = new Thread(() -> {
+                waitForCoalesced(singleFlight, 1L);
+                release.countDown();
+            });
+            releaser.start();
+            Map<String, Integer> results = singleFlight.executeAll(List.of("BTC", "ETH", "XRP"), keys -> {
+                batches.add(keys);
+                return Map.of("ETH", 2, "XRP", 3);
+            });
+
+            // then
+            assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(results).containsEntry("BTC", 1).containsEntry("ETH", 2).containsEntry("XRP", 3);
+            assertThat(batches).containsExactly(List.of("ETH", "XRP"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitForCoalesced(SingleFlight<?, ?> singleFlight, long expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Long.valueOf(expected).equals(singleFlight.stats().get("coalesced"))
+                && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
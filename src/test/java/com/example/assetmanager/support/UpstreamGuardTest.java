@@ -0,0 +1,150 @@
+package com.example.assetmanager.support;
+
+import com.example.assetmanager.service.UpstreamGuards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamGuardTest {
+
+    @Test
+    @DisplayName("회로가 열리면 호출하지 않고 즉시 거절")
+    void protect_RejectsWithoutCallingWhenOpen() {
+        // given
+        UpstreamGuard guard = guard(2, 8);
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            guard.protect(() -> {
+                calls.incrementAndGet();
+                return Mono.<String>error(new IOException("connection reset"));
+            }).onErrorResume(e -> Mono.empty()).block();
+        }
+
+        // when & then
+        assertThatThrownBy(() -> guard.protect(() -> {
+            calls.incrementAndGet();
+            return Mono.just("ok");
+        }).block()).isInstanceOf(UpstreamGuard.RejectedException.class);
+        assertThat(calls).hasValue(2);
+        assertThat(guard.getBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("동시 요청 한도가 차면 즉시 거절하고, 실패 시 한도를 절반으로 줄임")
+    void protect_AppliesAimdConcurrencyLimit() {
+        // given: 한도 4, 응답이 오지 않는 요청 4개 진행 중
+        UpstreamGuard guard = guard(0, 4);
+        Sinks.One<String> pending = Sinks.one();
+        for (int i = 0; i < 4; i++) {
+            guard.protect(pending::asMono).subscribe(value -> { }, e -> { });
+        }
+
+        // when
+        Mono<String> overLimit = guard.protect(() -> Mono.just("ok"));
+        assertThatThrownBy(overLimit::block).isInstanceOf(UpstreamGuard.RejectedException.class);
+        pending.tryEmitError(new IOException("timeout"));
+
+        // then
+        assertThat(guard.getLimiter().getLimit()).isEqualTo(1);
+        assertThat(guard.getLimiter().stats().get("inFlight")).isEqualTo(0);
+        assertThat(guard.protect(() -> Mono.just("ok")).block()).isEqualTo("ok");
+        assertThat(guard.getLimiter().getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("대기 호출은 동시 요청 한도가 차 있으면 거절하지 않고 자리가 날 때까지 기다림")
+    void protectQueued_WaitsForPermit() {
+        // given: 한도 1, 응답이 오지 않는 요청 1개 진행 중
+        UpstreamGuard guard = guard(0, 1);
+        Sinks.One<String> pending = Sinks.one();
+        guard.protect(pending::asMono).subscribe(value -> { }, e -> { });
+        AtomicInteger calls = new AtomicInteger();
+        List<String> results = new CopyOnWriteArrayList<>();
+
+        // when
+        guard.protectQueued(() -> {
+            calls.incrementAndGet();
+            return Mono.just("queued");
+        }).subscribe(results::add);
+        int callsWhileFull = calls.get();
+        pending.tryEmitValue("first");
+
+        // then
+        assertThat(callsWhileFull).isZero();
+        assertThat(results).containsExactly("queued");
+        assertThat(guard.getLimiter().stats().get("inFlight")).isEqualTo(0);
+        assertThat(guard.getLimiter().stats().get("rejected")).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("기다리던 호출이 취소되면 대기열에서 빠지고 자리를 차지하지 않음")
+    void protectQueued_CancelledWhileWaitingReleasesNothing() {
+        // given
+        UpstreamGuard guard = guard(0, 1);
+        Sinks.One<String> pending = Sinks.one();
+        guard.protect(pending::asMono).subscribe(value -> { }, e -> { });
+        AtomicInteger calls = new AtomicInteger();
+        Disposable waiting = guard.protectQueued(() -> {
+            calls.incrementAndGet();
+            return Mono.just("queued");
+        }).subscribe();
+
+        // when
+        waiting.dispose();
+        pending.tryEmitValue("first");
+
+        // then
+        assertThat(calls).hasValue(0);
+        assertThat(guard.getLimiter().stats().get("waiting")).isEqualTo(0);
+        assertThat(guard.getLimiter().stats().get("inFlight")).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("느린 호출 기준은 upstream별로 설정 (시트는 기본 15초)")
+    void slowCallThreshold_IsPerUpstream() {
+        UpstreamGuards guards = new UpstreamGuards();
+
+        assertThat(guards.get("google-sheets").stats().get("slowCallThresholdMs")).isEqualTo(15000L);
+        assertThat(guards.get("public-data").stats().get("slowCallThresholdMs")).isEqualTo(3000L);
+    }
+
+    @Test
+    @DisplayName("요청 쪽 문제로 판단된 에러와 호출 한도 초과는 실패로 세지 않음")
+    void call_IgnoresNonUpstreamFailures() {
+        // given
+        UpstreamGuard guard = new UpstreamGuard("google-sheets",
+                new CircuitBreaker("google-sheets", 1, Duration.ofSeconds(30), Clock.systemUTC()),
+                new AimdLimiter("google-sheets", 4, 1, 8, 0.5), Duration.ofSeconds(5),
+                e -> !(e instanceof IllegalArgumentException));
+
+        // when
+        assertThatThrownBy(() -> guard.call(() -> {
+            throw new IllegalArgumentException("Sheet not found");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> guard.call(() -> {
+            throw new CallBudget.ExceededException("google-sheets");
+        })).isInstanceOf(CallBudget.ExceededException.class);
+
+        // then
+        assertThat(guard.getBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(guard.getLimiter().stats().get("drops")).isEqualTo(0L);
+    }
+
+    private static UpstreamGuard guard(int failureThreshold, int initialLimit) {
+        return new UpstreamGuard("public-data",
+                new CircuitBreaker("public-data", failureThreshold, Duration.ofSeconds(30), Clock.systemUTC()),
+                new AimdLimiter("public-data", initialLimit, 1, 32, 0.5), Duration.ofSeconds(5), e -> true);
+    }
+}